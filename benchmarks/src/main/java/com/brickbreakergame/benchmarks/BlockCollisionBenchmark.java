@@ -0,0 +1,68 @@
+package com.brickbreakergame.benchmarks;
+
+import com.brickbreakergame.simulation.BlockStore;
+import com.brickbreakergame.simulation.SweptCollision;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link BlockStore#sweep} against every block of a full board, for ball positions and motions
+ * spread over the whole game area. This is the cost of a collision pass without the spatial grid.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BlockCollisionBenchmark {
+    private static final int POSITION_COUNT = 1024;
+
+    @Param({"1", "5", "10"})
+    public int level;
+
+    private BlockStore blocks;
+    private final double[] ballX = new double[POSITION_COUNT];
+    private final double[] ballY = new double[POSITION_COUNT];
+    private final double[] ballDx = new double[POSITION_COUNT];
+    private final double[] ballDy = new double[POSITION_COUNT];
+    private final SweptCollision sweep = new SweptCollision();
+    private int position;
+
+    @Setup
+    public void setUp() {
+        blocks = Boards.createGame(level).getBlocks();
+
+        Random random = new Random(42);
+        for (int i = 0; i < POSITION_COUNT; i++) {
+            ballX[i] = random.nextDouble() * 500;
+            ballY[i] = random.nextDouble() * 700;
+            ballDx[i] = random.nextDouble() * 8 - 4;
+            ballDy[i] = random.nextDouble() * 8 - 4;
+        }
+    }
+
+    @Benchmark
+    public int checkFullBoard() {
+        int i = position++ & (POSITION_COUNT - 1);
+        int hits = 0;
+        for (int block = 0; block < blocks.size(); block++) {
+            if (blocks.sweep(block, sweep, ballX[i], ballY[i], ballDx[i], ballDy[i], 10)) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+}
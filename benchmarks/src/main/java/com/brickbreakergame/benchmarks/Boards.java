@@ -0,0 +1,38 @@
+package com.brickbreakergame.benchmarks;
+
+import com.brickbreakergame.simulation.GameSimulation;
+
+/**
+ * Builds the game states shared by the benchmarks.
+ */
+final class Boards {
+    private static final long SEED = 42;
+
+    private Boards() {
+    }
+
+    /**
+     * Creates a simulation with the board of a level set up and the ball at its starting position.
+     * The seed is fixed, so every run measures the same board.
+     *
+     * @param level The level to set up.
+     * @return The new simulation.
+     */
+    static GameSimulation createGame(int level) {
+        GameSimulation simulation = new GameSimulation();
+        simulation.setSeed(SEED);
+        simulation.startLevel(level);
+        return simulation;
+    }
+
+    /**
+     * Holds the arrow key towards the ball, so that games last long enough to be measured.
+     *
+     * @param simulation The simulation to steer.
+     */
+    static void steerPaddle(GameSimulation simulation) {
+        double paddleCenter = simulation.getPaddleMoveX() + simulation.getPaddleWidth() / 2.0;
+        simulation.setLeftKeyPressed(simulation.getBallPosX() < paddleCenter - 10);
+        simulation.setRightKeyPressed(simulation.getBallPosX() > paddleCenter + 10);
+    }
+}
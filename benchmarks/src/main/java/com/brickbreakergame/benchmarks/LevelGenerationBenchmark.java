@@ -0,0 +1,39 @@
+package com.brickbreakergame.benchmarks;
+
+import com.brickbreakergame.managers.GameBoardManager;
+import com.brickbreakergame.simulation.GameSimulation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link GameBoardManager#setupGameBoard()} for each of the ten levels.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LevelGenerationBenchmark {
+
+    @Param({"1", "2", "3", "4", "5", "6", "7", "8", "9", "10"})
+    public int level;
+
+    @Benchmark
+    public GameSimulation setupGameBoard() {
+        GameSimulation simulation = new GameSimulation();
+        simulation.setLevel(level);
+        new GameBoardManager(simulation).setupGameBoard();
+        return simulation;
+    }
+}
@@ -0,0 +1,61 @@
+package com.brickbreakergame.benchmarks;
+
+import com.brickbreakergame.simulation.GameSimulation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of a single simulation tick: the ball physics and collisions on their own, and the full tick
+ * including bonuses. A game that ends during the measurement is replaced by a new one.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PhysicsTickBenchmark {
+
+    @Param({"1", "5", "10"})
+    public int level;
+
+    private GameSimulation simulation;
+
+    @Setup
+    public void setUp() {
+        simulation = Boards.createGame(level);
+    }
+
+    @Benchmark
+    public double physicsUpdate() {
+        restartIfFinished();
+        Boards.steerPaddle(simulation);
+        simulation.physicsUpdate();
+        return simulation.getBallPosX();
+    }
+
+    @Benchmark
+    public double fullTick() {
+        restartIfFinished();
+        Boards.steerPaddle(simulation);
+        simulation.step();
+        return simulation.getBallPosX();
+    }
+
+    private void restartIfFinished() {
+        if (simulation.isGameOver() || simulation.isLevelCleared()) {
+            simulation = Boards.createGame(level);
+        }
+    }
+}
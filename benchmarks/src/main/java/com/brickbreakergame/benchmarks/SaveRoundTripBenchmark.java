@@ -0,0 +1,58 @@
+package com.brickbreakergame.benchmarks;
+
+import com.brickbreakergame.GameController;
+import com.brickbreakergame.simulation.GameSimulation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures encoding and decoding a save game in the binary save format, in memory so that disk I/O
+ * does not hide changes to the format itself.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SaveRoundTripBenchmark {
+
+    @Param({"1", "5", "10"})
+    public int level;
+
+    private GameSimulation simulation;
+    private byte[] snapshot;
+    private final GameController controller = new GameController();
+
+    @Setup
+    public void setUp() {
+        simulation = Boards.createGame(level);
+        snapshot = GameController.encode(simulation);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return GameController.encode(simulation);
+    }
+
+    @Benchmark
+    public boolean decode() {
+        return controller.decode(snapshot, null);
+    }
+
+    @Benchmark
+    public boolean roundTrip() {
+        return controller.decode(GameController.encode(simulation), null);
+    }
+}
@@ -0,0 +1,154 @@
+package com.brickbreakergame;
+
+import com.brickbreakergame.simulation.BlockStore;
+
+import java.util.Arrays;
+
+/**
+ * A uniform grid index over the blocks of the current level.
+ * Blocks are laid out on a fixed row/column lattice, so each block is stored in the cell that matches
+ * its grid position. Collision checks then only need to look at the few cells covered by the ball's
+ * swept bounding box, instead of scanning every block on the board each tick.
+ * The cells hold block indices in a single packed array: the blocks of cell {@code c} are found
+ * between {@code cellStart[c]} and {@code cellStart[c + 1]}. Destroyed blocks stay in their cell
+ * and are filtered out by the block store's alive bits.
+ */
+public class BlockGrid {
+    private int[] cellStart = new int[1];
+    private int[] cellBlocks = new int[0];
+    private int[] cellCursor = new int[0];
+    private int rows;
+    private int columns;
+
+    /**
+     * Constructs an empty BlockGrid. The grid is sized when {@link #rebuild(BlockStore)} is called.
+     */
+    public BlockGrid() {
+        clear();
+    }
+
+    /**
+     * Rebuilds the grid from the given blocks. Destroyed blocks are skipped.
+     * The grid is sized to fit the largest row and column present on the board.
+     *
+     * @param blocks The blocks of the current level.
+     */
+    public void rebuild(BlockStore blocks) {
+        int maxRow = -1;
+        int maxColumn = -1;
+        for (int i = blocks.nextAlive(0); i >= 0; i = blocks.nextAlive(i + 1)) {
+            maxRow = Math.max(maxRow, blocks.getRow(i));
+            maxColumn = Math.max(maxColumn, blocks.getColumn(i));
+        }
+
+        rows = maxRow + 1;
+        columns = maxColumn + 1;
+        int cellCount = rows * columns;
+        if (cellStart.length < cellCount + 1) {
+            cellStart = new int[cellCount + 1];
+            cellCursor = new int[cellCount];
+        } else {
+            Arrays.fill(cellStart, 0, cellCount + 1, 0);
+        }
+        if (cellBlocks.length < blocks.size()) {
+            cellBlocks = new int[blocks.size()];
+        }
+
+        // Count the blocks of every cell, then turn the counts into start offsets
+        for (int i = blocks.nextAlive(0); i >= 0; i = blocks.nextAlive(i + 1)) {
+            int cell = cellOf(blocks.getRow(i), blocks.getColumn(i));
+            if (cell >= 0) {
+                cellStart[cell + 1]++;
+            }
+        }
+        for (int cell = 0; cell < cellCount; cell++) {
+            cellStart[cell + 1] += cellStart[cell];
+        }
+
+        // Place every block at the next free slot of its cell
+        System.arraycopy(cellStart, 0, cellCursor, 0, cellCount);
+        for (int i = blocks.nextAlive(0); i >= 0; i = blocks.nextAlive(i + 1)) {
+            int cell = cellOf(blocks.getRow(i), blocks.getColumn(i));
+            if (cell >= 0) {
+                cellBlocks[cellCursor[cell]++] = i;
+            }
+        }
+    }
+
+    /**
+     * Removes every block from the grid.
+     */
+    public void clear() {
+        rows = 0;
+        columns = 0;
+    }
+
+    /**
+     * Collects the indices of the blocks whose cells overlap the given axis-aligned bounding box.
+     * The box is usually the area swept by the ball during the last tick, expanded by its radius.
+     * Destroyed blocks may be included; the caller checks whether each candidate is still alive.
+     *
+     * @param minX       The left edge of the box.
+     * @param minY       The top edge of the box.
+     * @param maxX       The right edge of the box.
+     * @param maxY       The bottom edge of the box.
+     * @param candidates The array that receives the candidate indices. It must hold at least as many
+     *                   entries as there are blocks in the grid.
+     * @return The number of candidates written to the array.
+     */
+    public int collectCandidates(double minX, double minY, double maxX, double maxY, int[] candidates) {
+        if (rows == 0 || columns == 0) {
+            return 0;
+        }
+
+        int firstColumn = Math.max(0, columnAt(minX));
+        int lastColumn = Math.min(columns - 1, columnAt(maxX));
+        int firstRow = Math.max(0, rowAt(minY));
+        int lastRow = Math.min(rows - 1, rowAt(maxY));
+
+        int count = 0;
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                int cell = row * columns + column;
+                for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+                    candidates[count++] = cellBlocks[i];
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the cell holding a grid position.
+     *
+     * @param row    The row of the block.
+     * @param column The column of the block.
+     * @return The index of the cell, or -1 if the position lies outside the grid.
+     */
+    private int cellOf(int row, int column) {
+        if (row < 0 || column < 0 || row >= rows || column >= columns) {
+            return -1;
+        }
+        return row * columns + column;
+    }
+
+    /**
+     * Converts an x-coordinate on the screen into a grid column.
+     *
+     * @param x The x-coordinate.
+     * @return The column containing that coordinate, which may lie outside the grid.
+     */
+    private int columnAt(double x) {
+        return (int) Math.floor((x - Block.getPaddingHeight()) / Block.getWidth());
+    }
+
+    /**
+     * Converts a y-coordinate on the screen into a grid row.
+     *
+     * @param y The y-coordinate.
+     * @return The row containing that coordinate, which may lie outside the grid.
+     */
+    private int rowAt(double y) {
+        return (int) Math.floor((y - Block.getPaddingTop()) / Block.getHeight());
+    }
+}
@@ -1,6 +1,5 @@
 package com.brickbreakergame;
 
-import javafx.scene.paint.Color;
 import java.io.Serializable;
 
 /**
@@ -28,21 +27,4 @@ public class BlockSerializable implements Serializable {
         this.column = column;
         this.type = type;
     }
-
-    /**
-     * Sets the color index for this block.
-     * Determines the index of the block's color by comparing it against a predefined array of colors.
-     * The color index is used for efficient serialization and deserialization of block colors.
-     *
-     * @param colors     An array of {@code Color} objects representing the possible colors of blocks.
-     * @param blockColor The actual color of this block, to be matched against the provided colors array.
-     */
-    public void setColorIndex(Color[] colors, Color blockColor) {
-        for (int i = 0; i < colors.length; i++) {
-            if (colors[i].equals(blockColor)) {
-                this.colorIndex = i;
-                break;
-            }
-        }
-    }
-}
+}
\ No newline at end of file
@@ -0,0 +1,281 @@
+package com.brickbreakergame;
+
+import com.brickbreakergame.managers.ImageManager;
+import com.brickbreakergame.simulation.BlockStore;
+import com.brickbreakergame.simulation.Bonus;
+import com.brickbreakergame.simulation.GameSimulation;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+
+import java.util.Arrays;
+
+/**
+ * Draws the blocks, the ball, the paddle and the falling bonuses onto a single {@link Canvas}, as an alternative
+ * to one scene graph node per object. The scene graph then holds one node for the whole board, however many
+ * blocks it has, so a pulse no longer traverses, lays out and styles a node per block.
+ * <p>
+ * The canvas keeps what was drawn by earlier pulses, so each pulse only redraws the regions that changed:
+ * where the moving objects were drawn by the previous pulse, and where blocks were destroyed. Those regions are
+ * widened to whole block cells, cleared to show the background again, and the blocks in them are drawn again
+ * before the moving objects are drawn at their new positions.
+ * <p>
+ * The renderer keeps its own copy of the board, taken while the engine is stopped, and follows the blocks
+ * destroyed by the simulation through the events of the published frames. It is used instead of the nodes when
+ * the {@value #RENDERER_PROPERTY} system property is set to {@code canvas}. All methods must be called on the
+ * JavaFX application thread.
+ */
+public class CanvasRenderer {
+    public static final String RENDERER_PROPERTY = "brickbreaker.renderer";
+    private static final double DIRTY_MARGIN = 2; // Covers the anti-aliased edges of the previous drawing
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Canvas canvas = new Canvas(GameSimulation.SCENE_WIDTH, GameSimulation.SCENE_HEIGHT);
+    private final GraphicsContext graphics = canvas.getGraphicsContext2D();
+    private final Image ballImage = ImageManager.getImage("/images/ball.png");
+    private final Image goldBallImage = ImageManager.getImage("/images/goldBall.png");
+    private final Image paddleImage = ImageManager.getImage("/images/paddle.png");
+    private final Image bonusImage = ImageManager.getImage("/images/bonus.png");
+
+    // Copy of the board
+    private int blockCount = 0;
+    private double[] blockXs = new double[INITIAL_CAPACITY];
+    private double[] blockYs = new double[INITIAL_CAPACITY];
+    private Color[] blockColors = new Color[INITIAL_CAPACITY];
+    private Image[] blockImages = new Image[INITIAL_CAPACITY];
+    private boolean[] blockAlive = new boolean[INITIAL_CAPACITY];
+    private int[] blockDrawnInPulse = new int[INITIAL_CAPACITY];
+    private int gridRows = 0;
+    private int gridColumns = 0;
+    private int[] cells = new int[0]; // Index of the block in each cell, or -1 for an empty cell
+    private int pulse = 0;
+    private boolean fullRedraw = true;
+
+    // Regions to redraw on the next pulse, as x, y, width and height
+    private double[] dirtyRegions = new double[INITIAL_CAPACITY];
+    private int dirtyRegionCount = 0;
+
+    /**
+     * Checks whether the game should be drawn with this renderer.
+     *
+     * @return True if the renderer system property asks for the canvas renderer, false otherwise.
+     */
+    public static boolean isEnabled() {
+        return "canvas".equalsIgnoreCase(System.getProperty(RENDERER_PROPERTY));
+    }
+
+    /**
+     * Returns the canvas the game is drawn on, to be added to the scene above the background.
+     *
+     * @return The canvas.
+     */
+    public Canvas getNode() {
+        return canvas;
+    }
+
+    /**
+     * Copies the board of a new level, or of a loaded game, and schedules a full redraw.
+     * This method must be called while the engine is stopped.
+     *
+     * @param blocks The blocks of the level.
+     * @param colors The colors of the normal blocks, indexed by their color index.
+     */
+    public void setBoard(BlockStore blocks, Color[] colors) {
+        blockCount = blocks.size();
+        if (blockXs.length < blockCount) {
+            int capacity = Math.max(blockCount, blockXs.length * 2);
+            blockXs = Arrays.copyOf(blockXs, capacity);
+            blockYs = Arrays.copyOf(blockYs, capacity);
+            blockColors = Arrays.copyOf(blockColors, capacity);
+            blockImages = Arrays.copyOf(blockImages, capacity);
+            blockAlive = Arrays.copyOf(blockAlive, capacity);
+            blockDrawnInPulse = Arrays.copyOf(blockDrawnInPulse, capacity);
+        }
+
+        gridRows = 0;
+        gridColumns = 0;
+        for (int i = 0; i < blockCount; i++) {
+            int type = blocks.getType(i);
+            blockXs[i] = blocks.getX(i);
+            blockYs[i] = blocks.getY(i);
+            blockAlive[i] = blocks.isAlive(i);
+            blockDrawnInPulse[i] = -1;
+            blockImages[i] = null;
+            blockColors[i] = null;
+            if (type == Block.RANDOM) {
+                blockImages[i] = ImageManager.getImage("/images/blocks/randomBlock.png");
+            } else if (type == Block.HEART) {
+                blockImages[i] = ImageManager.getImage("/images/blocks/heartBlock.png");
+            } else if (type == Block.GOLDEN_TIME) {
+                blockImages[i] = ImageManager.getImage("/images/blocks/goldenBallBlock.png");
+            } else {
+                blockColors[i] = colors[blocks.getColorIndex(i) % colors.length];
+            }
+            gridRows = Math.max(gridRows, blocks.getRow(i) + 1);
+            gridColumns = Math.max(gridColumns, blocks.getColumn(i) + 1);
+        }
+
+        if (cells.length < gridRows * gridColumns) {
+            cells = new int[gridRows * gridColumns];
+        }
+        Arrays.fill(cells, -1);
+        for (int i = 0; i < blockCount; i++) {
+            cells[blocks.getRow(i) * gridColumns + blocks.getColumn(i)] = i;
+        }
+
+        dirtyRegionCount = 0;
+        fullRedraw = true;
+    }
+
+    /**
+     * Removes a destroyed block from the board, so that its region is redrawn without it on the next pulse.
+     *
+     * @param index The index of the destroyed block.
+     */
+    public void destroyBlock(int index) {
+        if (index < blockCount && blockAlive[index]) {
+            blockAlive[index] = false;
+            addDirtyRegion(blockXs[index], blockYs[index], Block.getWidth(), Block.getHeight());
+        }
+    }
+
+    /**
+     * Draws a pulse: redraws the regions that changed since the previous pulse, then draws the falling bonuses,
+     * the paddle and the ball, with the ball interpolated between its previous and current simulated positions.
+     *
+     * @param frame The front frame published by the simulation.
+     * @param alpha How far real time has progressed towards the next tick, from 0 to 1.
+     */
+    public void render(RenderFrame frame, double alpha) {
+        pulse++;
+        if (fullRedraw) {
+            graphics.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+            for (int i = 0; i < blockCount; i++) {
+                drawBlock(i);
+            }
+            fullRedraw = false;
+        } else {
+            redrawDirtyRegions();
+        }
+        dirtyRegionCount = 0;
+
+        for (int i = 0; i < frame.getBonusCount(); i++) {
+            double x = frame.getBonusX(i);
+            double y = frame.getBonusY(i);
+            graphics.drawImage(bonusImage, x, y, Bonus.SIZE, Bonus.SIZE);
+            addDirtyRegion(x, y, Bonus.SIZE, Bonus.SIZE);
+        }
+
+        double paddleX = frame.getPaddleMoveX();
+        double paddleY = frame.getPaddleMoveY();
+        graphics.drawImage(paddleImage, paddleX, paddleY, frame.getPaddleWidth(), GameSimulation.PADDLE_HEIGHT);
+        addDirtyRegion(paddleX, paddleY, frame.getPaddleWidth(), GameSimulation.PADDLE_HEIGHT);
+
+        double previousBallPosX = frame.getPreviousBallPosX();
+        double previousBallPosY = frame.getPreviousBallPosY();
+        double radius = frame.getBallRadius();
+        double ballX = previousBallPosX + (frame.getBallPosX() - previousBallPosX) * alpha - radius;
+        double ballY = previousBallPosY + (frame.getBallPosY() - previousBallPosY) * alpha - radius;
+        graphics.drawImage(frame.isGoldStatus() ? goldBallImage : ballImage, ballX, ballY, radius * 2, radius * 2);
+        addDirtyRegion(ballX, ballY, radius * 2, radius * 2);
+    }
+
+    /**
+     * Clears every dirty region, widened to whole block cells, and draws the blocks in them again.
+     * All regions are cleared before any block is drawn, and a block in several regions is only drawn once,
+     * so that blocks with transparent textures are never drawn over themselves.
+     */
+    private void redrawDirtyRegions() {
+        for (int r = 0; r < dirtyRegionCount; r += 4) {
+            widenToCells(r);
+            graphics.clearRect(dirtyRegions[r], dirtyRegions[r + 1], dirtyRegions[r + 2], dirtyRegions[r + 3]);
+        }
+        for (int r = 0; r < dirtyRegionCount; r += 4) {
+            int firstColumn = Math.max(0, columnAt(dirtyRegions[r]));
+            int lastColumn = Math.min(gridColumns - 1, columnAt(dirtyRegions[r] + dirtyRegions[r + 2]));
+            int firstRow = Math.max(0, rowAt(dirtyRegions[r + 1]));
+            int lastRow = Math.min(gridRows - 1, rowAt(dirtyRegions[r + 1] + dirtyRegions[r + 3]));
+            for (int row = firstRow; row <= lastRow; row++) {
+                for (int column = firstColumn; column <= lastColumn; column++) {
+                    int index = cells[row * gridColumns + column];
+                    if (index >= 0 && blockDrawnInPulse[index] != pulse) {
+                        drawBlock(index);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Widens a dirty region so that it covers every block cell it touches entirely.
+     *
+     * @param r The offset of the region in the dirty region array.
+     */
+    private void widenToCells(int r) {
+        double left = dirtyRegions[r];
+        double top = dirtyRegions[r + 1];
+        double right = left + dirtyRegions[r + 2];
+        double bottom = top + dirtyRegions[r + 3];
+        int firstColumn = Math.max(0, columnAt(left));
+        int lastColumn = Math.min(gridColumns - 1, columnAt(right));
+        int firstRow = Math.max(0, rowAt(top));
+        int lastRow = Math.min(gridRows - 1, rowAt(bottom));
+        if (firstColumn > lastColumn || firstRow > lastRow) {
+            return;
+        }
+        left = Math.min(left, firstColumn * Block.getWidth() + Block.getPaddingHeight());
+        right = Math.max(right, (lastColumn + 1) * Block.getWidth() + Block.getPaddingHeight());
+        top = Math.min(top, firstRow * Block.getHeight() + Block.getPaddingTop());
+        bottom = Math.max(bottom, (lastRow + 1) * Block.getHeight() + Block.getPaddingTop());
+        dirtyRegions[r] = left;
+        dirtyRegions[r + 1] = top;
+        dirtyRegions[r + 2] = right - left;
+        dirtyRegions[r + 3] = bottom - top;
+    }
+
+    /**
+     * Returns the grid column at an x-coordinate, which may be outside the grid.
+     */
+    private static int columnAt(double x) {
+        return (int) Math.floor((x - Block.getPaddingHeight()) / Block.getWidth());
+    }
+
+    /**
+     * Returns the grid row at a y-coordinate, which may be outside the grid.
+     */
+    private static int rowAt(double y) {
+        return (int) Math.floor((y - Block.getPaddingTop()) / Block.getHeight());
+    }
+
+    /**
+     * Draws a block if it has not been destroyed.
+     *
+     * @param index The index of the block.
+     */
+    private void drawBlock(int index) {
+        blockDrawnInPulse[index] = pulse;
+        if (!blockAlive[index]) {
+            return;
+        }
+        if (blockImages[index] != null) {
+            graphics.drawImage(blockImages[index], blockXs[index], blockYs[index], Block.getWidth(), Block.getHeight());
+        } else {
+            graphics.setFill(blockColors[index]);
+            graphics.fillRect(blockXs[index], blockYs[index], Block.getWidth(), Block.getHeight());
+        }
+    }
+
+    /**
+     * Adds a region to redraw on the next pulse, widened by a small margin.
+     */
+    private void addDirtyRegion(double x, double y, double width, double height) {
+        if (dirtyRegionCount + 4 > dirtyRegions.length) {
+            dirtyRegions = Arrays.copyOf(dirtyRegions, dirtyRegions.length * 2);
+        }
+        dirtyRegions[dirtyRegionCount++] = x - DIRTY_MARGIN;
+        dirtyRegions[dirtyRegionCount++] = y - DIRTY_MARGIN;
+        dirtyRegions[dirtyRegionCount++] = width + DIRTY_MARGIN * 2;
+        dirtyRegions[dirtyRegionCount++] = height + DIRTY_MARGIN * 2;
+    }
+}
@@ -1,20 +1,36 @@
 package com.brickbreakergame;
 
-import javafx.application.Platform;
-import javafx.scene.layout.Pane;
-import javafx.scene.paint.Color;
+import com.brickbreakergame.logging.EventLog;
+import com.brickbreakergame.managers.SaveManager;
+import com.brickbreakergame.simulation.BlockStore;
+import com.brickbreakergame.simulation.GameSimulation;
 import javafx.stage.Stage;
 
-import java.io.*;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.zip.CRC32;
 
 /**
  * The GameController class is responsible for managing the game state in the BrickBreaker game.
  * It includes methods for saving, loading, and updating the game's state based on user interaction
  * and game events. This class is pivotal in managing the flow of the game, handling game data,
  * and ensuring the persistence of the game state across sessions.
+ * Games are saved in a compact, versioned binary format protected by a CRC32 checksum.
  */
 public class GameController {
+    private static final int SAVE_MAGIC = 0x42425356; // "BBSV"
+    private static final short SAVE_VERSION = 1;
+    private static final int CHECKSUM_OFFSET = 10;
+    private static final int HEADER_SIZE = 14;
+    private static final int STATE_SIZE = 4 * 4 + 8 * 5 + 8 * 2 + 8 + 2;
+    private static final int BLOCK_RECORD_SIZE = 4;
+    private static final int DELTA_HEADER_SIZE = 8;
+    private static final int DELTA_FIXED_SIZE = 4 + STATE_SIZE + 2;
     public boolean isExistHeartBlock;
     public boolean isGoldStatus;
     public boolean goDownBall;
@@ -43,54 +59,160 @@ public class GameController {
 
 
     /**
-     * The {@code GameController} class is responsible for managing the game state in the BrickBreaker game.
-     * It includes methods for saving, loading, and updating the game's state based on user interaction
-     * and game events. This class is pivotal in managing the flow of the game, handling game data,
-     * and ensuring the persistence of the game state across sessions.
+     * Reads the saved game state from the default save slot into this controller's fields.
+     *
+     * @return True if the save file was read successfully, false otherwise.
      */
-    public void read() {
+    public boolean read() {
+        return read(SaveManager.DEFAULT_SLOT);
+    }
+
+    /**
+     * Reads the saved game state from a save slot into this controller's fields.
+     * Any delta records written for this snapshot by autosave are applied on top of it.
+     *
+     * @param slot The name of the save slot to read.
+     * @return True if the save file was read successfully, false otherwise.
+     */
+    public boolean read(String slot) {
         try {
-            ObjectInputStream inputStream = new ObjectInputStream(new FileInputStream(Main.SAVE_PATH));
-            level = inputStream.readInt();
-            score = inputStream.readInt();
-            heart = inputStream.readInt();
-            destroyedBlockCount = inputStream.readInt();
-            xBall = inputStream.readDouble();
-            yBall = inputStream.readDouble();
-            xBreak = inputStream.readDouble();
-            yBreak = inputStream.readDouble();
-            centerBreakX = inputStream.readDouble();
-            time = inputStream.readLong();
-            goldTime = inputStream.readLong();
-            vX = inputStream.readDouble();
-            isExistHeartBlock = inputStream.readBoolean();
-            isGoldStatus = inputStream.readBoolean();
-            goDownBall = inputStream.readBoolean();
-            goRightBall = inputStream.readBoolean();
-            collideToBreak = inputStream.readBoolean();
-            collideToBreakAndMoveToRight = inputStream.readBoolean();
-            collideToRightWall = inputStream.readBoolean();
-            collideToLeftWall = inputStream.readBoolean();
-            collideToRightBlock = inputStream.readBoolean();
-            collideToBottomBlock = inputStream.readBoolean();
-            collideToLeftBlock = inputStream.readBoolean();
-            collideToTopBlock = inputStream.readBoolean();
-
-
-            try {
-                blocks = (ArrayList<BlockSerializable>) inputStream.readObject();
-            } catch (ClassNotFoundException e) {
-                e.printStackTrace();
+            byte[] snapshot = Files.readAllBytes(SaveManager.getSlotPath(slot));
+            Path deltaPath = SaveManager.getDeltaPath(slot);
+            byte[] deltas = Files.exists(deltaPath) ? Files.readAllBytes(deltaPath) : null;
+            return decode(snapshot, deltas);
+        } catch (IOException e) {
+            EventLog.getInstance().error("Could not read save slot " + slot, e);
+            return false;
+        }
+    }
+
+    /**
+     * Decodes an encoded snapshot, and optionally its delta records, into this controller's fields.
+     * The snapshot is validated against its header, version and checksum before any field is decoded,
+     * so a damaged or foreign file is rejected rather than partially loaded.
+     *
+     * @param snapshot The contents of the snapshot file.
+     * @param deltas   The contents of the snapshot's delta file, or null if there is none.
+     * @return True if the snapshot was decoded successfully, false otherwise.
+     */
+    public boolean decode(byte[] snapshot, byte[] deltas) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(snapshot);
+            if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != SAVE_MAGIC) {
+                EventLog.getInstance().error("Save file is not a Brick Breaker save.", null);
+                return false;
+            }
+            short version = buffer.getShort();
+            if (version != SAVE_VERSION) {
+                EventLog.getInstance().error("Unsupported save version: " + version, null);
+                return false;
+            }
+            int payloadLength = buffer.getInt();
+            long checksum = buffer.getInt() & 0xFFFFFFFFL;
+            if (payloadLength != buffer.remaining() || checksum != checksum(buffer.array(), HEADER_SIZE, payloadLength)) {
+                EventLog.getInstance().error("Save file is corrupted.", null);
+                return false;
             }
 
-        } catch (IOException e) {
-            e.printStackTrace();
+            readState(buffer);
+
+            int blockCount = buffer.getInt();
+            blocks = new ArrayList<>(blockCount);
+            for (int i = 0; i < blockCount; i++) {
+                int row = buffer.get();
+                int column = buffer.get();
+                int type = buffer.get() + Block.NORMAL;
+                BlockSerializable block = new BlockSerializable(row, column, type);
+                block.colorIndex = buffer.get();
+                blocks.add(block);
+            }
+
+            if (deltas != null) {
+                applyDeltas(ByteBuffer.wrap(deltas), checksum);
+            }
+            return true;
+        } catch (BufferUnderflowException e) {
+            EventLog.getInstance().error("Save file is truncated.", e);
+            return false;
+        }
+    }
+
+    /**
+     * Applies the delta records that belong to the snapshot with the given checksum, in the order they were written.
+     * Each record replaces the saved game state and removes the blocks destroyed since the previous record.
+     * Records written for an older snapshot are skipped, and reading stops at the first damaged record,
+     * which can only be a write that was cut short.
+     *
+     * @param buffer       The contents of the delta file.
+     * @param baseChecksum The checksum of the snapshot the deltas must belong to.
+     */
+    private void applyDeltas(ByteBuffer buffer, long baseChecksum) {
+        while (buffer.remaining() >= DELTA_HEADER_SIZE) {
+            int recordLength = buffer.getInt();
+            long recordChecksum = buffer.getInt() & 0xFFFFFFFFL;
+            if (recordLength < DELTA_FIXED_SIZE || recordLength > buffer.remaining()
+                    || recordChecksum != checksum(buffer.array(), buffer.position(), recordLength)) {
+                return;
+            }
+
+            int recordEnd = buffer.position() + recordLength;
+            if ((buffer.getInt() & 0xFFFFFFFFL) != baseChecksum) {
+                buffer.position(recordEnd);
+                continue;
+            }
+
+            readState(buffer);
+            int destroyedCount = buffer.getShort();
+            for (int i = 0; i < destroyedCount; i++) {
+                int row = buffer.get();
+                int column = buffer.get();
+                for (int j = 0; j < blocks.size(); j++) {
+                    if (blocks.get(j).row == row && blocks.get(j).column == column) {
+                        blocks.remove(j);
+                        break;
+                    }
+                }
+            }
+            buffer.position(recordEnd);
         }
+    }
+
+    /**
+     * Reads the fixed-layout game state fields shared by snapshots and delta records.
+     *
+     * @param buffer The buffer positioned at the start of the state.
+     */
+    private void readState(ByteBuffer buffer) {
+        level = buffer.getInt();
+        score = buffer.getInt();
+        heart = buffer.getInt();
+        destroyedBlockCount = buffer.getInt();
+        xBall = buffer.getDouble();
+        yBall = buffer.getDouble();
+        xBreak = buffer.getDouble();
+        yBreak = buffer.getDouble();
+        centerBreakX = buffer.getDouble();
+        time = buffer.getLong();
+        goldTime = buffer.getLong();
+        vX = buffer.getDouble();
 
+        int flags = buffer.getShort();
+        isExistHeartBlock = (flags & 1) != 0;
+        isGoldStatus = (flags & 1 << 1) != 0;
+        goDownBall = (flags & 1 << 2) != 0;
+        goRightBall = (flags & 1 << 3) != 0;
+        collideToBreak = (flags & 1 << 4) != 0;
+        collideToBreakAndMoveToRight = (flags & 1 << 5) != 0;
+        collideToRightWall = (flags & 1 << 6) != 0;
+        collideToLeftWall = (flags & 1 << 7) != 0;
+        collideToRightBlock = (flags & 1 << 8) != 0;
+        collideToBottomBlock = (flags & 1 << 9) != 0;
+        collideToLeftBlock = (flags & 1 << 10) != 0;
+        collideToTopBlock = (flags & 1 << 11) != 0;
     }
 
     /**
-     * Saves the current game state to a file for later retrieval.
+     * Saves the current game state to the default save slot for later retrieval.
      * This method serializes the current state of the game, including all relevant data
      * like the ball position, block states, and game scores, ensuring that the game can be resumed
      * at a later time from the same state.
@@ -98,70 +220,180 @@ public class GameController {
      * @param mainInstance The instance of the Main class representing the current game.
      */
     public void saveGame(Main mainInstance) {
-        new Thread(() -> {
-            File directory = new File(Main.SAVE_PATH_DIR);
-            if (!directory.exists()) {
-                directory.mkdirs();
-            }
-            File file = new File(Main.SAVE_PATH);
-            try (ObjectOutputStream outputStream = new ObjectOutputStream(new FileOutputStream(file))) {
-                outputStream.writeInt(mainInstance.getLevel());
-                outputStream.writeInt(mainInstance.getScore());
-                outputStream.writeInt(mainInstance.getHeart());
-                outputStream.writeInt(mainInstance.getDestroyedBlockCount());
-                outputStream.writeDouble(mainInstance.getBallPosX());
-                outputStream.writeDouble(mainInstance.getBallPosY());
-                outputStream.writeDouble(mainInstance.getPaddleMoveX());
-                outputStream.writeDouble(mainInstance.getPaddleMoveY());
-                outputStream.writeDouble(mainInstance.getCenterBreakX());
-                outputStream.writeLong(mainInstance.getTime());
-                outputStream.writeLong(mainInstance.getGoldTime());
-                outputStream.writeDouble(mainInstance.getBallVelocityX());
-                outputStream.writeBoolean(mainInstance.isExistHeartBlock());
-                outputStream.writeBoolean(mainInstance.isGoldStatus());
-                outputStream.writeBoolean(mainInstance.isGoDownBall());
-                outputStream.writeBoolean(mainInstance.isGoRightBall());
-                outputStream.writeBoolean(mainInstance.isCollideToBreak());
-                outputStream.writeBoolean(mainInstance.isCollideToBreakAndMoveToRight());
-                outputStream.writeBoolean(mainInstance.isCollideToRightWall());
-                outputStream.writeBoolean(mainInstance.isCollideToLeftWall());
-                outputStream.writeBoolean(mainInstance.isCollideToRightBlock());
-                outputStream.writeBoolean(mainInstance.isCollideToBottomBlock());
-                outputStream.writeBoolean(mainInstance.isCollideToLeftBlock());
-                outputStream.writeBoolean(mainInstance.isCollideToTopBlock());
-
-                // Serialize blocks
-                ArrayList<BlockSerializable> blockSerializable = new ArrayList<>();
-                for (Block block : mainInstance.getBlocks()) {
-                    if (block.isDestroyed) continue;
-                    BlockSerializable serializedBlock = new BlockSerializable(block.row, block.column, block.type);
-                    serializedBlock.setColorIndex(mainInstance.getColors(), block.color);
-                    blockSerializable.add(serializedBlock);
-                }
-                outputStream.writeObject(blockSerializable);
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
-        }).start();
+        saveGame(mainInstance, SaveManager.DEFAULT_SLOT);
+    }
+
+    /**
+     * Saves the current game state to a save slot for later retrieval.
+     * The state is captured on the calling thread and handed to the background save writer,
+     * which replaces the slot's file atomically.
+     *
+     * @param mainInstance The instance of the Main class representing the current game.
+     * @param slot         The name of the save slot to write.
+     */
+    public void saveGame(Main mainInstance, String slot) {
+        SaveManager.writeSnapshot(slot, encode(mainInstance.getSimulation()));
     }
 
     /**
-     * Loads a previously saved game state from the save file.
+     * Encodes the game state into the binary save format: a fixed header holding the magic number,
+     * format version, payload length and CRC32 of the payload, followed by the fixed-layout payload
+     * and one packed four-byte record per remaining block.
+     *
+     * @param simulation The simulation holding the current game state.
+     * @return The encoded save file contents.
+     */
+    public static byte[] encode(GameSimulation simulation) {
+        BlockStore blocks = simulation.getBlocks();
+        int remainingCount = blocks.getAliveCount();
+
+        int payloadLength = STATE_SIZE + 4 + remainingCount * BLOCK_RECORD_SIZE;
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + payloadLength);
+        buffer.putInt(SAVE_MAGIC);
+        buffer.putShort(SAVE_VERSION);
+        buffer.putInt(payloadLength);
+        buffer.putInt(0); // Checksum, filled in once the payload is written
+
+        writeState(buffer, simulation);
+
+        // Pack blocks
+        buffer.putInt(remainingCount);
+        for (int i = blocks.nextAlive(0); i >= 0; i = blocks.nextAlive(i + 1)) {
+            buffer.put((byte) blocks.getRow(i));
+            buffer.put((byte) blocks.getColumn(i));
+            buffer.put((byte) (blocks.getType(i) - Block.NORMAL));
+            buffer.put((byte) blocks.getColorIndex(i));
+        }
+
+        byte[] data = buffer.array();
+        buffer.putInt(CHECKSUM_OFFSET, (int) checksum(data, HEADER_SIZE, payloadLength));
+        return data;
+    }
+
+    /**
+     * Encodes a delta record holding the current game state and the blocks destroyed since the previous
+     * snapshot or delta. The record is tied to its snapshot through the snapshot's checksum.
+     *
+     * @param simulation      The simulation holding the current game state.
+     * @param baseChecksum    The checksum of the snapshot this delta applies to.
+     * @param destroyedBlocks The indices of the blocks destroyed since the previous snapshot or delta.
+     * @return The encoded delta record.
+     */
+    public static byte[] encodeDelta(GameSimulation simulation, long baseChecksum, BitSet destroyedBlocks) {
+        BlockStore blocks = simulation.getBlocks();
+        int destroyedCount = destroyedBlocks.cardinality();
+        int recordLength = DELTA_FIXED_SIZE + destroyedCount * 2;
+        ByteBuffer buffer = ByteBuffer.allocate(DELTA_HEADER_SIZE + recordLength);
+        buffer.putInt(recordLength);
+        buffer.putInt(0); // Checksum, filled in once the record is written
+        buffer.putInt((int) baseChecksum);
+
+        writeState(buffer, simulation);
+
+        buffer.putShort((short) destroyedCount);
+        for (int i = destroyedBlocks.nextSetBit(0); i >= 0; i = destroyedBlocks.nextSetBit(i + 1)) {
+            buffer.put((byte) blocks.getRow(i));
+            buffer.put((byte) blocks.getColumn(i));
+        }
+
+        byte[] data = buffer.array();
+        buffer.putInt(4, (int) checksum(data, DELTA_HEADER_SIZE, recordLength));
+        return data;
+    }
+
+    /**
+     * Retrieves the checksum stored in the header of an encoded snapshot.
+     *
+     * @param snapshot The encoded snapshot, as returned by {@link #encode(GameSimulation)}.
+     * @return The checksum of the snapshot's payload.
+     */
+    public static long getChecksum(byte[] snapshot) {
+        return ByteBuffer.wrap(snapshot).getInt(CHECKSUM_OFFSET) & 0xFFFFFFFFL;
+    }
+
+    /**
+     * Writes the fixed-layout game state fields shared by snapshots and delta records.
+     *
+     * @param buffer       The buffer to write into.
+     * @param simulation The simulation holding the current game state.
+     */
+    private static void writeState(ByteBuffer buffer, GameSimulation simulation) {
+        buffer.putInt(simulation.getLevel());
+        buffer.putInt(simulation.getScore());
+        buffer.putInt(simulation.getHeart());
+        buffer.putInt(simulation.getDestroyedBlockCount());
+        buffer.putDouble(simulation.getBallPosX());
+        buffer.putDouble(simulation.getBallPosY());
+        buffer.putDouble(simulation.getPaddleMoveX());
+        buffer.putDouble(simulation.getPaddleMoveY());
+        buffer.putDouble(simulation.getCenterBreakX());
+        buffer.putLong(simulation.getTime());
+        buffer.putLong(simulation.getGoldTime());
+        buffer.putDouble(simulation.getBallVelocityX());
+
+        int flags = 0;
+        flags |= simulation.isExistHeartBlock() ? 1 : 0;
+        flags |= simulation.isGoldStatus() ? 1 << 1 : 0;
+        flags |= simulation.isGoDownBall() ? 1 << 2 : 0;
+        flags |= simulation.isGoRightBall() ? 1 << 3 : 0;
+        flags |= simulation.isCollideToBreak() ? 1 << 4 : 0;
+        flags |= simulation.isCollideToBreakAndMoveToRight() ? 1 << 5 : 0;
+        flags |= simulation.isCollideToRightWall() ? 1 << 6 : 0;
+        flags |= simulation.isCollideToLeftWall() ? 1 << 7 : 0;
+        flags |= simulation.isCollideToRightBlock() ? 1 << 8 : 0;
+        flags |= simulation.isCollideToBottomBlock() ? 1 << 9 : 0;
+        flags |= simulation.isCollideToLeftBlock() ? 1 << 10 : 0;
+        flags |= simulation.isCollideToTopBlock() ? 1 << 11 : 0;
+        buffer.putShort((short) flags);
+    }
+
+    /**
+     * Computes the CRC32 checksum of a range of bytes.
+     *
+     * @param data   The bytes to check.
+     * @param offset The start of the range.
+     * @param length The length of the range.
+     * @return The CRC32 value of the range.
+     */
+    private static long checksum(byte[] data, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(data, offset, length);
+        return crc.getValue();
+    }
+
+    /**
+     * Loads the game last saved with Save Game.
+     * The autosave does not write to this slot, so the player's own save is never replaced by it.
+     *
+     * @param mainInstance The instance of the Main class where the loaded game will be displayed.
+     * @param primaryStage The primary stage where the game's scenes are displayed.
+     */
+    public void loadGame(Main mainInstance, Stage primaryStage) {
+        loadGame(mainInstance, primaryStage, SaveManager.DEFAULT_SLOT);
+    }
+
+    /**
+     * Loads a previously saved game state from a save slot.
      * This method is used to resume a game from a saved state, reconstructing the game environment
      * and game objects based on the saved data. It ensures continuity in gameplay across sessions.
+     * If the slot does not exist or cannot be read, a new game is started instead.
      *
      * @param mainInstance The instance of the Main class where the loaded game will be displayed.
      * @param primaryStage The primary stage where the game's scenes are displayed.
+     * @param slot         The name of the save slot to load, such as {@link SaveManager#AUTOSAVE_SLOT}.
      */
-    public void loadGame(Main mainInstance, Stage primaryStage) {
-        File saveFile = new File(Main.SAVE_PATH);
-        if (!saveFile.exists()) {
-            System.out.println("Save file not found. Loading a New Game!");
+    public void loadGame(Main mainInstance, Stage primaryStage, String slot) {
+        if (!SaveManager.hasSlot(slot)) {
+            EventLog.getInstance().info("Save file not found. Loading a New Game!");
             mainInstance.newGame(primaryStage);
             return;
         }
 
-        read();
+        if (!read(slot)) {
+            EventLog.getInstance().info("Save file could not be read. Loading a New Game!");
+            mainInstance.newGame(primaryStage);
+            return;
+        }
 
         mainInstance.setExistHeartBlock(isExistHeartBlock);
         mainInstance.setIsGoldStatus(isGoldStatus);
@@ -190,32 +422,13 @@ public class GameController {
 
         mainInstance.setDestroyedBlockCount(0);
         mainInstance.getBlocks().clear();
-        mainInstance.getChocos().clear();
-
-        if (mainInstance.root == null) {
-            mainInstance.root = new Pane();
-        }
+        mainInstance.getSimulation().resetEffects();
 
         for (BlockSerializable ser : blocks) {
-            Color blockColor = mainInstance.getColors()[ser.colorIndex];
-            Block block = new Block(ser.row, ser.column, blockColor, ser.type);
-            mainInstance.getBlocks().add(block);
-            Platform.runLater(() -> {
-                if (block.rect != null) {
-                    mainInstance.root.getChildren().add(block.rect);
-                }
-            });
+            mainInstance.getBlocks().add(ser.row, ser.column, ser.colorIndex, ser.type);
         }
 
         mainInstance.setPaddleMoveX(Main.SCENE_WIDTH / 2.0 - mainInstance.getPaddleWidth() / 2.0);
-        mainInstance.initializeGameObjects();
-
-        if (mainInstance.getBall() != null) {
-            mainInstance.getBall().setCenterX(xBall);
-            mainInstance.getBall().setCenterY(yBall);
-        } else {
-            System.err.println("Error: Ball object is not initialized.");
-        }
 
         mainInstance.loadFromSave = true;
         mainInstance.newGame(primaryStage);
@@ -1,12 +1,28 @@
 package com.brickbreakergame;
 
+import com.brickbreakergame.logging.EventLog;
+import com.brickbreakergame.metrics.GameMetrics;
+import com.brickbreakergame.simulation.SimulationClock;
+
+import java.util.concurrent.locks.LockSupport;
+
 /**
  * The GameEngine class orchestrates the main game loop, physics computations,
  * and time tracking for a brick breaker game. This modular engine allows for the implementation
  * of customized game logic and physics through a set of defined callback interfaces.
- * It is crafted to ensure efficient and consistent execution of game dynamics.
+ * It runs a single simulation thread with a fixed-timestep accumulator, so physics, logic and
+ * game time always advance together by the same amount regardless of scheduler jitter.
+ * Game time is kept by a {@link SimulationClock} owned by the engine: it only advances when a tick runs, so it
+ * stops while the engine is stopped, as it is by the pause menu, and a time scale can slow the game down or speed
+ * it up without changing what happens on each tick.
+ * While the engine runs, the game state belongs to the simulation thread. Other threads never change it
+ * directly: player input, for example, is queued and applied by the simulation thread at the start of a tick.
  */
 public class GameEngine {
+    public static final String TIME_SCALE_PROPERTY = "brickbreaker.timeScale";
+    private static final int DEFAULT_TICK_RATE = 120;
+    private static final int DEFAULT_MAX_CATCH_UP_TICKS = 5;
+
     /**
      * The OnAction interface defines callbacks for key game engine actions.
      * Implementations of this interface provide specific behaviors for updating game logic,
@@ -14,10 +30,14 @@ public class GameEngine {
      * by the GameEngine to maintain a smooth and responsive game experience.
      */
     private OnAction onAction;
-    private int frameTimeMillis = 1000 / 120;
-    private Thread updateThread, physicsThread, timeThread;
+    private final SimulationClock clock = new SimulationClock(DEFAULT_TICK_RATE);
+    private long tickNanos = clock.getTickNanos();
+    private int maxCatchUpTicks = DEFAULT_MAX_CATCH_UP_TICKS;
+    private volatile double timeScale = 1.0;
+    private volatile Thread simulationThread;
     private volatile boolean running = false;
-    private long time = 0;
+    private volatile double interpolationAlpha = 0;
+    private GameMetrics metrics;
     public interface OnAction {
 
         /**
@@ -49,6 +69,7 @@ public class GameEngine {
 
     /**
      * Configures the desired frame rate of the game, impacting game fluidity and responsiveness.
+     * This is the same as {@link #setTickRate(int)} and is kept for existing callers.
      *
      * @param fps The target frames per second for the game.
      * @throws IllegalArgumentException If {@code fps} is non-positive.
@@ -57,95 +78,243 @@ public class GameEngine {
         if (fps <= 0) {
             throw new IllegalArgumentException("FPS must be greater than 0");
         }
-        this.frameTimeMillis = 1000 / fps;
+        setTickRate(fps);
     }
 
     /**
-     * Initiates the game engine's operational cycle. It launches separate threads for game updates,
-     * physics, and time management. This method ensures that the engine starts only if it is not already active.
+     * Configures how many fixed simulation ticks are executed per second of real time.
+     *
+     * @param ticksPerSecond The number of simulation ticks per second.
+     * @throws IllegalArgumentException If {@code ticksPerSecond} is non-positive.
      */
-    public void start() {
-        if (running) {
-            return;
+    public void setTickRate(int ticksPerSecond) {
+        if (ticksPerSecond <= 0) {
+            throw new IllegalArgumentException("Tick rate must be greater than 0");
         }
+        clock.setTickRate(ticksPerSecond);
+        this.tickNanos = clock.getTickNanos();
+    }
 
-        running = true;
-        time = 0;
+    /**
+     * Sets how fast game time runs compared to real time, for slow motion or fast-forward. Game time still
+     * advances by one fixed step per tick; the scale only changes how many ticks run per second of real time.
+     * Fast-forward is limited by the catch-up cap, since ticks beyond it are dropped.
+     * This method may be called from any thread, including while the engine is running.
+     *
+     * @param timeScale The game time per unit of real time, 1 for normal speed.
+     * @throws IllegalArgumentException If {@code timeScale} is not a positive number.
+     */
+    public void setTimeScale(double timeScale) {
+        if (!(timeScale > 0) || Double.isInfinite(timeScale)) {
+            throw new IllegalArgumentException("Time scale must be a positive number");
+        }
+        this.timeScale = timeScale;
+    }
 
-        updateThread = new Thread(this::runUpdateLoop);
-        physicsThread = new Thread(this::runPhysicsLoop);
-        timeThread = new Thread(this::runTimeLoop);
+    /**
+     * Returns how fast game time runs compared to real time.
+     *
+     * @return The game time per unit of real time, 1 for normal speed.
+     */
+    public double getTimeScale() {
+        return timeScale;
+    }
 
-        updateThread.start();
-        physicsThread.start();
-        timeThread.start();
+    /**
+     * Returns the time scale set by the {@value #TIME_SCALE_PROPERTY} system property. An invalid value is
+     * logged and ignored.
+     *
+     * @return The configured time scale, or 1 if none is configured.
+     */
+    public static double getConfiguredTimeScale() {
+        String value = System.getProperty(TIME_SCALE_PROPERTY);
+        if (value != null) {
+            try {
+                double timeScale = Double.parseDouble(value);
+                if (timeScale > 0 && !Double.isInfinite(timeScale)) {
+                    return timeScale;
+                }
+            } catch (NumberFormatException e) {
+                // Reported below
+            }
+            EventLog.getInstance().info("Ignoring invalid time scale " + value);
+        }
+        return 1.0;
     }
 
     /**
-     * Halts the operation of the game engine. It safely terminates the update, physics, and time tracking threads.
-     * The shutdown process is engaged only if the engine is currently active.
+     * Limits how many ticks the engine may run back to back when it falls behind real time.
+     * Any backlog beyond this cap is dropped, so a long stall slows the game down briefly
+     * instead of making it fast-forward through dozens of ticks at once.
+     *
+     * @param maxCatchUpTicks The maximum number of ticks per loop iteration.
+     * @throws IllegalArgumentException If {@code maxCatchUpTicks} is non-positive.
      */
-    public void stop() {
-        if (!running) {
-            return;
+    public void setMaxCatchUpTicks(int maxCatchUpTicks) {
+        if (maxCatchUpTicks <= 0) {
+            throw new IllegalArgumentException("Catch-up cap must be greater than 0");
         }
+        this.maxCatchUpTicks = maxCatchUpTicks;
+    }
 
-        running = false;
-        interruptAndJoin(updateThread);
-        interruptAndJoin(physicsThread);
-        interruptAndJoin(timeThread);
+    /**
+     * Sets the metrics that record how long each tick takes and how late it starts. Without metrics,
+     * the engine does not measure its ticks at all.
+     *
+     * @param metrics The metrics to record into, or null to not record.
+     */
+    public void setMetrics(GameMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Returns how far real time has progressed towards the next simulation tick, from 0 to 1.
+     * Renderers use it to interpolate between the previous and the current simulated positions.
+     *
+     * @return The interpolation factor between the last two ticks.
+     */
+    public double getInterpolationAlpha() {
+        return interpolationAlpha;
+    }
+
+    /**
+     * Sets the game time the engine counts from, such as the time of a loaded game, and starts counting ticks
+     * from zero again. The same engine is reused for every level and game, which all set their start time.
+     * Game time is always derived from the tick count, so it advances by exactly the same amount every tick.
+     * This method must not be called while the engine is running.
+     *
+     * @param startTime The game time before the first tick, in milliseconds.
+     */
+    public void setStartTime(long startTime) {
+        clock.reset(startTime);
+    }
+
+    /**
+     * Returns the number of simulation ticks executed since the start time was last set.
+     * Stopping and starting the engine again, as the pause menu does, continues the count.
+     *
+     * @return The current tick count.
+     */
+    public long getTick() {
+        return clock.getTick();
+    }
+
+    /**
+     * Returns the game time reached by the last tick. It does not advance while the engine is stopped.
+     *
+     * @return The game time in milliseconds.
+     */
+    public long getTime() {
+        return clock.getTime();
+    }
+
+    /**
+     * Checks whether the simulation thread is currently running.
+     *
+     * @return True if the engine is running, false otherwise.
+     */
+    public boolean isRunning() {
+        return running;
     }
 
     /**
-     * Executes the main game update loop. This method is pivotal in maintaining the continuity
-     * of the game's state. It repeatedly invokes the onUpdate method of the OnAction interface,
-     * ensuring that game logic is consistently processed at each frame.
+     * Initiates the game engine's operational cycle. It launches the single simulation thread
+     * that drives physics, game updates and time. This method ensures that the engine starts only if it is not already active.
+     * The tick count and game time continue from where the engine was stopped.
+     * If the engine was stopped from its own simulation thread, that thread is waited for first, so two loops
+     * never step the game at the same time.
      */
-    private void runUpdateLoop() {
-        while (running) {
-            onAction.onUpdate();
-            sleep(frameTimeMillis);
+    public void start() {
+        if (running) {
+            return;
         }
+
+        Thread previousThread = simulationThread;
+        if (previousThread != null && previousThread != Thread.currentThread()) {
+            interruptAndJoin(previousThread);
+        }
+        running = true;
+        interpolationAlpha = 0;
+
+        simulationThread = new Thread(this::runSimulationLoop, "game-simulation");
+        simulationThread.setDaemon(true);
+        simulationThread.start();
     }
 
     /**
-     * Manages the physics update loop. This method plays a critical role in the real-time simulation
-     * of physical interactions within the game. It continuously calls the onPhysicsUpdate method
-     * of the OnAction interface, providing regular updates to the game's physics.
+     * Halts the operation of the game engine. It safely terminates the simulation thread.
+     * The shutdown process is engaged only if the engine is currently active. When called from the
+     * simulation thread itself (for example on game over) the loop simply ends after the current tick.
      */
-    private void runPhysicsLoop() {
-        while (running) {
-            onAction.onPhysicsUpdate();
-            sleep(frameTimeMillis);
+    public void stop() {
+        if (!running) {
+            return;
+        }
+
+        running = false;
+        if (Thread.currentThread() != simulationThread) {
+            interruptAndJoin(simulationThread);
         }
     }
 
     /**
-     * Conducts the time tracking loop. This method is integral to the tracking of elapsed game time.
-     * It methodically increments the game time and invokes the onTime method of the OnAction interface.
-     * These actions are performed repeatedly, ensuring accurate and up-to-date time tracking
-     * for the duration of the game engine's operation.
+     * Executes the fixed-timestep simulation loop. Elapsed real time is accumulated and consumed in
+     * whole ticks; each tick runs physics, then game logic, then advances game time by exactly one step.
+     * The number of ticks run per iteration is capped, and the remainder of the accumulator is published
+     * as the interpolation factor for rendering.
      */
-    private void runTimeLoop() {
-        while (running) {
-            time++;
-            onAction.onTime(time);
-            sleep(1);
+    private void runSimulationLoop() {
+        long previous = System.nanoTime();
+        long accumulator = 0;
+
+        // A loop that has been replaced by a newer one ends even if the engine is running again
+        Thread self = Thread.currentThread();
+        while (running && simulationThread == self) {
+            long now = System.nanoTime();
+            double timeScale = this.timeScale;
+            accumulator += timeScale == 1.0 ? now - previous : (long) ((now - previous) * timeScale);
+            previous = now;
+
+            int ticksThisFrame = 0;
+            while (running && simulationThread == self && accumulator >= tickNanos && ticksThisFrame < maxCatchUpTicks) {
+                // The oldest pending tick was due when the accumulator first reached a whole tick
+                runTick(metrics != null ? System.nanoTime() - now + (long) ((accumulator - tickNanos) / timeScale) : 0);
+                accumulator -= tickNanos;
+                ticksThisFrame++;
+            }
+
+            // Drop whatever backlog is left past the catch-up cap rather than spiralling
+            if (accumulator >= tickNanos) {
+                if (metrics != null) {
+                    metrics.recordDroppedTicks(accumulator / tickNanos);
+                }
+                accumulator %= tickNanos;
+            }
+
+            interpolationAlpha = (double) accumulator / tickNanos;
+            LockSupport.parkNanos((long) ((tickNanos - accumulator) / timeScale));
+            if (Thread.interrupted()) {
+                break;
+            }
         }
     }
 
     /**
-     * Temporarily suspends the execution of the current thread for a specified duration.
-     * This method is used to control the timing of the game loop and other operations, allowing
-     * for consistent and controlled execution pacing.
+     * Runs a single simulation step, invoking the physics, update and time callbacks in a fixed order.
+     * When metrics are set, the duration of each phase and the lateness of the tick are recorded.
      *
-     * @param millis The duration, in milliseconds, for which the thread is to be suspended.
+     * @param latenessNanos How long after its scheduled time the tick starts.
      */
-    private void sleep(int millis) {
-        try {
-            Thread.sleep(millis);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+    private void runTick(long latenessNanos) {
+        GameMetrics metrics = this.metrics;
+        long start = metrics != null ? System.nanoTime() : 0;
+        onAction.onPhysicsUpdate();
+        long physicsEnd = metrics != null ? System.nanoTime() : 0;
+        onAction.onUpdate();
+        onAction.onTime(clock.advance());
+        if (metrics != null) {
+            long end = System.nanoTime();
+            metrics.recordTick(latenessNanos, physicsEnd - start, end - physicsEnd);
         }
     }
 
@@ -1,109 +1,90 @@
 package com.brickbreakergame;
 
+import com.brickbreakergame.logging.EventLog;
 import com.brickbreakergame.managers.*;
+import com.brickbreakergame.metrics.GameMetrics;
+import com.brickbreakergame.metrics.MetricsOverlay;
 import com.brickbreakergame.menus.MainMenu;
 import com.brickbreakergame.menus.PauseMenu;
+import com.brickbreakergame.simulation.BlockStore;
+import com.brickbreakergame.simulation.Bonus;
+import com.brickbreakergame.simulation.GameSimulation;
+import com.brickbreakergame.simulation.InputQueue;
+import com.brickbreakergame.simulation.ReplayRecorder;
 import javafx.animation.AnimationTimer;
 import javafx.application.Application;
-import javafx.application.Platform;
 import javafx.event.EventHandler;
 import javafx.scene.Scene;
-import javafx.scene.control.Label;
 import javafx.scene.image.Image;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
-import javafx.scene.paint.ImagePattern;
 import javafx.scene.shape.Circle;
 import javafx.scene.shape.Rectangle;
 import javafx.stage.Stage;
 
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Arrays;
 
 /**
  * The Main class represents the main entry point for the Brick Game application.
- * It handles the game's logic, UI components, and user input.
+ * It handles the game's UI components and user input, and presents the game simulated by {@link GameSimulation}.
  * The game features a paddle, a ball, blocks to destroy, and various power-up bonuses.
  * Players aim to clear all blocks in each level while keeping the ball from falling to the floor
  * and managing their heart lives. The game progresses through levels of increasing difficulty.
- * This class extends the Application class and implements EventHandler<KeyEvent> and GameEngine.OnAction interfaces.
+ * This class extends the Application class and implements EventHandler<KeyEvent>, GameEngine.OnAction
+ * and GameSimulation.Listener interfaces.
  *
  * @author Chhat
  * @version 1.
  * @since 12 December 2023
  */
-public class Main extends Application implements EventHandler<KeyEvent>, GameEngine.OnAction {
+public class Main extends Application implements EventHandler<KeyEvent>, GameEngine.OnAction, GameSimulation.Listener {
     // Constants
-    private static final int LEFT  = 1;
-    private static final int RIGHT = 2;
-    private static final int PADDLE_HEIGHT = 14;
-    private static final int PADDLE_SPEED = 8;
-    private static final double MAX_VELOCITY_X = 3.0; // Maximum horizontal velocity of the ball
-    private static final double MAX_VELOCITY = 4.0;   // Maximum overall velocity of the ball
-    private static final double SPIN_EFFECT = 0.5;    // Effect of spin on ball's trajectory
-    public static final int SCENE_WIDTH = 500;
-    public static final int SCENE_HEIGHT = 700;
-    public static final String SAVE_PATH = "./save/save.mdds";
-    public static final String SAVE_PATH_DIR = "./save/";
+    private static final int LEFT  = GameSimulation.LEFT;
+    private static final int RIGHT = GameSimulation.RIGHT;
+    public static final int SCENE_WIDTH = GameSimulation.SCENE_WIDTH;
+    public static final int SCENE_HEIGHT = GameSimulation.SCENE_HEIGHT;
+    public static final String SAVE_PATH = SavePaths.SAVE_PATH;
+    public static final String SAVE_PATH_DIR = SavePaths.SAVE_PATH_DIR;
+    public static final int TICK_RATE = 120;
 
     // Game State Variables
-    protected int level = 1;
-    private int score = 0;
-    private int heart = 3;
-    private int destroyedBlockCount = 0;
     protected boolean loadFromSave = false;
-    private volatile long time = 0;
-    private volatile long goldTime = 0;
-    private boolean isGoldStatus = false;
-    protected boolean isExistHeartBlock = false;
-
-    // Paddle Variables
-    private static int paddleWidth = 90;
-    private double paddleMoveX = 220.0;
-    private double paddleMoveY = 683.0f;
-    private final int halfPaddleWidth = paddleWidth / 2;
-    private double centerBreakX;
-    private boolean leftKeyPressed = false;
-    private boolean rightKeyPressed = false;
-    private AnimationTimer paddleMoveTimer;
+    private final GameSimulation simulation = new GameSimulation();
+
+    // Input Variables
+    private final ReplayRecorder replayRecorder = new ReplayRecorder();
+    private final InputQueue inputQueue = new InputQueue(replayRecorder);
 
     // Ball Variables
     private Circle ball;
-    private static final int ballRadius = 10;
-    private double ballPosX;
-    private double ballPosY;
-    private double ballVelocityX = 1.000;
-    protected double ballVelocityY = 1.000;
-    double fallSpeed = 2.0;
-    private boolean goDownBall = true;
-    private boolean goRightBall = true;
-
-    // Ball Mechanics Variables
-    private boolean collideToBreak = false;
-    private boolean collideToBreakAndMoveToRight = true;
-    private boolean collideToRightWall = false;
-    private boolean collideToLeftWall = false;
-    private boolean collideToRightBlock = false;
-    private boolean collideToBottomBlock = false;
-    private boolean collideToLeftBlock = false;
-    private boolean collideToTopBlock = false;
 
     // UI Components
     Pane root;
+    private Scene scene;
     protected static Stage primaryStage;
 
     // Game Engine, GameBoardManager and Media
     private GameEngine engine;
+    private AnimationTimer renderTimer;
     private UIManager uiManager;
     AnimationManager animationManager = new AnimationManager();
-    BonusManager bonusManager = createBonus(0, 0);
+    BonusManager bonusManager = new BonusManager(this);
     private GameController gameController = new GameController();
+    private final SaveManager saveManager = new SaveManager(this);
+    private final RenderBuffer renderBuffer = new RenderBuffer();
+    private final GameMetrics metrics = GameMetrics.getInstance();
+    private final MetricsOverlay metricsOverlay = new MetricsOverlay(metrics);
+    private final EventLog eventLog = EventLog.getInstance();
+    private final LevelPrefetcher levelPrefetcher = new LevelPrefetcher();
+    private final Score score = new Score(this);
+    private final CanvasRenderer canvasRenderer = CanvasRenderer.isEnabled() ? new CanvasRenderer() : null;
 
     // Game Objects
     private Rectangle rect;
-    protected final ArrayList<Block> blocks = new ArrayList<>();
-    private final ArrayList<BonusManager> chocos = new ArrayList<>();
+    private Rectangle[] blockRects = new Rectangle[0];
+    private boolean ballShownGold = false;
     protected final Color[] colors = new Color[]{
             Color.rgb(0, 0, 128),          // Dark Blue
             Color.rgb(255, 255, 255),      // White
@@ -117,16 +98,6 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
             Color.rgb(176, 196, 222)       // Light Steel Blue
     };
 
-    // Bonus Variables
-    protected long paddleWidthChangeTime;
-    protected volatile boolean paddleWidthChanged;
-    protected long ballSizeChangeTime;
-    protected volatile boolean ballSizeChanged;
-    protected int originalPaddleWidth;
-    protected int originalBallRadius;
-    protected long paddleWidthChangeDuration = 0;
-    protected long ballSizeChangeDuration = 0;
-
     /**
      * Initializes and displays the main game window.
      * This method sets up the primary stage of the game, including the main menu and game scenes.
@@ -135,6 +106,9 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      */
     @Override
     public void start(Stage primaryStage) {
+        SoundManager.preloadSoundEffects();
+        ImageManager.preloadImages();
+        simulation.setListener(this);
         MainMenu mainMenu = new MainMenu(primaryStage, this);
         mainMenu.display();
         gameController = new GameController();
@@ -155,8 +129,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
     }
 
     /**
-     * Initializes the ball object with default properties and position. The ball is a central game element
-     * used in gameplay mechanics. This method sets its initial size, appearance, and starting position.
+     * Brings the ball and the paddle nodes in line with the state of the simulation, creating them for the first game.
      */
     protected void initializeGameObjects() {
         initializeBall();
@@ -165,12 +138,24 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
 
     /**
      * Sets up the game board for the current level. This includes initializing blocks and other game elements
-     * as per the current level's layout and difficulty. It resets the game state for a new level or game session.
+     * as per the current level's layout and difficulty. It resets the game state for a new level or game session,
+     * and records the level so the session can be replayed. A loaded game keeps its saved state and is not recorded.
      */
     private void setUpGameBoard() {
-        if (!loadFromSave) {
-            GameBoardManager gameBoardManager = new GameBoardManager(this);
-            gameBoardManager.setupGameBoard();
+        if (loadFromSave) {
+            replayRecorder.stop();
+            simulation.onBoardChanged();
+            eventLog.levelChanged(getLevel(), getScore(), getHeart(), true);
+        } else {
+            if (getLevel() == 1 || !replayRecorder.isRecording()) {
+                // A new session: start a new recording with a fresh seed
+                long seed = System.nanoTime();
+                simulation.setSeed(seed);
+                replayRecorder.begin(seed, TICK_RATE);
+            }
+            simulation.startLevel(getLevel(), levelPrefetcher.takeBoard(getLevel(), simulation.getSeed()));
+            replayRecorder.beginLevel(simulation);
+            eventLog.levelChanged(getLevel(), getScore(), getHeart(), false);
         }
         primaryStage.setResizable(false);
     }
@@ -180,41 +165,90 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * This method sets up the visual elements that the player interacts with during gameplay.
      */
     private void createUIComponents() {
-        root = new Pane();
-        this.uiManager = new UIManager(root);
-        this.uiManager.updateBackgroundImage(level);
-        this.uiManager.makeHeartScore(heart, getScore(), level);
-        root.getChildren().addAll(rect, ball);
+        if (root == null) {
+            root = new Pane();
+            this.uiManager = new UIManager(root);
+        }
+        root.getChildren().clear(); // Drops what is left of the previous level, such as pop-ups and bonuses
+        root.setEffect(null); // The game over and win screens blur the game behind them
+        this.uiManager.updateBackgroundImage(getLevel());
+        this.uiManager.makeHeartScore(getHeart(), getScore(), getLevel());
+        if (canvasRenderer != null) {
+            root.getChildren().add(canvasRenderer.getNode());
+        } else {
+            root.getChildren().addAll(rect, ball);
+        }
     }
 
     /**
      * Adds the blocks to the game UI. This method is used when starting a new level or loading a game,
-     * and is responsible for placing the blocks in their initial positions.
+     * and shows a node for every block that has not been destroyed yet. The nodes of earlier levels are reused,
+     * so a new node is only created when a board has more blocks than any board before it.
+     * With the canvas renderer, the renderer takes a copy of the board instead.
      */
     private void setUpBlocks() {
-        if (!loadFromSave) {
-            for (Block block : blocks) {
-                Platform.runLater(() -> {
-                    if (block != null && block.rect != null) {
-                        root.getChildren().add(block.rect);
-                    }
-                });
+        BlockStore blocks = getBlocks();
+        if (canvasRenderer != null) {
+            canvasRenderer.setBoard(blocks, colors);
+            return;
+        }
+        if (blockRects.length < blocks.size()) {
+            blockRects = Arrays.copyOf(blockRects, blocks.size());
+        }
+        for (int i = blocks.nextAlive(0); i >= 0; i = blocks.nextAlive(i + 1)) {
+            if (blockRects[i] == null) {
+                blockRects[i] = new Rectangle(Block.getWidth(), Block.getHeight());
             }
+            resetBlockRect(blockRects[i], blocks, i);
+            root.getChildren().add(blockRects[i]);
+        }
+    }
+
+    /**
+     * Makes a node draw a block: positions it as the block, fills it according to the block's type and shows it.
+     *
+     * @param blockRect The rectangle to draw the block with.
+     * @param blocks    The blocks of the current level.
+     * @param index     The index of the block to draw.
+     */
+    private void resetBlockRect(Rectangle blockRect, BlockStore blocks, int index) {
+        int type = blocks.getType(index);
+        blockRect.setVisible(true);
+        blockRect.setX(blocks.getX(index));
+        blockRect.setY(blocks.getY(index));
+
+        if (type == Block.RANDOM) {
+            blockRect.setFill(ImageManager.getPattern("/images/blocks/randomBlock.png"));
+        } else if (type == Block.HEART) {
+            blockRect.setFill(ImageManager.getPattern("/images/blocks/heartBlock.png"));
+        } else if (type == Block.GOLDEN_TIME) {
+            blockRect.setFill(ImageManager.getPattern("/images/blocks/goldenBallBlock.png"));
+        } else {
+            blockRect.setFill(colors[blocks.getColorIndex(index) % colors.length]);
         }
     }
 
     /**
      * Sets up the scene for the game, including the layout and event handlers. This method is crucial for initializing
-     * the visual and interactive components of the game window.
+     * the visual and interactive components of the game window. The scene is created for the first game and shown
+     * again for every later level and game, so its stylesheets are only loaded once.
      */
     private void setUpScene() {
-        Scene scene = new Scene(root, SCENE_WIDTH, SCENE_HEIGHT);
-        scene.setOnKeyPressed(this);
-        scene.setOnKeyReleased(this);
-        scene.getStylesheets().addAll("/css/main.css", "/css/score.css");
+        root.getChildren().add(metricsOverlay.getNode()); // Drawn on top of the game
+        if (scene == null) {
+            scene = new Scene(root, SCENE_WIDTH, SCENE_HEIGHT);
+            scene.setOnKeyPressed(this);
+            scene.setOnKeyReleased(this);
+            scene.getStylesheets().addAll("/css/main.css", "/css/score.css");
+        }
         primaryStage.setTitle("The Incredible Block Breaker Game");
-        primaryStage.getIcons().add(new Image("/images/favicon.png"));
-        primaryStage.setScene(scene);
+        Image favicon = ImageManager.getImage("/images/favicon.png");
+        if (!primaryStage.getIcons().contains(favicon)) {
+            primaryStage.getIcons().add(favicon);
+        }
+        if (primaryStage.getScene() != scene) {
+            primaryStage.setScene(scene);
+        }
         primaryStage.show();
     }
 
@@ -223,13 +257,54 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * handling updates and rendering of the game.
      */
     private void startGameEngine() {
-        engine = new GameEngine();
-        engine.setOnAction(this);
-        engine.setFps(120);
+        if (engine == null) {
+            engine = new GameEngine();
+            engine.setOnAction(this);
+            engine.setTickRate(TICK_RATE);
+            engine.setTimeScale(GameEngine.getConfiguredTimeScale());
+            engine.setMetrics(metrics);
+        }
+        engine.setStartTime(simulation.getTime());
+        metrics.watch(inputQueue, renderBuffer);
+        renderBuffer.reset(simulation);
         engine.start();
+        startRenderTimer();
         this.loadFromSave = false;
     }
 
+    /**
+     * Starts the render loop on the JavaFX pulse. Rendering is decoupled from the simulation tick rate:
+     * each pulse applies the latest frame published by the simulation, if there is one, and draws the
+     * game objects interpolated between the last two simulated positions.
+     */
+    private void startRenderTimer() {
+        if (renderTimer != null) {
+            renderTimer.start();
+            return;
+        }
+        renderTimer = new AnimationTimer() {
+            private long previousPulse = 0;
+
+            @Override
+            public void start() {
+                previousPulse = 0;
+                super.start();
+            }
+
+            @Override
+            public void handle(long now) {
+                long start = System.nanoTime();
+                updateGameObjects();
+                metricsOverlay.update(now);
+                if (previousPulse != 0) {
+                    metrics.recordFrame(now - previousPulse, System.nanoTime() - start);
+                }
+                previousPulse = now;
+            }
+        };
+        renderTimer.start();
+    }
+
     /**
      * Starts a new game session.
      * This method initializes the game objects, sets up the game board, UI components, and begins the game engine.
@@ -238,19 +313,34 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      */
     public void newGame(Stage primaryStage) {
         Main.primaryStage = primaryStage;
+        if (engine != null) {
+            engine.stop(); // The simulation is about to be reset
+        }
 
         checkLevels();
-        initializeGameObjects();
         setUpGameBoard();
+        initializeGameObjects();
+        saveManager.resetAutosave();
+        bonusManager.clear();
         createUIComponents();
         setUpBlocks();
         setUpScene();
         startGameEngine();
+        prefetchNextLevel();
+    }
+
+    /**
+     * Starts preparing the next level in the background while this one is played. Its board can only be prepared
+     * when the game is recorded, since only then is the seed it will be played with already known.
+     */
+    private void prefetchNextLevel() {
+        if (getLevel() < LevelPack.getInstance().getLevelCount()) {
+            levelPrefetcher.prefetch(getLevel() + 1, simulation.getSeed(), replayRecorder.isRecording());
+        }
     }
 
 
     private void checkLevels() {
-        Score score = new Score(this);
         score.checkLevels();
     }
 
@@ -272,7 +362,8 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
     /**
      * Handles key press events for the game.
      * This method is responsible for responding to keyboard inputs like moving the paddle left or right
-     * and pausing the game.
+     * and pausing the game. Paddle keys are queued for the simulation, which moves the paddle on its own ticks.
+     * F3 shows or hides the runtime metrics overlay.
      *
      * @param event The KeyEvent representing the user's keyboard input.
      */
@@ -280,18 +371,19 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
         switch (event.getCode()) {
             case A:
             case LEFT:
-                leftKeyPressed = true;
-                movePaddleX(LEFT);
+                inputQueue.press(LEFT);
                 break;
             case D:
             case RIGHT:
-                rightKeyPressed = true;
-                movePaddleX(RIGHT);
+                inputQueue.press(RIGHT);
                 break;
             case ESCAPE:
                 PauseMenu.display(this, getGameEngine(), primaryStage);
                 event.consume();
                 break;
+            case F3:
+                metricsOverlay.toggle();
+                break;
         }
     }
 
@@ -305,65 +397,41 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
         switch (event.getCode()) {
             case A:
             case LEFT:
-                leftKeyPressed = false;
+                inputQueue.release(LEFT);
                 break;
             case D:
             case RIGHT:
-                rightKeyPressed = false;
+                inputQueue.release(RIGHT);
                 break;
         }
     }
 
     /**
-     * Moves the paddle left or right. This method is responsible for controlling the paddle's
-     * movement based on user input, ensuring that it stays within the game boundaries.
-     *
-     * @param direction The direction to move the paddle, either LEFT or RIGHT.
-     */
-    private void movePaddleX(final int direction) {
-        if (paddleMoveTimer != null) {
-            paddleMoveTimer.stop();
-        }
-        paddleMoveTimer = new AnimationTimer() {
-            @Override
-            public void handle(long now) {
-                if ((direction == LEFT && !leftKeyPressed) || (direction == RIGHT && !rightKeyPressed)) {
-                    this.stop();
-                    return;
-                }
-                if (paddleMoveX <= 0 && direction == LEFT || paddleMoveX >= (SCENE_WIDTH - paddleWidth) && direction == RIGHT) {
-                    return;
-                }
-                paddleMoveX += (direction == RIGHT ? PADDLE_SPEED : -PADDLE_SPEED);
-                centerBreakX = paddleMoveX + halfPaddleWidth;
-                rect.setX(paddleMoveX);
-            }
-        };
-        paddleMoveTimer.start();
-    }
-
-    /**
-     * Creates the ball and sets its initial properties and position.
+     * Creates the ball for the first game, and sets its properties and position from the simulation.
      */
     private void initializeBall() {
-        ballPosX = SCENE_WIDTH / 2.0;
-        ballPosY = SCENE_HEIGHT * 0.9 ;
-        ball = new Circle();
-        ball.setRadius(ballRadius);
-        ball.setFill(new ImagePattern(new Image("/images/ball.png")));
+        if (ball == null) {
+            ball = new Circle();
+        }
+        ball.setRadius(simulation.getBallRadius());
+        ball.setCenterX(simulation.getBallPosX());
+        ball.setCenterY(simulation.getBallPosY());
+        ballShownGold = simulation.isGoldStatus();
+        ball.setFill(ImageManager.getPattern(ballShownGold ? "/images/goldBall.png" : "/images/ball.png"));
     }
 
     /**
-     * Creates the paddle and sets its initial properties and position.
+     * Creates the paddle for the first game, and sets its properties and position from the simulation.
      */
     private void createPaddle() {
-        rect = new Rectangle();
-        rect.setWidth(paddleWidth);
-        rect.setHeight(PADDLE_HEIGHT);
-        rect.setX(paddleMoveX);
-        rect.setY(paddleMoveY);
-        ImagePattern pattern = new ImagePattern(new Image("/images/paddle.png"));
-        rect.setFill(pattern);
+        if (rect == null) {
+            rect = new Rectangle();
+        }
+        rect.setWidth(simulation.getPaddleWidth());
+        rect.setHeight(GameSimulation.PADDLE_HEIGHT);
+        rect.setX(simulation.getPaddleMoveX());
+        rect.setY(simulation.getPaddleMoveY());
+        rect.setFill(ImageManager.getPattern("/images/paddle.png"));
     }
 
     /**
@@ -371,451 +439,234 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * response to new collisions after a collision has occurred and to prevent incorrect collision handling.
      */
     public void resetCollideFlags() {
-        collideToBreak = false;
-        collideToBreakAndMoveToRight = false;
-        collideToRightWall = false;
-        collideToLeftWall = false;
-        collideToRightBlock = false;
-        collideToBottomBlock = false;
-        collideToLeftBlock = false;
-        collideToTopBlock = false;
+        simulation.resetCollideFlags();
     }
 
     /**
-     * Updates the position of the ball based on its current velocity and direction. This method is crucial
-     * for the movement mechanics of the ball as it calculates its new position every frame.
+     * Called on every frame update of the game. This method advances the game logic of the simulation,
+     * such as bonuses, and publishes the finished tick for the view to draw. The session recording is
+     * saved whenever a level ends.
      */
-    private void setPhysicsToBall() {
-        updateBallPosition();
-        checkCollisionWithWalls();
-
-        // Enhanced collision detection
-        boolean continuousCollision = checkContinuousCollisionWithPaddle();
-        if (continuousCollision) {
-            handlePaddleCollision();
-        } else {
-            checkCollisionWithPaddle();
-        }
-
-        checkCollisionWithBlocks();
-        handleBallDirection();
-    }
-
-    /**
-     * Checks and handles the ball's collision with the game walls. This method ensures that the ball reacts
-     * appropriately when hitting the boundaries of the game area.
-     */
-    private void checkCollisionWithWalls() {
-        if (ballPosY <= ballRadius || ballPosY + ballRadius >= SCENE_HEIGHT) {
-            handleWallCollision();
-        }
-
-        if (ballPosX + ballRadius >= SCENE_WIDTH || ballPosX - ballRadius <= 0) {
-            handleSideWallCollision();
-        }
-    }
-
-    /**
-     * Handles the ball's collision with the top and bottom walls. This method determines the ball's response
-     * when it comes into contact with either the top or bottom boundary of the game area.
-     */
-    private void handleWallCollision() {
-        if (ballPosY <= ballRadius) {
-            bounceOffTopWall();
-        } else {
-            bounceOffBottomWall();
-        }
-    }
-
-    /**
-     * Handles the ball's bounce off the top wall. This method reverses the ball's vertical direction
-     * upon hitting the top boundary of the game area.
-     */
-    private void bounceOffTopWall() {
-        SoundManager.paddleBounceSound();
-        resetCollideFlags();
-        goDownBall = true;
-    }
-
-    /**
-     * Handles the ball's bounce off the bottom wall. This method deals with the consequences of the ball
-     * hitting the bottom boundary, including life reduction and game over scenarios.
-     */
-    private void bounceOffBottomWall() {
-        resetCollideFlags();
-        goDownBall = false;
-        if (!isGoldStatus) {
-            heart--;
-            SoundManager.ballHitFloor();
-            new Score(this).show((double) SCENE_WIDTH / 2, (double) SCENE_HEIGHT / 2, -1, this);
-
-            if (heart <= 0) {
-                new Score(this).showGameOver(this);
-                engine.stop();
-            } else {
-                animationManager.animateHeartLoss(uiManager.getHeartLabel());
-            }
+    @Override
+    public void onUpdate() {
+        simulation.update();
+        if (replayRecorder.endTick(simulation)) {
+            saveManager.saveReplay();
         }
+        saveManager.onTick();
+        renderBuffer.publish(simulation);
     }
 
     /**
-     * Handles the ball's collision with the left and right walls. This method reverses the ball's horizontal
-     * direction when it hits the side boundaries of the game area.
+     * Draws the game on the JavaFX pulse. A newly published frame is applied first: its events, such as
+     * destroyed blocks, score pop-ups and heart animations, are played once, and the labels, the ball's look
+     * and the falling bonuses are brought up to date. The paddle and the ball are then placed from the front
+     * frame, with the ball interpolated between its previous and current simulated positions.
+     * With the canvas renderer, the blocks, the bonuses, the paddle and the ball are drawn by the
+     * {@link CanvasRenderer} instead.
      */
-    private void handleSideWallCollision() {
-        SoundManager.paddleBounceSound();
-        resetCollideFlags();
-        if (ballPosX + ballRadius >= SCENE_WIDTH) {
-            collideToRightWall = true;
-        } else {
-            collideToLeftWall = true;
+    private void updateGameObjects() {
+        RenderFrame frame = renderBuffer.acquire();
+        if (frame != null) {
+            applyFrame(frame);
         }
-    }
+        frame = renderBuffer.getFrontFrame();
 
-    /**
-     * Checks and handles the ball's collision with the paddle. This method determines if and how the ball
-     * interacts with the paddle, affecting its trajectory.
-     */
-    private void checkCollisionWithPaddle() {
-        if (ballPosY + ballRadius >= paddleMoveY &&
-                ballPosX + ballRadius >= paddleMoveX &&
-                ballPosX - ballRadius <= paddleMoveX + paddleWidth) {
-            handlePaddleCollision();
+        double alpha = engine.getInterpolationAlpha();
+        if (canvasRenderer != null) {
+            canvasRenderer.render(frame, alpha);
+            return;
         }
+        double previousBallPosX = frame.getPreviousBallPosX();
+        double previousBallPosY = frame.getPreviousBallPosY();
+        rect.setX(frame.getPaddleMoveX());
+        rect.setY(frame.getPaddleMoveY());
+        rect.setWidth(frame.getPaddleWidth());
+        ball.setRadius(frame.getBallRadius());
+        ball.setCenterX(previousBallPosX + (frame.getBallPosX() - previousBallPosX) * alpha);
+        ball.setCenterY(previousBallPosY + (frame.getBallPosY() - previousBallPosY) * alpha);
     }
 
     /**
-     * Checks for a continuous collision with the paddle.
-     * This method is used to fix a bug where the ball could phase through the paddle.
+     * Applies a newly published frame to the scene graph. This method must be called on the JavaFX application thread.
      *
-     * @return true if a continuous collision is detected, false otherwise.
+     * @param frame The frame to apply.
      */
-    private boolean checkContinuousCollisionWithPaddle() {
-        double nextX = ballPosX + (goRightBall ? ballVelocityX : -ballVelocityX);
-        double nextY = ballPosY + (goDownBall ? ballVelocityY : -ballVelocityY);
-
-
-        // Check for collision in the path between current position and next position, to fix the bug where it phases through the paddle
-        if (nextY + ballRadius >= paddleMoveY && nextY - ballRadius <= paddleMoveY + PADDLE_HEIGHT) {
-            return nextX + ballRadius >= paddleMoveX && nextX - ballRadius <= paddleMoveX + paddleWidth;
-        }
-        return false;
-    }
-
-    /**
-     * Handles the ball's collision with the paddle, adjusting its velocity and direction. This method is critical
-     * for reflecting the ball's movement when it interacts with the paddle.
-     */
-    private void handlePaddleCollision() {
-        resetCollideFlags();
-        calculateBallVelocity();
-        goDownBall = false;
-        collideToBreakAndMoveToRight = ballPosX - centerBreakX > 0;
-        SoundManager.paddleBounceSound();
-    }
-
-    /**
-     * Calculates the velocity of the ball after colliding with the paddle. This method adjusts the speed
-     * and direction of the ball based on its point of contact with the paddle.
-     */
-    private void calculateBallVelocity() {
-        double relation = (ballPosX - centerBreakX) / ((double) paddleWidth / 2);
-
-        // Ensure relation is not too small to avoid division by zero
-        if (Math.abs(relation) < 0.001) {
-            relation = 0.001 * Math.signum(relation);
-        }
-
-        ballVelocityX = Math.abs(relation) * MAX_VELOCITY_X; // Ensure this doesn't exceed MAX_VELOCITY_X
-        ballVelocityX = Math.min(ballVelocityX, MAX_VELOCITY_X);
-
-        // Calculate ballVelocityY ensuring it's not NaN
-        double velocityYSquared = Math.pow(MAX_VELOCITY, 2) - Math.pow(ballVelocityX, 2);
-        if (velocityYSquared < 0) {
-            velocityYSquared = 0;
-        }
-        ballVelocityY = Math.sqrt(velocityYSquared);
-
-        // Add spin effect based on paddle movement
-        if (leftKeyPressed) {
-            ballVelocityX -= SPIN_EFFECT; // SPIN_EFFECT is a constant defining how much spin affects the ball
-        } else if (rightKeyPressed) {
-            ballVelocityX += SPIN_EFFECT;
-        }
-    }
-
-    /**
-     * Checks for and handles the ball's collision with blocks. This method updates the game state
-     * based on the interaction between the ball and individual blocks.
-     */
-    private void checkCollisionWithBlocks() {
-        if (collideToRightBlock) {
-            goRightBall = true;
+    private void applyFrame(RenderFrame frame) {
+        for (int i = 0; i < frame.getDestroyedBlockCount(); i++) {
+            int blockIndex = frame.getDestroyedBlock(i);
+            if (canvasRenderer != null) {
+                canvasRenderer.destroyBlock(blockIndex);
+            } else if (blockIndex < blockRects.length && blockRects[blockIndex] != null) {
+                blockRects[blockIndex].setVisible(false);
+            }
         }
-
-        if (collideToLeftBlock) {
-            goRightBall = false;
+        for (int i = 0; i < frame.getPopupCount(); i++) {
+            score.show(frame.getPopupX(i), frame.getPopupY(i), frame.getPopupValue(i));
         }
-
-        if (collideToTopBlock) {
-            goDownBall = false;
+        if (frame.getHeartsLost() > 0 && frame.getHeart() > 0) {
+            animationManager.animateHeartLoss(uiManager.getHeartLabel());
         }
-
-        if (collideToBottomBlock) {
-            goDownBall = true;
+        if (frame.getHeartsGained() > 0) {
+            animationManager.animateHeartIncrease(uiManager.getHeartLabel());
         }
-    }
 
-    /**
-     * Determines the direction of the ball after it has collided with an object. This method is essential for
-     * controlling the ball's movement logic post-collision.
-     */
-    private void handleBallDirection() {
-        // Logic to handle the direction of the ball after collision
-        if (collideToBreak) {
-            goRightBall = collideToBreakAndMoveToRight;
-        }
-        if (collideToRightWall) {
-            goRightBall = false;
+        uiManager.setScore(frame.getScore());
+        uiManager.setHeart(frame.getHeart());
+        if (frame.isGoldStatus() != ballShownGold) {
+            ballShownGold = frame.isGoldStatus();
+            ball.setFill(ImageManager.getPattern(ballShownGold ? "/images/goldBall.png" : "/images/ball.png"));
         }
-        if (collideToLeftWall) {
-            goRightBall = true;
+        if (canvasRenderer == null) {
+            bonusManager.update(frame);
         }
     }
 
     /**
-     * Updates the position of the ball based on its current velocity and direction. This method is crucial
-     * for the movement mechanics of the ball as it calculates its new position every frame.
+     * Callback method invoked by the game engine on every physics update.
+     * It applies the input queued since the previous tick, then handles the core physics calculations for the game,
+     * such as paddle and ball movement and collision detection.
      */
-    private void updateBallPosition() {
-        ballPosX += goRightBall ? ballVelocityX : -ballVelocityX;
-        ballPosY += goDownBall ? ballVelocityY : -ballVelocityY;
+    @Override
+    public void onPhysicsUpdate() {
+        inputQueue.drainTo(simulation);
+        simulation.physicsUpdate();
+        metrics.recordCollisions(simulation.getContactCount());
     }
 
     /**
-     * Checks whether all blocks on the current level have been destroyed and handles the game progression accordingly.
-     * This method is a crucial part of the game's level management system. It determines whether the player has
-     * completed the current level by comparing the count of destroyed blocks against the total number of blocks.
+     * Plays the bounce sound when the ball hits a wall.
      */
-    private void checkDestroyedCount() {
-        if (destroyedBlockCount == blocks.size()) {
-            if (level == 10) {
-                new Score(this).showYouWinScreen(this);
-            } else {
-                LevelManager levelManager = new LevelManager(this, primaryStage);
-                SoundManager.levelUp();
-                level++;
-                levelManager.nextLevel();
-            }
-        }
+    @Override
+    public void onWallBounce() {
+        SoundManager.paddleBounceSound();
     }
 
     /**
-     * Called on every frame update of the game. This method updates the game state, including UI components,
-     * game object positions, and handles collisions.
+     * Plays the bounce sound when the ball hits the paddle.
      */
     @Override
-    public void onUpdate() {
-        updateUIComponents();
-        updateGameObjects();
-        handleBlockCollisions();
-        handleBonusCollection();
-        bonusManager.resetTemporaryChanges();
+    public void onPaddleBounce() {
+        SoundManager.paddleBounceSound();
     }
 
     /**
-     * Updates the user interface components like score and heart labels. This method keeps the UI elements
-     * in sync with the game state.
+     * Plays the hit sound, logs the destroyed block and records it and the point it scored for the next frame.
+     *
+     * @param blockIndex The index of the destroyed block.
      */
-    private void updateUIComponents() {
-        Platform.runLater(() -> {
-            uiManager.setScore(getScore());
-            Label heartLabelFromUIManager = uiManager.getHeartLabel();
-            heartLabelFromUIManager.setText("Hearts: " + heart);
-        });
+    @Override
+    public void onBlockDestroyed(int blockIndex) {
+        SoundManager.blockHit();
+        eventLog.blockDestroyed(simulation.getTime(), blockIndex, getScore());
+        BlockStore blocks = getBlocks();
+        RenderFrame frame = renderBuffer.getBackFrame();
+        frame.addDestroyedBlock(blockIndex);
+        frame.addScorePopup(blocks.getX(blockIndex), blocks.getY(blockIndex), 1);
     }
 
     /**
-     * Updates the positions of game objects like the paddle and ball. This method is essential for ensuring
-     * that game elements are displayed correctly according to their current state.
+     * Plays the collection sound and records the collected bonus for the next frame.
+     *
+     * @param bonus The collected bonus.
      */
-    private synchronized void updateGameObjects() {
-        Platform.runLater(() -> {
-            rect.setX(paddleMoveX);
-            rect.setY(paddleMoveY);
-            ball.setCenterX(ballPosX);
-            ball.setCenterY(ballPosY);
-            for (BonusManager choco : chocos) {
-                choco.bonusImage.setY(choco.y);
-            }
-        });
+    @Override
+    public void onBonusCollected(Bonus bonus) {
+        SoundManager.collectBonus();
+        renderBuffer.getBackFrame().addCollectedBonus(bonus);
     }
 
     /**
-     * Manages the ball's collisions with the blocks.
-     * This method is responsible for determining if the ball has collided with any block,
-     * and it handles the consequences of such collisions, such as changing the ball's direction,
-     * updating scores, or block destruction.
+     * Logs the change of the paddle width made by a bonus.
+     *
+     * @param oldWidth The width before the change.
+     * @param newWidth The width after the change.
+     * @param duration How long the change lasts, in milliseconds.
      */
-    private void handleBlockCollisions() {
-        for (final Block block : blocks) {
-            if (!block.isDestroyed) {
-                int hitCode = block.checkHitToBlock(ballPosX, ballPosY, ballRadius);
-                if (hitCode != Block.NO_HIT) {
-                    handleBlockHit(block, hitCode);
-                    repositionBallAfterCollision(block, hitCode);
-                    // Break after handling one collision to prevent multiple collisions in a frame
-                    break;
-                }
-            }
-        }
+    @Override
+    public void onPaddleWidthChanged(int oldWidth, int newWidth, long duration) {
+        eventLog.bonusApplied(simulation.getTime(), EventLog.BonusEffect.PADDLE_WIDTH, oldWidth, newWidth, duration);
     }
 
     /**
-     * Repositions the ball after it has collided with a block. Makes the look very clean.
+     * Logs the points awarded by a bonus.
      *
-     * @param block   The block that the ball collided with.
-     * @param hitCode The code indicating the side of the block hit by the ball.
+     * @param points   The points awarded.
+     * @param newScore The score after the points were added.
      */
-    private void repositionBallAfterCollision(Block block, int hitCode) {
-        switch (hitCode) {
-            case Block.HIT_BOTTOM:
-                ballPosY = block.y + Block.getHeight() + ballRadius;
-                break;
-            case Block.HIT_TOP:
-                ballPosY = block.y - ballRadius;
-                break;
-            case Block.HIT_LEFT:
-                ballPosX = block.x - ballRadius;
-                break;
-            case Block.HIT_RIGHT:
-                ballPosX = block.x + Block.getWidth() + ballRadius;
-                break;
-        }
+    @Override
+    public void onScoreBonus(int points, int newScore) {
+        eventLog.bonusApplied(simulation.getTime(), EventLog.BonusEffect.SCORE, points, newScore, 0);
     }
 
     /**
-     * Handles the actions to be taken when a block is hit by the ball.
+     * Logs the change of the ball size made by a bonus.
      *
-     * @param block   The block that was hit.
-     * @param hitCode The code indicating the side of the block hit by the ball.
+     * @param oldRadius The radius before the change.
+     * @param newRadius The radius after the change.
+     * @param duration  How long the change lasts, in milliseconds.
      */
-    private void handleBlockHit(Block block, int hitCode) {
-        setScore(getScore() + 1);
-        new Score(this).show(block.x, block.y, 1, this);
-
-        block.rect.setVisible(false);
-        block.isDestroyed = true;
-        destroyedBlockCount++;
-        resetCollideFlags();
-
-        checkBlockTypeActions(block);
-
-        switch (hitCode) {
-            case Block.HIT_RIGHT:
-                collideToRightBlock = true;
-                break;
-            case Block.HIT_BOTTOM:
-                collideToBottomBlock = true;
-                break;
-            case Block.HIT_LEFT:
-                collideToLeftBlock = true;
-                break;
-            case Block.HIT_TOP:
-                collideToTopBlock = true;
-                break;
-        }
+    @Override
+    public void onBallSizeChanged(double oldRadius, double newRadius, long duration) {
+        eventLog.bonusApplied(simulation.getTime(), EventLog.BonusEffect.BALL_SIZE, oldRadius, newRadius, duration);
     }
 
     /**
-     * Checks for and handles the ball's collision with the game blocks.
-     * This method updates the game state based on the type of block hit.
-     * @param block The block generated by the game board
+     * Plays the floor sound, logs the lost heart and records it for the next frame.
      */
-    private void checkBlockTypeActions(Block block) {
-        if (block.type == Block.RANDOM) {
-            handleRandomBlock(block);
-        } else if (block.type == Block.GOLDEN_TIME) {
-            handleGoldenTimeBlock();
-        } else if (block.type == Block.HEART) {
-            heart++;
-            animationManager.animateHeartIncrease(uiManager.getHeartLabel());
-            SoundManager.heartBonus();
-        }
+    @Override
+    public void onHeartLost() {
+        SoundManager.ballHitFloor();
+        eventLog.heartLost(simulation.getTime(), getHeart());
+        RenderFrame frame = renderBuffer.getBackFrame();
+        frame.addScorePopup((double) SCENE_WIDTH / 2, (double) SCENE_HEIGHT / 2, -1);
+        frame.addHeartLost();
     }
 
     /**
-     * Handles the actions when a random block is hit by the ball.
-     * This method generates bonus items and updates the game state.
-     *
-     * @param block The block that was hit by the ball.
+     * Plays the bonus sound and records the extra heart given by a heart block for the next frame.
      */
-    private void handleRandomBlock(Block block) {
-        Platform.runLater(() -> {
-            final BonusManager choco = new BonusManager(block.row, block.column, this);
-            choco.timeCreated = time;
-            root.getChildren().add(choco.bonusImage);
-            chocos.add(choco);
-        });
+    @Override
+    public void onHeartGained() {
+        renderBuffer.getBackFrame().addHeartGained();
+        SoundManager.heartBonus();
     }
 
     /**
-     * Handles the actions when a golden time block is hit.
-     * This method activates a special mode where the ball becomes golden.
+     * Plays the power-up sound when the golden ball is activated. The ball's look follows the published frame.
+     *
+     * @param goldStatus True if the golden ball is now active, false otherwise.
      */
-    private void handleGoldenTimeBlock() {
-        goldTime = System.currentTimeMillis();
-        ball.setFill(new ImagePattern(new Image("/images/goldBall.png")));
-        SoundManager.goldBallPowerUp();
-        isGoldStatus = true;
+    @Override
+    public void onGoldStatusChanged(boolean goldStatus) {
+        if (goldStatus) {
+            SoundManager.goldBallPowerUp();
+        }
     }
 
     /**
-     * Handles the collection of bonuses and updates the game state accordingly. This method is responsible
-     * for detecting and applying the effects of bonus items collected during gameplay.
+     * Shows the game over screen and stops the game loop once the player runs out of hearts.
      */
-    private void handleBonusCollection() {
-        Iterator<BonusManager> iterator = chocos.iterator();
-        while (iterator.hasNext()) {
-            BonusManager choco = iterator.next();
-
-            if (choco.y > SCENE_HEIGHT || choco.taken) {
-                iterator.remove();
-                continue;
-            }
-
-            if (choco.y >= paddleMoveY && choco.y <= paddleMoveY + PADDLE_HEIGHT
-                    && choco.x >= paddleMoveX && choco.x <= paddleMoveX + paddleWidth) {
-                choco.applyBonusEffect();
-                iterator.remove();
-            } else {
-                // Update the Y position to simulate falling
-                choco.y += fallSpeed;
-
-                Platform.runLater(() -> choco.bonusImage.setY(choco.y));
-            }
-        }
-    }
-
-    public BonusManager createBonus(int row, int column) {
-        return new BonusManager(row, column, this);
+    @Override
+    public void onGameOver() {
+        score.showGameOver(this);
+        engine.stop();
     }
 
     /**
-     * Callback method invoked by the game engine on every physics update.
-     * It handles the core physics calculations for the game, such as ball movement and collision detection.
+     * Handles the game progression once all blocks on the current level have been destroyed.
+     * This is a crucial part of the game's level management system: the player either advances
+     * to the next level or, after the last level of the level pack, wins the game.
      */
     @Override
-    public void onPhysicsUpdate() {
-        checkDestroyedCount();
-        setPhysicsToBall();
-        checkGoldStatus();
-    }
-
-    private void checkGoldStatus() {
-        if (isGoldStatus && (System.currentTimeMillis() - goldTime) > 5000) {
-            ball.setFill(new ImagePattern(new Image("/images/ball.png")));
-            isGoldStatus = false;
+    public void onLevelCleared() {
+        if (getLevel() >= LevelPack.getInstance().getLevelCount()) {
+            score.showYouWinScreen(this);
+        } else {
+            LevelManager levelManager = new LevelManager(this, primaryStage);
+            SoundManager.levelUp();
+            simulation.setLevel(getLevel() + 1);
+            levelManager.nextLevel();
         }
     }
 
@@ -827,7 +678,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      */
     @Override
     public void onTime(long time) {
-        this.time = time;
+        simulation.setTime(time);
     }
 
     /**
@@ -836,7 +687,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @return The current score.
      */
     public int getScore() {
-        return score;
+        return simulation.getScore();
     }
 
     /**
@@ -845,7 +696,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @param score The score to set.
      */
     public void setScore(int score) {
-        this.score = score;
+        simulation.setScore(score);
     }
 
     /**
@@ -861,7 +712,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @param level The level to be set for the game.
      */
     public void setLevel(int level) {
-        this.level = level;
+        simulation.setLevel(level);
     }
 
     /**
@@ -869,7 +720,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @param heart The number of hearts to be set.
      */
     public void setHeart(int heart) {
-        this.heart = heart;
+        simulation.setHeart(heart);
     }
 
     /**
@@ -880,7 +731,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @param ballVelocityX The new horizontal velocity for the ball. Positive values move the ball to the right, negative to the left.
      */
     public void setBallVelocityX(double ballVelocityX) {
-        this.ballVelocityX = ballVelocityX;
+        simulation.setBallVelocityX(ballVelocityX);
     }
 
     /**
@@ -890,7 +741,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @param destroyedBlockCount The total number of blocks destroyed so far in the game.
      */
     public void setDestroyedBlockCount(int destroyedBlockCount) {
-        this.destroyedBlockCount = destroyedBlockCount;
+        simulation.setDestroyedBlockCount(destroyedBlockCount);
     }
 
     /**
@@ -898,7 +749,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @param goDownBall True to set the ball to move downwards, false otherwise.
      */
     public void setGoDownBall(boolean goDownBall) {
-        this.goDownBall = goDownBall;
+        simulation.setGoDownBall(goDownBall);
     }
 
     /**
@@ -906,7 +757,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @param isGoldStatus True to activate 'Gold' mode, false to deactivate.
      */
     public void setIsGoldStatus(boolean isGoldStatus) {
-        this.isGoldStatus = isGoldStatus;
+        simulation.setGoldStatus(isGoldStatus);
     }
 
     /**
@@ -914,7 +765,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @param isExistHeartBlock True to indicate the presence of a heart block, false otherwise.
      */
     public void setIsExistHeartBlock(boolean isExistHeartBlock) {
-        this.isExistHeartBlock = isExistHeartBlock;
+        simulation.setExistHeartBlock(isExistHeartBlock);
     }
 
     /**
@@ -922,7 +773,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @param time The time to be set in the game.
      */
     public void setTime(long time) {
-        this.time = time;
+        simulation.setTime(time);
     }
 
     /**
@@ -930,23 +781,23 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @param goldTime The time to be set for when the golden time block was activated.
      */
     public void setGoldTime(long goldTime) {
-        this.goldTime = goldTime;
+        simulation.setGoldTime(goldTime);
     }
 
     /**
-     * Gets the list of blocks currently in the game.
-     * @return The list of Block objects.
+     * Gets the blocks currently in the game.
+     * @return The block store of the current level.
      */
-    public ArrayList<Block> getBlocks() {
-        return blocks;
+    public BlockStore getBlocks() {
+        return simulation.getBlocks();
     }
 
     /**
      * Gets the list of chocos (bonuses) currently in the game.
      * @return The list of Bonus objects.
      */
-    public ArrayList<BonusManager> getChocos() {
-        return chocos;
+    public ArrayList<Bonus> getChocos() {
+        return simulation.getBonuses();
     }
 
     /**
@@ -970,7 +821,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @return The current level of the game.
      */
     public int getLevel() {
-        return level;
+        return simulation.getLevel();
     }
 
     /**
@@ -991,7 +842,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @return True if a heart block exists in the current game level, false otherwise.
      */
     public boolean isHeartBlockExist() {
-        return isExistHeartBlock;
+        return simulation.isExistHeartBlock();
     }
 
     /**
@@ -1000,7 +851,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @param existHeartBlock The new status of the heart block existence.
      */
     public void setExistHeartBlock(boolean existHeartBlock) {
-        this.isExistHeartBlock = existHeartBlock;
+        simulation.setExistHeartBlock(existHeartBlock);
     }
 
     /**
@@ -1010,7 +861,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @param paddleMoveY The new Y position for the paddle. Should be within the game screen bounds.
      */
     public void setPaddleMoveY(float paddleMoveY) {
-        this.paddleMoveY = paddleMoveY;
+        simulation.setPaddleMoveY(paddleMoveY);
     }
 
     /**
@@ -1020,7 +871,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @return The width of the paddle in pixels.
      */
     public int getPaddleWidth() {
-        return paddleWidth;
+        return simulation.getPaddleWidth();
     }
 
     /**
@@ -1029,8 +880,10 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @param width The width to set for the paddle.
      */
     public void setPaddleWidth(int width) {
-        paddleWidth = width;
-        rect.setWidth(width);
+        simulation.setPaddleWidth(width);
+        if (rect != null) {
+            rect.setWidth(width);
+        }
     }
 
     /**
@@ -1039,7 +892,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @return The current X position of the paddle.
      */
     public double getPaddleMoveX() {
-        return paddleMoveX;
+        return simulation.getPaddleMoveX();
     }
 
     /**
@@ -1048,7 +901,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @param x The X position to set for the paddle.
      */
     public void setPaddleMoveX(double x) {
-        paddleMoveX = x;
+        simulation.setPaddleMoveX(x);
         if (rect != null) {
             rect.setX(x);
         }
@@ -1060,70 +913,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @return The original width of the paddle.
      */
     public int getOriginalPaddleWidth() {
-        return originalPaddleWidth;
-    }
-
-    /**
-     * Sets the original width of the paddle.
-     *
-     * @param width The original width of the paddle to set.
-     */
-    public void setOriginalPaddleWidth(int width) {
-        originalPaddleWidth = width;
-    }
-
-    /**
-     * Retrieves the time when the paddle width change occurred.
-     *
-     * @return The time of the last paddle width change.
-     */
-    public long getPaddleWidthChangeTime() {
-        return paddleWidthChangeTime;
-    }
-
-    /**
-     * Sets the time when the paddle width change occurred.
-     *
-     * @param time The time to set for the last paddle width change.
-     */
-    public void setPaddleWidthChangeTime(long time) {
-        paddleWidthChangeTime = time;
-    }
-
-    /**
-     * Retrieves the duration of the paddle width change.
-     *
-     * @return The duration of the paddle width change.
-     */
-    public long getPaddleWidthChangeDuration() {
-        return paddleWidthChangeDuration;
-    }
-
-    /**
-     * Sets the duration of the paddle width change.
-     *
-     * @param duration The duration to set for the paddle width change.
-     */
-    public void setPaddleWidthChangeDuration(long duration) {
-        paddleWidthChangeDuration = duration;
-    }
-
-    /**
-     * Checks if the paddle width has been changed.
-     *
-     * @return True if the paddle width has been changed, false otherwise.
-     */
-    public boolean isPaddleWidthChanged() {
-        return paddleWidthChanged;
-    }
-
-    /**
-     * Sets the status of the paddle width change.
-     *
-     * @param changed True if the paddle width has been changed, false otherwise.
-     */
-    public void setPaddleWidthChanged(boolean changed) {
-        paddleWidthChanged = changed;
+        return simulation.getOriginalPaddleWidth();
     }
 
     /**
@@ -1132,7 +922,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @return The current radius of the ball.
      */
     public double getBallRadius() {
-        return ball.getRadius();
+        return simulation.getBallRadius();
     }
 
     /**
@@ -1141,7 +931,10 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @param radius The radius to set for the ball.
      */
     public void setBallRadius(double radius) {
-        ball.setRadius(radius);
+        simulation.setBallRadius(radius);
+        if (ball != null) {
+            ball.setRadius(radius);
+        }
     }
 
     /**
@@ -1150,7 +943,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @return The current X position of the ball.
      */
     public double getBallPosX() {
-        return ball.getCenterX();
+        return simulation.getBallPosX();
     }
 
     /**
@@ -1159,9 +952,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @param posX The X position to set for the ball.
      */
     public void setBallPosX(double posX) {
-        if (ball != null) {
-            ball.setCenterX(posX);
-        }
+        simulation.setBallPosX(posX);
     }
 
     /**
@@ -1170,9 +961,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @param posY The Y position to set for the ball.
      */
     public void setBallPosY(double posY) {
-        if (ball != null) {
-            ball.setCenterY(posY);
-        }
+        simulation.setBallPosY(posY);
     }
 
     /**
@@ -1181,7 +970,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @return The current Y position of the ball.
      */
     public double getBallPosY() {
-        return ball.getCenterY();
+        return simulation.getBallPosY();
     }
 
     /**
@@ -1190,70 +979,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @return The original radius of the ball.
      */
     public double getOriginalBallRadius() {
-        return originalBallRadius;
-    }
-
-    /**
-     * Sets the original radius of the ball.
-     *
-     * @param radius The original radius to set for the ball.
-     */
-    public void setOriginalBallRadius(double radius) {
-        originalBallRadius = (int) radius;
-    }
-
-    /**
-     * Retrieves the time when the ball size change occurred.
-     *
-     * @return The time of the last ball size change.
-     */
-    public long getBallSizeChangeTime() {
-        return ballSizeChangeTime;
-    }
-
-    /**
-     * Sets the time when the ball size change occurred.
-     *
-     * @param time The time to set for the last ball size change.
-     */
-    public void setBallSizeChangeTime(long time) {
-        ballSizeChangeTime = time;
-    }
-
-    /**
-     * Retrieves the duration of the ball size change.
-     *
-     * @return The duration of the ball size change.
-     */
-    public long getBallSizeChangeDuration() {
-        return ballSizeChangeDuration;
-    }
-
-    /**
-     * Sets the duration of the ball size change.
-     *
-     * @param duration The duration to set for the ball size change.
-     */
-    public void setBallSizeChangeDuration(long duration) {
-        ballSizeChangeDuration = duration;
-    }
-
-    /**
-     * Checks if the ball size has been changed.
-     *
-     * @return True if the ball size has been changed, false otherwise.
-     */
-    public boolean isBallSizeChanged() {
-        return ballSizeChanged;
-    }
-
-    /**
-     * Sets the status of the ball size change.
-     *
-     * @param changed True if the ball size has been changed, false otherwise.
-     */
-    public void setBallSizeChanged(boolean changed) {
-        ballSizeChanged = changed;
+        return simulation.getOriginalBallRadius();
     }
 
     /**
@@ -1262,7 +988,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @return The current number of hearts.
      */
     public int getHeart() {
-        return heart;
+        return simulation.getHeart();
     }
 
     /**
@@ -1271,7 +997,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @return The count of destroyed blocks.
      */
     public int getDestroyedBlockCount() {
-        return destroyedBlockCount;
+        return simulation.getDestroyedBlockCount();
     }
 
     /**
@@ -1280,7 +1006,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @return The current Y position of the paddle.
      */
     public double getPaddleMoveY() {
-        return paddleMoveY;
+        return simulation.getPaddleMoveY();
     }
 
     /**
@@ -1289,7 +1015,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @return The X position of the center of the paddle break.
      */
     public double getCenterBreakX() {
-        return centerBreakX;
+        return simulation.getCenterBreakX();
     }
 
     /**
@@ -1298,7 +1024,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @return The current game time.
      */
     public long getTime() {
-        return time;
+        return simulation.getTime();
     }
 
     /**
@@ -1307,7 +1033,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @return The time when the golden time block was hit.
      */
     public long getGoldTime() {
-        return goldTime;
+        return simulation.getGoldTime();
     }
 
     /**
@@ -1316,7 +1042,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @return The X velocity of the ball.
      */
     public double getBallVelocityX() {
-        return ballVelocityX;
+        return simulation.getBallVelocityX();
     }
 
 // Boolean state variable getters
@@ -1327,7 +1053,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @return True if a heart block exists, false otherwise.
      */
     public boolean isExistHeartBlock() {
-        return isExistHeartBlock;
+        return simulation.isExistHeartBlock();
     }
 
     /**
@@ -1337,7 +1063,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @return True if the game is in 'Gold' mode, false otherwise.
      */
     public boolean isGoldStatus() {
-        return isGoldStatus;
+        return simulation.isGoldStatus();
     }
 
     /**
@@ -1346,7 +1072,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @return True if the ball is moving down, false otherwise.
      */
     public boolean isGoDownBall() {
-        return goDownBall;
+        return simulation.isGoDownBall();
     }
 
     /**
@@ -1355,7 +1081,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @return True if the ball is moving right, false otherwise.
      */
     public boolean isGoRightBall() {
-        return goRightBall;
+        return simulation.isGoRightBall();
     }
 
     /**
@@ -1364,7 +1090,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @return True if there is a collision leading to a break, false otherwise.
      */
     public boolean isCollideToBreak() {
-        return collideToBreak;
+        return simulation.isCollideToBreak();
     }
 
     /**
@@ -1373,7 +1099,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @return True if there is such a collision, false otherwise.
      */
     public boolean isCollideToBreakAndMoveToRight() {
-        return collideToBreakAndMoveToRight;
+        return simulation.isCollideToBreakAndMoveToRight();
     }
 
     /**
@@ -1382,7 +1108,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @return True if there is a collision with the right wall, false otherwise.
      */
     public boolean isCollideToRightWall() {
-        return collideToRightWall;
+        return simulation.isCollideToRightWall();
     }
 
     /**
@@ -1391,7 +1117,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @return True if there is a collision with the left wall, false otherwise.
      */
     public boolean isCollideToLeftWall() {
-        return collideToLeftWall;
+        return simulation.isCollideToLeftWall();
     }
 
     /**
@@ -1400,7 +1126,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @return True if there is a collision with a right block, false otherwise.
      */
     public boolean isCollideToRightBlock() {
-        return collideToRightBlock;
+        return simulation.isCollideToRightBlock();
     }
 
     /**
@@ -1409,7 +1135,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @return True if there is a collision with a bottom block, false otherwise.
      */
     public boolean isCollideToBottomBlock() {
-        return collideToBottomBlock;
+        return simulation.isCollideToBottomBlock();
     }
 
     /**
@@ -1418,7 +1144,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @return True if there is a collision with a left block, false otherwise.
      */
     public boolean isCollideToLeftBlock() {
-        return collideToLeftBlock;
+        return simulation.isCollideToLeftBlock();
     }
 
     /**
@@ -1427,7 +1153,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @return True if there is a collision with a top block, false otherwise.
      */
     public boolean isCollideToTopBlock() {
-        return collideToTopBlock;
+        return simulation.isCollideToTopBlock();
     }
 
     /**
@@ -1446,7 +1172,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @param goRightBall True to make the ball move to the right, false for moving it to the left.
      */
     public void setGoRightBall(boolean goRightBall) {
-        this.goRightBall = goRightBall;
+        simulation.setGoRightBall(goRightBall);
     }
 
     /**
@@ -1455,7 +1181,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @param collideToBreak True if there is a collision leading to a break, false otherwise.
      */
     public void setCollideToBreak(boolean collideToBreak) {
-        this.collideToBreak = collideToBreak;
+        simulation.setCollideToBreak(collideToBreak);
     }
 
     /**
@@ -1464,7 +1190,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @param collideToBreakAndMoveToRight True if there is such a collision, false otherwise.
      */
     public void setCollideToBreakAndMoveToRight(boolean collideToBreakAndMoveToRight) {
-        this.collideToBreakAndMoveToRight = collideToBreakAndMoveToRight;
+        simulation.setCollideToBreakAndMoveToRight(collideToBreakAndMoveToRight);
     }
 
     /**
@@ -1474,7 +1200,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @param collideToRightWall True to indicate a collision with the right wall, false otherwise.
      */
     public void setCollideToRightWall(boolean collideToRightWall) {
-        this.collideToRightWall = collideToRightWall;
+        simulation.setCollideToRightWall(collideToRightWall);
     }
 
     /**
@@ -1484,7 +1210,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @param collideToLeftWall True to indicate a collision with the left wall, false otherwise.
      */
     public void setCollideToLeftWall(boolean collideToLeftWall) {
-        this.collideToLeftWall = collideToLeftWall;
+        simulation.setCollideToLeftWall(collideToLeftWall);
     }
 
     /**
@@ -1494,7 +1220,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @param collideToRightBlock True if the ball collides with a block on the right, false otherwise.
      */
     public void setCollideToRightBlock(boolean collideToRightBlock) {
-        this.collideToRightBlock = collideToRightBlock;
+        simulation.setCollideToRightBlock(collideToRightBlock);
     }
 
     /**
@@ -1504,7 +1230,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @param collideToBottomBlock True to indicate a collision with a block at the bottom, false otherwise.
      */
     public void setCollideToBottomBlock(boolean collideToBottomBlock) {
-        this.collideToBottomBlock = collideToBottomBlock;
+        simulation.setCollideToBottomBlock(collideToBottomBlock);
     }
 
     /**
@@ -1514,7 +1240,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @param collideToLeftBlock True if the ball collides with a block on the left, false otherwise.
      */
     public void setCollideToLeftBlock(boolean collideToLeftBlock) {
-        this.collideToLeftBlock = collideToLeftBlock;
+        simulation.setCollideToLeftBlock(collideToLeftBlock);
     }
 
     /**
@@ -1524,7 +1250,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @param collideToTopBlock True if there is a collision with a top block, false otherwise.
      */
     public void setCollideToTopBlock(boolean collideToTopBlock) {
-        this.collideToTopBlock = collideToTopBlock;
+        simulation.setCollideToTopBlock(collideToTopBlock);
     }
 
     /**
@@ -1534,7 +1260,7 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * @param centerBreakX The X-coordinate of the paddle's center breaking point.
      */
     public void setCenterBreakX(double centerBreakX) {
-        this.centerBreakX = centerBreakX;
+        simulation.setCenterBreakX(centerBreakX);
     }
 
 
@@ -1562,4 +1288,22 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
     protected GameEngine getGameEngine() {
         return engine;
     }
-}
\ No newline at end of file
+
+    /**
+     * Retrieves the simulation that holds the state of the current game.
+     *
+     * @return The GameSimulation presented by this Main instance.
+     */
+    public GameSimulation getSimulation() {
+        return simulation;
+    }
+
+    /**
+     * Retrieves the recorder of the current session.
+     *
+     * @return The ReplayRecorder of this Main instance.
+     */
+    public ReplayRecorder getReplayRecorder() {
+        return replayRecorder;
+    }
+}
@@ -0,0 +1,115 @@
+package com.brickbreakergame;
+
+import com.brickbreakergame.simulation.GameSimulation;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Hands render frames from the simulation thread to the JavaFX application thread without locking.
+ * The simulation records events into its back frame during a tick and publishes it once at the end of the tick.
+ * The JavaFX pulse then takes the most recently published frame, if there is a new one, and applies it.
+ * <p>
+ * Every frame is owned by exactly one side at a time, and ownership only moves through atomic swaps of the
+ * published and free slots. A frame is never modified after it has been published, so the view always sees
+ * one complete tick, never a mix of two. If the view falls behind, the simulation takes its unread frame back,
+ * appends the new events to it and publishes it again with the new state, so no event is lost and the amount
+ * of pending work stays bounded no matter how many ticks run between two pulses.
+ */
+public class RenderBuffer {
+    private final AtomicReference<RenderFrame> published = new AtomicReference<>();
+    private final AtomicReference<RenderFrame> free = new AtomicReference<>(new RenderFrame());
+    private RenderFrame back = new RenderFrame();  // Owned by the simulation thread
+    private RenderFrame front = new RenderFrame(); // Owned by the JavaFX application thread
+    private volatile long coalescedFrames = 0;     // Written by the simulation thread only
+
+    /**
+     * Returns the frame that collects the events of the tick in progress.
+     * This method must only be called on the thread that steps the simulation.
+     *
+     * @return The back frame.
+     */
+    public RenderFrame getBackFrame() {
+        return back;
+    }
+
+    /**
+     * Publishes the tick that has just finished, together with the events recorded in the back frame.
+     * This method must only be called on the thread that steps the simulation.
+     *
+     * @param simulation The simulation whose state is published.
+     */
+    public void publish(GameSimulation simulation) {
+        RenderFrame frame = back;
+        RenderFrame spare;
+        RenderFrame unread = published.getAndSet(null);
+        if (unread != null) {
+            // The view has not taken the previous frame yet: keep its events first
+            unread.appendEvents(back);
+            back.clearEvents();
+            frame = unread;
+            spare = back;
+            coalescedFrames++;
+        } else {
+            spare = free.getAndSet(null);
+            if (spare == null) {
+                // The view is between taking a frame and returning its old one
+                spare = new RenderFrame();
+            }
+        }
+
+        frame.captureState(simulation);
+        published.set(frame);
+        back = spare;
+    }
+
+    /**
+     * Takes the most recently published frame, if one has been published since the last call.
+     * The returned frame stays valid as the front frame until the next successful call.
+     * This method must only be called on the JavaFX application thread.
+     *
+     * @return The new front frame, or null if nothing new has been published.
+     */
+    public RenderFrame acquire() {
+        RenderFrame frame = published.getAndSet(null);
+        if (frame == null) {
+            return null;
+        }
+        front.clearEvents();
+        free.set(front);
+        front = frame;
+        return front;
+    }
+
+    /**
+     * Returns the last frame taken by the view, for drawing between two published ticks.
+     * This method must only be called on the JavaFX application thread.
+     *
+     * @return The front frame.
+     */
+    public RenderFrame getFrontFrame() {
+        return front;
+    }
+
+    /**
+     * Returns how many published frames were replaced by a newer one before the view took them,
+     * which counts the ticks the view never got to draw.
+     *
+     * @return The number of coalesced frames.
+     */
+    public long getCoalescedFrameCount() {
+        return coalescedFrames;
+    }
+
+    /**
+     * Discards every pending frame and event and starts over from the current state of the simulation,
+     * for example when a new level is set up. The simulation must not be running while this is called.
+     *
+     * @param simulation The simulation whose state becomes the front frame.
+     */
+    public void reset(GameSimulation simulation) {
+        published.set(null);
+        back.clearEvents();
+        front.clearEvents();
+        front.captureState(simulation);
+    }
+}
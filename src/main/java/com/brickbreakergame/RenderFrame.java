@@ -0,0 +1,393 @@
+package com.brickbreakergame;
+
+import com.brickbreakergame.simulation.Bonus;
+import com.brickbreakergame.simulation.GameSimulation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Holds everything the JavaFX view needs to draw one simulation tick.
+ * A frame has two parts: a copy of the game state that the view draws, such as the ball, the paddle,
+ * the labels and the falling bonuses, and the events that happened since the previous frame, such as
+ * destroyed blocks and score pop-ups. The state is overwritten by every tick, while events accumulate
+ * until the view has applied them, so a slow frame never loses an event.
+ * Frames are reused by the {@link RenderBuffer} and grow their arrays as needed, so publishing a tick does
+ * not allocate once the game is running.
+ */
+public class RenderFrame {
+    private static final int INITIAL_CAPACITY = 16;
+
+    // Game state
+    private double ballPosX;
+    private double ballPosY;
+    private double previousBallPosX;
+    private double previousBallPosY;
+    private double ballRadius;
+    private double paddleMoveX;
+    private double paddleMoveY;
+    private int paddleWidth;
+    private int score;
+    private int heart;
+    private boolean goldStatus;
+
+    // Falling bonuses
+    private Bonus[] bonuses = new Bonus[INITIAL_CAPACITY];
+    private double[] bonusXs = new double[INITIAL_CAPACITY];
+    private double[] bonusYs = new double[INITIAL_CAPACITY];
+    private int bonusCount;
+
+    // Events since the previous frame
+    private int[] destroyedBlocks = new int[INITIAL_CAPACITY];
+    private int destroyedBlockCount;
+    private double[] popupXs = new double[INITIAL_CAPACITY];
+    private double[] popupYs = new double[INITIAL_CAPACITY];
+    private int[] popupValues = new int[INITIAL_CAPACITY];
+    private int popupCount;
+    private final ArrayList<Bonus> collectedBonuses = new ArrayList<>();
+    private int heartsLost;
+    private int heartsGained;
+
+    /**
+     * Copies the drawable state of the simulation into this frame. Events are left untouched.
+     * This method must be called on the thread that steps the simulation.
+     *
+     * @param simulation The simulation to copy.
+     */
+    public void captureState(GameSimulation simulation) {
+        ballPosX = simulation.getBallPosX();
+        ballPosY = simulation.getBallPosY();
+        previousBallPosX = simulation.getPreviousBallPosX();
+        previousBallPosY = simulation.getPreviousBallPosY();
+        ballRadius = simulation.getBallRadius();
+        paddleMoveX = simulation.getPaddleMoveX();
+        paddleMoveY = simulation.getPaddleMoveY();
+        paddleWidth = simulation.getPaddleWidth();
+        score = simulation.getScore();
+        heart = simulation.getHeart();
+        goldStatus = simulation.isGoldStatus();
+
+        List<Bonus> falling = simulation.getBonuses();
+        bonusCount = 0;
+        if (bonuses.length < falling.size()) {
+            int capacity = Math.max(falling.size(), bonuses.length * 2);
+            bonuses = new Bonus[capacity];
+            bonusXs = new double[capacity];
+            bonusYs = new double[capacity];
+        }
+        for (Bonus bonus : falling) {
+            bonuses[bonusCount] = bonus;
+            bonusXs[bonusCount] = bonus.x;
+            bonusYs[bonusCount] = bonus.y;
+            bonusCount++;
+        }
+        Arrays.fill(bonuses, bonusCount, bonuses.length, null);
+    }
+
+    /**
+     * Records a block destroyed during this frame.
+     *
+     * @param blockIndex The index of the destroyed block.
+     */
+    public void addDestroyedBlock(int blockIndex) {
+        if (destroyedBlockCount == destroyedBlocks.length) {
+            destroyedBlocks = Arrays.copyOf(destroyedBlocks, destroyedBlocks.length * 2);
+        }
+        destroyedBlocks[destroyedBlockCount++] = blockIndex;
+    }
+
+    /**
+     * Records a score pop-up to be shown at a position on the screen.
+     *
+     * @param x     The x-coordinate of the pop-up.
+     * @param y     The y-coordinate of the pop-up.
+     * @param value The score change to display.
+     */
+    public void addScorePopup(double x, double y, int value) {
+        if (popupCount == popupValues.length) {
+            int capacity = popupValues.length * 2;
+            popupXs = Arrays.copyOf(popupXs, capacity);
+            popupYs = Arrays.copyOf(popupYs, capacity);
+            popupValues = Arrays.copyOf(popupValues, capacity);
+        }
+        popupXs[popupCount] = x;
+        popupYs[popupCount] = y;
+        popupValues[popupCount] = value;
+        popupCount++;
+    }
+
+    /**
+     * Records a bonus caught by the paddle during this frame.
+     *
+     * @param bonus The collected bonus.
+     */
+    public void addCollectedBonus(Bonus bonus) {
+        collectedBonuses.add(bonus);
+    }
+
+    /**
+     * Records the loss of a heart during this frame.
+     */
+    public void addHeartLost() {
+        heartsLost++;
+    }
+
+    /**
+     * Records an extra heart gained during this frame.
+     */
+    public void addHeartGained() {
+        heartsGained++;
+    }
+
+    /**
+     * Appends the events of another frame after the events of this one, keeping their order.
+     *
+     * @param other The frame whose events are appended.
+     */
+    public void appendEvents(RenderFrame other) {
+        for (int i = 0; i < other.destroyedBlockCount; i++) {
+            addDestroyedBlock(other.destroyedBlocks[i]);
+        }
+        for (int i = 0; i < other.popupCount; i++) {
+            addScorePopup(other.popupXs[i], other.popupYs[i], other.popupValues[i]);
+        }
+        collectedBonuses.addAll(other.collectedBonuses);
+        heartsLost += other.heartsLost;
+        heartsGained += other.heartsGained;
+    }
+
+    /**
+     * Forgets every event recorded in this frame, once they have been applied to the view.
+     */
+    public void clearEvents() {
+        destroyedBlockCount = 0;
+        popupCount = 0;
+        collectedBonuses.clear();
+        heartsLost = 0;
+        heartsGained = 0;
+    }
+
+    /**
+     * Returns the X position of the ball after the tick.
+     *
+     * @return The X position of the ball.
+     */
+    public double getBallPosX() {
+        return ballPosX;
+    }
+
+    /**
+     * Returns the Y position of the ball after the tick.
+     *
+     * @return The Y position of the ball.
+     */
+    public double getBallPosY() {
+        return ballPosY;
+    }
+
+    /**
+     * Returns the X position of the ball before the tick, used to interpolate rendering.
+     *
+     * @return The previous X position of the ball.
+     */
+    public double getPreviousBallPosX() {
+        return previousBallPosX;
+    }
+
+    /**
+     * Returns the Y position of the ball before the tick, used to interpolate rendering.
+     *
+     * @return The previous Y position of the ball.
+     */
+    public double getPreviousBallPosY() {
+        return previousBallPosY;
+    }
+
+    /**
+     * Returns the radius of the ball.
+     *
+     * @return The radius of the ball.
+     */
+    public double getBallRadius() {
+        return ballRadius;
+    }
+
+    /**
+     * Returns the X position of the paddle.
+     *
+     * @return The X position of the paddle.
+     */
+    public double getPaddleMoveX() {
+        return paddleMoveX;
+    }
+
+    /**
+     * Returns the Y position of the paddle.
+     *
+     * @return The Y position of the paddle.
+     */
+    public double getPaddleMoveY() {
+        return paddleMoveY;
+    }
+
+    /**
+     * Returns the width of the paddle.
+     *
+     * @return The width of the paddle in pixels.
+     */
+    public int getPaddleWidth() {
+        return paddleWidth;
+    }
+
+    /**
+     * Returns the score.
+     *
+     * @return The score.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Returns the number of hearts (lives) remaining.
+     *
+     * @return The number of hearts.
+     */
+    public int getHeart() {
+        return heart;
+    }
+
+    /**
+     * Checks whether the golden ball is active.
+     *
+     * @return True if the golden ball is active, false otherwise.
+     */
+    public boolean isGoldStatus() {
+        return goldStatus;
+    }
+
+    /**
+     * Returns the number of falling bonuses.
+     *
+     * @return The number of bonuses.
+     */
+    public int getBonusCount() {
+        return bonusCount;
+    }
+
+    /**
+     * Returns a falling bonus.
+     *
+     * @param i The index of the bonus, below {@link #getBonusCount()}.
+     * @return The bonus.
+     */
+    public Bonus getBonus(int i) {
+        return bonuses[i];
+    }
+
+    /**
+     * Returns the X position of a falling bonus.
+     *
+     * @param i The index of the bonus, below {@link #getBonusCount()}.
+     * @return The X position of the bonus.
+     */
+    public double getBonusX(int i) {
+        return bonusXs[i];
+    }
+
+    /**
+     * Returns the Y position of a falling bonus.
+     *
+     * @param i The index of the bonus, below {@link #getBonusCount()}.
+     * @return The Y position of the bonus.
+     */
+    public double getBonusY(int i) {
+        return bonusYs[i];
+    }
+
+    /**
+     * Returns the number of blocks destroyed since the previous frame.
+     *
+     * @return The number of destroyed blocks.
+     */
+    public int getDestroyedBlockCount() {
+        return destroyedBlockCount;
+    }
+
+    /**
+     * Returns a block destroyed since the previous frame.
+     *
+     * @param i The index of the event, below {@link #getDestroyedBlockCount()}.
+     * @return The index of the block in the block store.
+     */
+    public int getDestroyedBlock(int i) {
+        return destroyedBlocks[i];
+    }
+
+    /**
+     * Returns the number of score pop-ups since the previous frame.
+     *
+     * @return The number of pop-ups.
+     */
+    public int getPopupCount() {
+        return popupCount;
+    }
+
+    /**
+     * Returns the X position of a score pop-up.
+     *
+     * @param i The index of the pop-up, below {@link #getPopupCount()}.
+     * @return The X position of the pop-up.
+     */
+    public double getPopupX(int i) {
+        return popupXs[i];
+    }
+
+    /**
+     * Returns the Y position of a score pop-up.
+     *
+     * @param i The index of the pop-up, below {@link #getPopupCount()}.
+     * @return The Y position of the pop-up.
+     */
+    public double getPopupY(int i) {
+        return popupYs[i];
+    }
+
+    /**
+     * Returns the points shown by a score pop-up.
+     *
+     * @param i The index of the pop-up, below {@link #getPopupCount()}.
+     * @return The points.
+     */
+    public int getPopupValue(int i) {
+        return popupValues[i];
+    }
+
+    /**
+     * Returns the bonuses collected since the previous frame.
+     *
+     * @return The collected bonuses.
+     */
+    public List<Bonus> getCollectedBonuses() {
+        return collectedBonuses;
+    }
+
+    /**
+     * Returns the number of hearts lost since the previous frame.
+     *
+     * @return The number of hearts lost.
+     */
+    public int getHeartsLost() {
+        return heartsLost;
+    }
+
+    /**
+     * Returns the number of hearts gained since the previous frame.
+     *
+     * @return The number of hearts gained.
+     */
+    public int getHeartsGained() {
+        return heartsGained;
+    }
+}
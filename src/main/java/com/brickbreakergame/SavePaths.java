@@ -0,0 +1,13 @@
+package com.brickbreakergame;
+
+/**
+ * Holds the locations of the files the game writes: save slots, replays and the event log.
+ * It has no JavaFX dependency, so the simulation and logging code can use it without the view.
+ */
+public final class SavePaths {
+    public static final String SAVE_PATH = "./save/save.mdds";
+    public static final String SAVE_PATH_DIR = "./save/";
+
+    private SavePaths() {
+    }
+}
@@ -7,7 +7,9 @@ import javafx.animation.FadeTransition;
 import javafx.animation.ScaleTransition;
 import javafx.animation.SequentialTransition;
 import javafx.application.Platform;
+import javafx.scene.Node;
 import javafx.scene.control.Label;
+import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
 import javafx.util.Duration;
@@ -16,27 +18,48 @@ import javafx.util.Duration;
  * The Score class is dedicated to the presentation and animation of score-related elements within the game.
  * This class offers functionalities for displaying score updates, in-game notifications, and executing associated animations,
  * thereby enhancing the user experience with visual feedback on game events.
+ * The floating score labels and the flash overlay are pooled: a fixed number of labels and their animations are
+ * created once and reused in turn, and every node is taken off the root pane as soon as its animation finishes.
  */
 public class Score {
 
     private static final Duration ANIMATION_DURATION = Duration.millis(200);
+    private static final int POPUP_POOL_SIZE = 32;
     private final Main main;
+    private final ScorePopup[] popups = new ScorePopup[POPUP_POOL_SIZE];
+    private int nextPopup = 0;
+    private Rectangle flash;
+    private FadeTransition flashTransition;
 
     /**
-     * Constructs and styles a label for displaying text within the game's graphical interface.
-     * This method creates a label with specified content and positions it at provided coordinates.
-     *
-     * @param text The textual content to be displayed on the label.
-     * @param x    The X-coordinate of the label's desired position.
-     * @param y    The Y-coordinate of the label's desired position.
-     * @return A configured and styled {@code Label} object.
+     * The ScorePopup class holds a reusable floating score label and its animation.
      */
-    private Label createStyledLabel(String text, double x, double y) {
-        Label label = new Label(text);
-        label.setTranslateX(x);
-        label.setTranslateY(y);
-        label.getStyleClass().add("score-label");
-        return label;
+    private static final class ScorePopup {
+        private final Label label = new Label();
+        private final SequentialTransition animation;
+
+        /**
+         * Constructs a score label and its animation, which takes the label off its parent when it finishes.
+         */
+        private ScorePopup() {
+            label.getStyleClass().add("score-label"); // Apply CSS class "score-label"
+            label.setMouseTransparent(true);
+
+            ScaleTransition scaleTransition = new ScaleTransition(ANIMATION_DURATION, label);
+            scaleTransition.setFromX(0.5);
+            scaleTransition.setFromY(0.5);
+            scaleTransition.setToX(1.5);
+            scaleTransition.setToY(1.5);
+
+            FadeTransition fadeTransition = new FadeTransition(ANIMATION_DURATION, label);
+            fadeTransition.setFromValue(0.0);
+            fadeTransition.setToValue(1.0);
+            fadeTransition.setCycleCount(2);
+            fadeTransition.setAutoReverse(true);
+
+            animation = new SequentialTransition(label, scaleTransition, fadeTransition);
+            animation.setOnFinished(event -> removeFromParent(label));
+        }
     }
 
     /**
@@ -51,32 +74,41 @@ public class Score {
     /**
      * Displays an animated score update at the specified screen coordinates.
      * This method animates a score increment or decrement at the point of a game event, such as block destruction.
+     * It must be called on the JavaFX application thread.
      *
      * @param x     The X-coordinate for the animation's screen position.
      * @param y     The Y-coordinate for the animation's screen position.
      * @param score The score value to be displayed in the animation.
-     * @param main  The Main instance of the game, used for graphical context.
      */
-    public void show(final double x, final double y, int score, final Main main) {
-        String sign = score >= 0 ? "+" : "";
-        final Label label = createStyledLabel(sign + score, x, y); // Apply CSS class "score-label"
-
-        Platform.runLater(() -> main.root.getChildren().add(label));
-
-        ScaleTransition scaleTransition = new ScaleTransition(ANIMATION_DURATION, label);
-        scaleTransition.setFromX(0.5);
-        scaleTransition.setFromY(0.5);
-        scaleTransition.setToX(1.5);
-        scaleTransition.setToY(1.5);
-
-        FadeTransition fadeTransition = new FadeTransition(ANIMATION_DURATION, label);
-        fadeTransition.setFromValue(0.0);
-        fadeTransition.setToValue(1.0);
-        fadeTransition.setCycleCount(2);
-        fadeTransition.setAutoReverse(true);
-
-        SequentialTransition sequentialTransition = new SequentialTransition(label, scaleTransition, fadeTransition);
-        sequentialTransition.play();
+    public void show(final double x, final double y, int score) {
+        // The pool is used in turn, so when every label is busy the oldest one is restarted
+        ScorePopup popup = popups[nextPopup];
+        if (popup == null) {
+            popup = new ScorePopup();
+            popups[nextPopup] = popup;
+        }
+        nextPopup = (nextPopup + 1) % POPUP_POOL_SIZE;
+
+        popup.animation.stop();
+        popup.label.setText(score >= 0 ? "+" + score : Integer.toString(score));
+        popup.label.setTranslateX(x);
+        popup.label.setTranslateY(y);
+        if (popup.label.getParent() != main.getRoot()) {
+            removeFromParent(popup.label);
+            main.getRoot().getChildren().add(popup.label);
+        }
+        popup.animation.playFromStart();
+    }
+
+    /**
+     * Takes a node off the pane it was added to, if any.
+     *
+     * @param node The node to remove.
+     */
+    private static void removeFromParent(Node node) {
+        if (node.getParent() instanceof Pane) {
+            ((Pane) node.getParent()).getChildren().remove(node);
+        }
     }
 
     /**
@@ -125,16 +157,26 @@ public class Score {
      * This method is typically used for dramatic effect in response to significant game events.
      */
     public void showMessage() {
-        Rectangle flash = new Rectangle(0, 0, main.getPrimaryStage().getWidth(), main.getPrimaryStage().getHeight());
-        flash.setFill(Color.WHITE); // Set color of the flash
-        Platform.runLater(() -> main.getRoot().getChildren().add(flash));
-
-        // Fade out effect for the flash
-        FadeTransition fadeTransition = new FadeTransition(Duration.seconds(0.5), flash);
-        fadeTransition.setFromValue(1.0);
-        fadeTransition.setToValue(0.0);
-        fadeTransition.setOnFinished(event -> main.getRoot().getChildren().remove(flash));
-        fadeTransition.play();
+        if (flash == null) {
+            flash = new Rectangle();
+            flash.setFill(Color.WHITE); // Set color of the flash
+            flash.setMouseTransparent(true);
+
+            // Fade out effect for the flash
+            flashTransition = new FadeTransition(Duration.seconds(0.5), flash);
+            flashTransition.setFromValue(1.0);
+            flashTransition.setToValue(0.0);
+            flashTransition.setOnFinished(event -> removeFromParent(flash));
+        }
+        flash.setWidth(main.getPrimaryStage().getWidth());
+        flash.setHeight(main.getPrimaryStage().getHeight());
+        Platform.runLater(() -> {
+            if (flash.getParent() != main.getRoot()) {
+                removeFromParent(flash);
+                main.getRoot().getChildren().add(flash);
+            }
+            flashTransition.playFromStart();
+        });
     }
 
 }
@@ -0,0 +1,419 @@
+package com.brickbreakergame.logging;
+
+import com.brickbreakergame.SavePaths;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Records game events and errors without blocking the thread that reports them.
+ * Events are written into a fixed ring of preallocated slots that hold their type and primitive arguments, so
+ * reporting a game event is a few array writes, with no allocation, no formatting and no I/O. A background thread
+ * drains the ring, formats the events and appends them to a rolling log file in the save directory; errors are
+ * also printed to the console from that thread.
+ * <p>
+ * Any thread may report events. When the ring is full, because the drainer cannot keep up, new events are counted
+ * and dropped rather than making the reporting thread wait; the number of dropped events is written to the log
+ * once there is room again.
+ */
+public class EventLog {
+    private static final int CAPACITY = 4096;
+    private static final int MASK = CAPACITY - 1;
+    private static final long IDLE_PARK_NANOS = 20_000_000L;
+    private static final long MAX_FILE_BYTES = 1024 * 1024;
+    private static final int MAX_FILES = 3;
+    private static final String LOG_DIR = "logs";
+    private static final String LOG_NAME = "events";
+    private static final String LOG_EXTENSION = ".log";
+    private static final DateTimeFormatter TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+    private static final BonusEffect[] BONUS_EFFECTS = BonusEffect.values();
+    private static EventLog instance;
+
+    /**
+     * The types of events that can be logged.
+     */
+    public enum Type {
+        BLOCK_DESTROYED, BONUS_APPLIED, HEART_LOST, LEVEL_CHANGED, INFO, ERROR
+    }
+
+    /**
+     * The effects a collected bonus can have.
+     */
+    public enum BonusEffect {
+        PADDLE_WIDTH, SCORE, BALL_SIZE
+    }
+
+    // The ring: one entry per slot in each array
+    private final AtomicLongArray published = new AtomicLongArray(CAPACITY);
+    private final Type[] types = new Type[CAPACITY];
+    private final long[] timestamps = new long[CAPACITY];
+    private final long[] gameTimes = new long[CAPACITY];
+    private final long[] firstArguments = new long[CAPACITY];
+    private final long[] secondArguments = new long[CAPACITY];
+    private final long[] thirdArguments = new long[CAPACITY];
+    private final long[] fourthArguments = new long[CAPACITY];
+    private final String[] messages = new String[CAPACITY];
+    private final Throwable[] errors = new Throwable[CAPACITY];
+
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    // Owned by whichever thread holds the lock of this log while draining
+    private final Path logPath;
+    private final StringBuilder line = new StringBuilder(256);
+    private BufferedWriter writer;
+    private long fileBytes;
+    private long reportedDropped = 0;
+
+    /**
+     * Returns the event log of the application, starting its drainer thread on first use.
+     *
+     * @return The EventLog instance.
+     */
+    public static synchronized EventLog getInstance() {
+        if (instance == null) {
+            instance = new EventLog(Paths.get(SavePaths.SAVE_PATH_DIR, LOG_DIR, LOG_NAME + LOG_EXTENSION));
+            instance.start();
+        }
+        return instance;
+    }
+
+    /**
+     * Constructs an EventLog that writes to the given file. The log only drains once it is started.
+     *
+     * @param logPath The current log file; older files are kept next to it.
+     */
+    private EventLog(Path logPath) {
+        this.logPath = logPath;
+    }
+
+    /**
+     * Starts the drainer thread, and makes sure pending events are written when the application exits.
+     */
+    private void start() {
+        Thread drainer = new Thread(this::drainLoop, "event-log");
+        drainer.setDaemon(true);
+        drainer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "event-log-flush"));
+    }
+
+    /**
+     * Logs a block destroyed by the ball.
+     *
+     * @param gameTime   The game time of the event, in milliseconds.
+     * @param blockIndex The index of the destroyed block.
+     * @param score      The score after the block was destroyed.
+     */
+    public void blockDestroyed(long gameTime, int blockIndex, int score) {
+        long sequence = claim();
+        if (sequence >= 0) {
+            int slot = (int) sequence & MASK;
+            firstArguments[slot] = blockIndex;
+            secondArguments[slot] = score;
+            publish(sequence, Type.BLOCK_DESTROYED, gameTime);
+        }
+    }
+
+    /**
+     * Logs the effect of a collected bonus. For the score effect the values are the points awarded and the new
+     * score; for the size effects they are the size before and after the change.
+     *
+     * @param gameTime The game time of the event, in milliseconds.
+     * @param effect   The effect of the bonus.
+     * @param oldValue The value before the bonus.
+     * @param newValue The value after the bonus.
+     * @param duration How long the effect lasts, in milliseconds, or 0 if it is permanent.
+     */
+    public void bonusApplied(long gameTime, BonusEffect effect, double oldValue, double newValue, long duration) {
+        long sequence = claim();
+        if (sequence >= 0) {
+            int slot = (int) sequence & MASK;
+            firstArguments[slot] = effect.ordinal();
+            secondArguments[slot] = Double.doubleToRawLongBits(oldValue);
+            thirdArguments[slot] = Double.doubleToRawLongBits(newValue);
+            fourthArguments[slot] = duration;
+            publish(sequence, Type.BONUS_APPLIED, gameTime);
+        }
+    }
+
+    /**
+     * Logs a heart lost when the ball fell past the paddle.
+     *
+     * @param gameTime The game time of the event, in milliseconds.
+     * @param hearts   The hearts left.
+     */
+    public void heartLost(long gameTime, int hearts) {
+        long sequence = claim();
+        if (sequence >= 0) {
+            firstArguments[(int) sequence & MASK] = hearts;
+            publish(sequence, Type.HEART_LOST, gameTime);
+        }
+    }
+
+    /**
+     * Logs the start of a level, either a new one or one loaded from a save.
+     *
+     * @param level  The level.
+     * @param score  The score at the start of the level.
+     * @param hearts The hearts at the start of the level.
+     * @param loaded True if the level was loaded from a save, false otherwise.
+     */
+    public void levelChanged(int level, int score, int hearts, boolean loaded) {
+        long sequence = claim();
+        if (sequence >= 0) {
+            int slot = (int) sequence & MASK;
+            firstArguments[slot] = level;
+            secondArguments[slot] = score;
+            thirdArguments[slot] = hearts;
+            fourthArguments[slot] = loaded ? 1 : 0;
+            publish(sequence, Type.LEVEL_CHANGED, 0);
+        }
+    }
+
+    /**
+     * Logs an informational message.
+     *
+     * @param message The message.
+     */
+    public void info(String message) {
+        log(Type.INFO, message, null);
+    }
+
+    /**
+     * Logs an error. The error is also printed to the console, but by the drainer thread.
+     *
+     * @param message The description of what failed.
+     * @param error   The exception that caused the error, or null. Its stack trace is logged.
+     */
+    public void error(String message, Throwable error) {
+        log(Type.ERROR, message, error);
+    }
+
+    /**
+     * Logs a message event.
+     */
+    private void log(Type type, String message, Throwable error) {
+        long sequence = claim();
+        if (sequence >= 0) {
+            int slot = (int) sequence & MASK;
+            messages[slot] = message;
+            errors[slot] = error;
+            publish(sequence, type, 0);
+        }
+    }
+
+    /**
+     * Claims the next slot of the ring.
+     *
+     * @return The sequence number of the claimed slot, or -1 if the ring is full and the event is dropped.
+     */
+    private long claim() {
+        while (true) {
+            long sequence = head.get();
+            if (sequence - tail.get() >= CAPACITY) {
+                dropped.incrementAndGet();
+                return -1;
+            }
+            if (head.compareAndSet(sequence, sequence + 1)) {
+                return sequence;
+            }
+        }
+    }
+
+    /**
+     * Completes a claimed slot and makes it visible to the drainer.
+     */
+    private void publish(long sequence, Type type, long gameTime) {
+        int slot = (int) sequence & MASK;
+        types[slot] = type;
+        timestamps[slot] = System.currentTimeMillis();
+        gameTimes[slot] = gameTime;
+        published.lazySet(slot, sequence + 1);
+    }
+
+    /**
+     * Runs on the drainer thread: writes events as they arrive, and flushes the file whenever the ring is empty.
+     */
+    private void drainLoop() {
+        while (true) {
+            if (flush() == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    /**
+     * Writes every published event to the log file and flushes it.
+     *
+     * @return The number of events written.
+     */
+    public synchronized int flush() {
+        int count = 0;
+        long sequence = tail.get();
+        while (published.get((int) sequence & MASK) == sequence + 1) {
+            int slot = (int) sequence & MASK;
+            format(slot);
+            messages[slot] = null;
+            errors[slot] = null;
+            tail.lazySet(++sequence);
+            write();
+            count++;
+        }
+
+        long droppedNow = dropped.get();
+        if (droppedNow != reportedDropped) {
+            line.setLength(0);
+            line.append(TIMESTAMP.format(Instant.now())).append(" DROPPED ").append(droppedNow - reportedDropped)
+                    .append(" events, the log could not keep up");
+            reportedDropped = droppedNow;
+            write();
+        }
+
+        if (count > 0 && writer != null) {
+            try {
+                writer.flush();
+            } catch (IOException e) {
+                closeWriter(e);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Formats the event in a slot into the line buffer.
+     */
+    private void format(int slot) {
+        Type type = types[slot];
+        line.setLength(0);
+        line.append(TIMESTAMP.format(Instant.ofEpochMilli(timestamps[slot]))).append(' ').append(type);
+        if (type == Type.BLOCK_DESTROYED || type == Type.BONUS_APPLIED || type == Type.HEART_LOST) {
+            line.append(" t=").append(gameTimes[slot]);
+        }
+        switch (type) {
+            case BLOCK_DESTROYED:
+                line.append(" block=").append(firstArguments[slot]).append(" score=").append(secondArguments[slot]);
+                break;
+            case BONUS_APPLIED:
+                BonusEffect effect = BONUS_EFFECTS[(int) firstArguments[slot]];
+                double oldValue = Double.longBitsToDouble(secondArguments[slot]);
+                double newValue = Double.longBitsToDouble(thirdArguments[slot]);
+                line.append(" effect=").append(effect);
+                if (effect == BonusEffect.SCORE) {
+                    line.append(" points=").append((long) oldValue).append(" score=").append((long) newValue);
+                } else {
+                    line.append(" from=").append(oldValue).append(" to=").append(newValue)
+                            .append(" duration=").append(fourthArguments[slot]).append("ms");
+                }
+                break;
+            case HEART_LOST:
+                line.append(" hearts=").append(firstArguments[slot]);
+                break;
+            case LEVEL_CHANGED:
+                line.append(" level=").append(firstArguments[slot]).append(" score=").append(secondArguments[slot])
+                        .append(" hearts=").append(thirdArguments[slot]);
+                if (fourthArguments[slot] != 0) {
+                    line.append(" loaded");
+                }
+                break;
+            default:
+                line.append(' ').append(messages[slot]);
+                Throwable error = errors[slot];
+                if (error != null) {
+                    StringWriter stackTrace = new StringWriter();
+                    error.printStackTrace(new PrintWriter(stackTrace));
+                    line.append(System.lineSeparator()).append(stackTrace.toString().stripTrailing());
+                }
+                if (type == Type.ERROR) {
+                    System.err.println(line);
+                }
+                break;
+        }
+    }
+
+    /**
+     * Appends the line buffer to the log file, rolling the file over first if it has grown too large.
+     * If the file cannot be written, the line is lost and writing is retried with the next line.
+     */
+    private void write() {
+        line.append(System.lineSeparator());
+        try {
+            if (writer != null && fileBytes + line.length() > MAX_FILE_BYTES) {
+                writer.close();
+                writer = null;
+                roll();
+            }
+            if (writer == null) {
+                Files.createDirectories(logPath.toAbsolutePath().getParent());
+                writer = Files.newBufferedWriter(logPath, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                fileBytes = Files.size(logPath);
+            }
+            writer.append(line);
+            fileBytes += line.length();
+        } catch (IOException e) {
+            closeWriter(e);
+        }
+    }
+
+    /**
+     * Shifts the log files by one, dropping the oldest: events.log becomes events.1.log, and so on.
+     */
+    private void roll() throws IOException {
+        for (int i = MAX_FILES - 1; i > 0; i--) {
+            Path source = i == 1 ? logPath : rolledPath(i - 1);
+            if (Files.exists(source)) {
+                Files.move(source, rolledPath(i), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
+
+    /**
+     * Returns the path of an older log file.
+     *
+     * @param index The age of the file, from 1 for the most recent.
+     * @return The path of the file.
+     */
+    private Path rolledPath(int index) {
+        return logPath.resolveSibling(LOG_NAME + "." + index + LOG_EXTENSION);
+    }
+
+    /**
+     * Gives up on the current log file after a write failure; the next event opens it again.
+     */
+    private void closeWriter(IOException cause) {
+        System.err.println("Could not write the event log: " + cause.getMessage());
+        try {
+            if (writer != null) {
+                writer.close();
+            }
+        } catch (IOException ignored) {
+            // The file is abandoned either way
+        }
+        writer = null;
+    }
+
+    /**
+     * Returns the number of events dropped because the ring was full.
+     *
+     * @return The number of dropped events.
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+}
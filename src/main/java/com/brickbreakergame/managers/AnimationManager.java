@@ -177,12 +177,14 @@ public class AnimationManager {
     }
 
     /**
-     * Animates a rectangle representing a bonus item by shrinking and fading it out.
-     * The rectangle scales down to nothing and fades out to full transparency, then becomes invisible.
+     * Creates the animation of a rectangle representing a collected bonus item, which shrinks and fades it out.
+     * The rectangle scales down to nothing and fades out to full transparency. The animation is returned without
+     * being played, so the caller can keep it with the rectangle and play it every time the rectangle is reused.
      *
-     * @param rectangle The {@link Rectangle} representing a bonus item in the game. It is animated and then made invisible.
+     * @param rectangle The {@link Rectangle} representing a bonus item in the game.
+     * @return The animation, not yet played.
      */
-    public static void shrinkAndFadeOutBonus(Rectangle rectangle) {
+    public static ParallelTransition createShrinkAndFadeOutBonus(Rectangle rectangle) {
         // Create a scale transition to shrink the rectangle
         ScaleTransition scaleTransition = new ScaleTransition(Duration.seconds(0.5), rectangle);
         scaleTransition.setFromX(1.0);
@@ -196,10 +198,6 @@ public class AnimationManager {
         fadeOut.setToValue(0.0);
 
         // Combine both transitions using a ParallelTransition
-        ParallelTransition parallelTransition = new ParallelTransition(rectangle, scaleTransition, fadeOut);
-        parallelTransition.setOnFinished(event -> rectangle.setVisible(false));
-
-        // Play the combined transition
-        parallelTransition.play();
+        return new ParallelTransition(rectangle, scaleTransition, fadeOut);
     }
 }
@@ -1,193 +1,174 @@
 package com.brickbreakergame.managers;
 
-import com.brickbreakergame.Block;
 import com.brickbreakergame.Main;
-import javafx.application.Platform;
-import javafx.scene.image.Image;
-import javafx.scene.paint.ImagePattern;
+import com.brickbreakergame.RenderFrame;
+import com.brickbreakergame.simulation.Bonus;
+import javafx.animation.ParallelTransition;
+import javafx.scene.layout.Pane;
 import javafx.scene.shape.Rectangle;
-import java.io.Serializable;
-import java.util.Random;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 
 /**
- * Handles the management of bonuses in a Brick Breaker game.
- * This class is responsible for creating, displaying, and managing the effects of bonuses on the game elements,
- * such as the paddle and the ball. It integrates with the main game loop for updating the game state based on bonus interactions.
+ * Handles the presentation of bonuses in a Brick Breaker game.
+ * The falling bonuses and their effects on the paddle and the ball are simulated by the game simulation;
+ * this class creates, moves and animates the graphical representation of each bonus from the frames published
+ * by the simulation. All nodes are only touched on the JavaFX application thread.
+ * <p>
+ * The nodes are pooled: a node is spawned on the root pane when a bonus starts falling, and despawned, taken off
+ * the pane and kept for the next bonus, once the bonus leaves the screen or its collection animation finishes.
+ * The simulation reuses its bonus objects as well, so a bonus that comes back after being collected or lost
+ * simply gets a node again.
  */
-public class BonusManager implements Serializable {
-    public Rectangle bonusImage;
-    public double x;
-    public double y;
-    public long timeCreated;
-    public boolean taken = false;
+public class BonusManager {
+    private static final int POOL_CAPACITY = 32;
+
     private final Main main;
+    private final ArrayList<BonusNode> falling = new ArrayList<>();
+    private final ArrayDeque<BonusNode> free = new ArrayDeque<>(POOL_CAPACITY);
+    private long frameCount = 0;
 
     /**
-     * Constructs a BonusManager object.
-     * Initializes the position of the bonus based on the specified row and column and links it to the Main class.
-     *
-     * @param row   The row position of the bonus.
-     * @param column The column position of the bonus.
-     * @param main   Reference to the main game class which controls the game's logic and rendering.
+     * The BonusNode class holds a reusable bonus rectangle, its collection animation and the bonus it shows.
      */
-    public BonusManager(int row, int column, Main main) {
-        this.main = main;
-        x = (column * (Block.getWidth())) + Block.getPaddingHeight() + ((double) Block.getWidth() / 2) - 15;
-        y = (row * (Block.getHeight())) + Block.getPaddingTop() + ((double) Block.getHeight() / 2) - 15;
-
-        draw();
+    private static final class BonusNode {
+        private final Rectangle rectangle = new Rectangle(Bonus.SIZE, Bonus.SIZE);
+        private final ParallelTransition collectAnimation = AnimationManager.createShrinkAndFadeOutBonus(rectangle);
+        private Bonus bonus;
+        private long lastFrame;
     }
 
     /**
-     * Initializes the graphical representation of the bonus as a rectangle.
-     * Sets the dimensions and position of the bonus, and applies an image pattern as its fill.
+     * Constructs a BonusManager object linked to the Main class.
+     *
+     * @param main Reference to the main game class which owns the root pane the bonuses are drawn on.
      */
-    private void draw() {
-        bonusImage = new Rectangle();
-        bonusImage.setWidth(20);
-        bonusImage.setHeight(20);
-        bonusImage.setX(x);
-        bonusImage.setY(y);
-
-        String url;
-        url = "/images/bonus.png";
-
-        bonusImage.setFill(new ImagePattern(new Image(url)));
+    public BonusManager(Main main) {
+        this.main = main;
     }
 
     /**
-     * Activates the effect of the bonus when collected.
-     * Randomly selects a bonus effect to apply, such as changing the paddle or ball size, or increasing the score.
-     * Additionally, plays a sound effect and shows a score animation at the bonus's location.
+     * Brings the falling bonuses on screen in line with a published frame.
+     * Collected bonuses shrink and fade out, new bonuses get a node, and every falling bonus is moved to its
+     * simulated position. The nodes of bonuses that are no longer falling in the simulation are despawned.
+     * This method must be called on the JavaFX application thread.
+     *
+     * @param frame The frame published by the simulation.
      */
-    public void applyBonusEffect() {
-        SoundManager.collectBonus();
-
-        this.taken = true;
-        AnimationManager.shrinkAndFadeOutBonus(bonusImage);
+    public void update(RenderFrame frame) {
+        frameCount++;
+
+        for (Bonus bonus : frame.getCollectedBonuses()) {
+            int index = indexOf(bonus);
+            if (index >= 0) {
+                BonusNode node = falling.remove(index);
+                node.bonus = null;
+                node.collectAnimation.playFromStart();
+            }
+        }
 
-        Random rand = new Random();
-        int effect = rand.nextInt(3);
+        for (int i = 0; i < frame.getBonusCount(); i++) {
+            Bonus bonus = frame.getBonus(i);
+            int index = indexOf(bonus);
+            BonusNode node;
+            if (index >= 0) {
+                node = falling.get(index);
+            } else {
+                node = spawn();
+                node.bonus = bonus;
+                falling.add(node);
+            }
+            node.rectangle.setX(frame.getBonusX(i));
+            node.rectangle.setY(frame.getBonusY(i));
+            node.lastFrame = frameCount;
+        }
 
-        switch (effect) {
-            case 0:
-                Platform.runLater(() -> applyPaddleSizeEffect(rand));
-                break;
-            case 1:
-                Platform.runLater(() -> applyScoreEffect(rand));
-                break;
-            case 2:
-                Platform.runLater(() -> applyBallSizeEffect(rand));
-                break;
+        // Bonuses missing from the frame have left the screen or been replaced by a new level
+        int kept = 0;
+        for (int i = 0; i < falling.size(); i++) {
+            BonusNode node = falling.get(i);
+            if (node.lastFrame == frameCount) {
+                falling.set(kept++, node);
+            } else {
+                despawn(node);
+            }
+        }
+        while (falling.size() > kept) {
+            falling.remove(falling.size() - 1);
         }
     }
 
     /**
-     * Applies an effect that alters the size of the paddle.
-     * The size change can be an increase or decrease, and the effect lasts for a random, limited duration.
+     * Finds the node showing a bonus.
      *
-     * @param rand An instance of {@link Random} used for generating the size change magnitude and effect duration.
+     * @param bonus The bonus to look for.
+     * @return The index of its node in the falling list, or -1 if the bonus has no node.
      */
-    private void applyPaddleSizeEffect(Random rand) {
-        // Store the original paddle width before the change
-        main.setOriginalPaddleWidth(main.getPaddleWidth());
-
-        // Determine whether to increase or decrease the paddle width
-        boolean increaseWidth = rand.nextBoolean();
-        int sizeChange = rand.nextInt(6) + 20; // Random size change between 20 and 25
-
-        // If decreasing width, make sizeChange negative and ensure a minimum width
-        if (!increaseWidth) {
-            sizeChange = -sizeChange;
-            int newWidth = Math.max(main.getPaddleWidth() + sizeChange, 20);
-            main.setPaddleWidth(newWidth);
-        } else {
-            // Update paddle width and position
-            int newWidth = main.getPaddleWidth() + sizeChange;
-            main.setPaddleWidth(newWidth);
+    private int indexOf(Bonus bonus) {
+        for (int i = 0; i < falling.size(); i++) {
+            if (falling.get(i).bonus == bonus) {
+                return i;
+            }
         }
-
-        // Log the paddle size change and its duration
-        main.setPaddleWidthChangeTime(System.currentTimeMillis());
-        long paddleWidthChangeDuration = (rand.nextInt(6) + 5) * 1000; // Random duration between 5 and 10 seconds
-        main.setPaddleWidthChangeDuration(paddleWidthChangeDuration);
-        main.setPaddleWidthChanged(true);
-
-        // Adjust paddle position to keep it within game boundaries
-        double paddleMoveX = main.getPaddleMoveX() - (double) sizeChange / 2;
-        paddleMoveX = Math.max(paddleMoveX, 0);
-        paddleMoveX = Math.min(paddleMoveX, Main.SCENE_WIDTH - main.getPaddleWidth());
-        main.setPaddleMoveX(paddleMoveX);
-
-        System.out.println("\u001B[35m" + "Paddle width changed from " + main.getOriginalPaddleWidth() + " to " + main.getPaddleWidth() + " for " + (paddleWidthChangeDuration / 1000) + " seconds." + "\u001B[0m");
+        return -1;
     }
 
     /**
-     * Increases the player's score by a random amount as a bonus effect.
-     * The range of the score increase is determined randomly.
+     * Takes a node from the pool, or creates one if the pool is empty, and puts it on the root pane.
+     * The node is reset to its full size and opacity, and its image pattern is applied as its fill.
      *
-     * @param rand An instance of {@link Random} used for generating the bonus score amount.
+     * @return The node, ready to be positioned.
      */
-    private void applyScoreEffect(Random rand) {
-        // Determine the number of bonus points
-        int bonusPoints = rand.nextInt(6) + 3; // Random bonus points between 3 and 8
-
-        // Update the score with the bonus points
-        main.setScore(main.getScore() + bonusPoints);
-
-        // Log the effect of earning additional score
-        System.out.println("\u001B[33m" + "Score increased by " + bonusPoints + " points. New score: " + main.getScore() + "\u001B[0m");
+    private BonusNode spawn() {
+        BonusNode node = free.poll();
+        if (node == null) {
+            node = new BonusNode();
+            BonusNode created = node;
+            node.collectAnimation.setOnFinished(event -> despawn(created));
+        }
+        node.rectangle.setFill(ImageManager.getPattern("/images/bonus.png"));
+        node.rectangle.setScaleX(1.0);
+        node.rectangle.setScaleY(1.0);
+        node.rectangle.setOpacity(1.0);
+        if (node.rectangle.getParent() != main.getRoot()) {
+            removeFromParent(node);
+            main.getRoot().getChildren().add(node.rectangle);
+        }
+        return node;
     }
 
     /**
-     * Applies an effect that modifies the size of the ball.
-     * The ball size can increase or decrease, and this change persists for a randomly determined duration.
+     * Takes a node off the pane and returns it to the pool.
      *
-     * @param rand An instance of {@link Random} used for generating the size change magnitude and effect duration.
+     * @param node The node of a bonus that is no longer shown.
      */
-    private void applyBallSizeEffect(Random rand) {
-        // Store the original ball radius
-        main.setOriginalBallRadius(main.getBallRadius());
-
-        // Compute the new ball radius
-        int sizeChange = rand.nextInt(11) - 5; // Random size change between -5 and +5
-        double newBallRadius = main.getBallRadius() + sizeChange;
-
-        // Ensure the ball stays within the scene boundaries
-        double ballPosX = Math.max(main.getBallPosX(), newBallRadius);
-        ballPosX = Math.min(ballPosX, Main.SCENE_WIDTH - newBallRadius);
-        double ballPosY = Math.max(main.getBallPosY(), newBallRadius);
-        ballPosY = Math.min(ballPosY, Main.SCENE_HEIGHT - newBallRadius);
-
-        // Update ball's radius and position
-        main.setBallRadius(newBallRadius);
-        main.setBallPosX(ballPosX);
-        main.setBallPosY(ballPosY);
-
-        // Log the ball size change
-        main.setBallSizeChangeTime(System.currentTimeMillis());
-        long ballSizeChangeDuration = (rand.nextInt(6) + 5) * 1000; // Random duration between 5 and 10 seconds
-        main.setBallSizeChangeDuration(ballSizeChangeDuration);
-        main.setBallSizeChanged(true);
-
-        System.out.println("\u001B[31m" + "Ball size changed from " + main.getOriginalBallRadius() + " to " + newBallRadius + " for " + (ballSizeChangeDuration / 1000) + " seconds." + "\u001B[0m");
+    private void despawn(BonusNode node) {
+        node.collectAnimation.stop();
+        node.bonus = null;
+        removeFromParent(node);
+        if (free.size() < POOL_CAPACITY) {
+            free.push(node);
+        }
     }
 
     /**
-     * Resets any temporary size changes applied to the paddle and the ball when their respective effect durations expire.
-     * This method is invoked regularly to ensure timely reversion of the game elements to their original state.
+     * Takes the rectangle of a node off the pane it was added to, if any.
      */
-    public void resetTemporaryChanges() {
-        long currentTime = System.currentTimeMillis();
-
-        if (main.isPaddleWidthChanged() && (currentTime - main.getPaddleWidthChangeTime()) >= main.getPaddleWidthChangeDuration()) {
-            main.setPaddleWidth(main.getOriginalPaddleWidth());
-            main.setPaddleWidthChanged(false);
+    private static void removeFromParent(BonusNode node) {
+        if (node.rectangle.getParent() instanceof Pane) {
+            ((Pane) node.rectangle.getParent()).getChildren().remove(node.rectangle);
         }
+    }
 
-        if (main.isBallSizeChanged() && (currentTime - main.getBallSizeChangeTime()) >= main.getBallSizeChangeDuration()) {
-            main.setBallRadius(main.getOriginalBallRadius());
-            main.setBallSizeChanged(false);
+    /**
+     * Despawns all falling bonuses, for example when the board is replaced by a new level.
+     * This method must be called on the JavaFX application thread.
+     */
+    public void clear() {
+        for (int i = 0; i < falling.size(); i++) {
+            despawn(falling.get(i));
         }
+        falling.clear();
     }
 }
@@ -1,253 +1,98 @@
 package com.brickbreakergame.managers;
 
 import com.brickbreakergame.Block;
-import com.brickbreakergame.Main;
-import javafx.scene.paint.Color;
+import com.brickbreakergame.simulation.GameSimulation;
 import java.util.Random;
 
 /**
  * Manages the game board layout for different levels in the Brick Breaker game.
- * This class is responsible for creating and arranging blocks in various patterns
- * according to the level design. It also provides functionality to determine block types
+ * This class is responsible for creating and arranging blocks according to the level designs
+ * of the {@link LevelPack}. It also provides functionality to determine block types
  * based on random generation, which adds variability to the game board.
  */
 public class GameBoardManager {
-    private final Main mainInstance;
+    private final GameSimulation simulation;
     private final Random random;
 
     /**
-     * Constructs a new GameBoardManager with a reference to the Main instance.
-     * Initializes a Random instance for use in block type determination and layout generation.
+     * Constructs a new GameBoardManager with a reference to the game simulation.
+     * Block types and random layouts are drawn from the board random stream of the simulation,
+     * so a level generated from the same seed always has the same board.
      *
-     * @param mainInstance The Main instance of the game which holds the game state and shared resources.
+     * @param simulation The GameSimulation which holds the game state, including the list of blocks.
      */
-    public GameBoardManager(Main mainInstance) {
-        this.mainInstance = mainInstance;
-        this.random = new Random();
-        Color[] gameColors = mainInstance.getColors();
+    public GameBoardManager(GameSimulation simulation) {
+        this.simulation = simulation;
+        this.random = simulation.getBoardRandom();
     }
 
     /**
      * Sets up the game board layout based on the current level.
-     * Clears existing blocks and generates a new layout according to the level.
-     * Different levels have unique designs such as space ships, patterns, and other shapes.
+     * Clears existing blocks and places new ones according to the level's grid in the {@link LevelPack},
+     * row by row from the top. Levels that are not in the pack get a generated layout instead.
      */
     public void setupGameBoard() {
-        mainInstance.getBlocks().clear();
-        switch (mainInstance.getLevel()) {
-            case 1:
-                createLevel1Layout();
-                break;
-            case 2:
-                createLevel2Layout();
-                break;
-            case 3:
-                createLevel3Layout();
-                break;
-            case 4:
-                createLevel4Layout();
-                break;
-            case 5:
-                createLevel5Layout();
-                break;
-            case 6:
-                createLevel6Layout();
-                break;
-            case 7:
-                createLevel7Layout();
-                break;
-            case 8:
-                createLevel8Layout();
-                break;
-            case 9:
-                createLevel9Layout();
-                break;
-            case 10:
-                createLevel10Layout();
-                break;
-            default:
-                createDefaultLayout();
-                break;
+        simulation.getBlocks().clear();
+        LevelPack.Level level = LevelPack.getInstance().getLevel(simulation.getLevel());
+        if (level == null) {
+            createDefaultLayout();
+        } else {
+            createLayout(level);
         }
     }
 
     /**
-     * Creates the layout for Level 1, which represents a space ship.
-     * This layout consists of a space ship shape.
-     */
-    private void createLevel1Layout() {
-//         Create a space ship to take you on your journey
-        int[][] spaceShip = {
-                {0, 0, 1, 1, 1, 1, 1, 0, 0},
-                {0, 1, 0, 0, 0, 0, 0, 1, 0},
-                {1, 0, 0, 1, 0, 1, 0, 0, 1},
-                {1, 0, 0, 1, 0, 1, 0, 0, 1},
-                {1, 0, 1, 1, 1, 1, 1, 0, 1}
-        };
-
-        for (int j = 0; j < 5; j++) {
-            for (int i = 0; i < 9; i++) {
-                if (spaceShip[j][i] == 1) {
-                    int blockType = determineBlockType(random.nextInt(100));
-                    mainInstance.getBlocks().add(new Block(i, j, mainInstance.getColors()[j % mainInstance.getColors().length], blockType));
-                }
-            }
-        }
-    }
-
-    /**
-     * Creates the layout for Level 2, which represents an X shape pattern.
-     * This layout forms an X shape with blocks.
-     */
-    private void createLevel2Layout() {
-        // X shape
-        for (int j = 0; j < 12; j++) {
-            int blockTypeLeft = determineBlockType(random.nextInt(100));
-            int blockTypeRight = determineBlockType(random.nextInt(100));
-            if (j < 5) {
-                mainInstance.getBlocks().add(new Block(j, j, mainInstance.getColors()[j % mainInstance.getColors().length], blockTypeLeft));
-                mainInstance.getBlocks().add(new Block(j, 4 - j, mainInstance.getColors()[(4 - j) % mainInstance.getColors().length], blockTypeRight));
-            }
-        }
-    }
-
-    /**
-     * Creates the layout for Level 3, which consists of random dots scattered on the board.
-     * This layout generates random dots with some sparsity.
-     */
-    private void createLevel3Layout() {
-        // Random Dots
-        for (int j = 0; j < 13; j++) {
-            for (int i = 0; i < 5; i++) {
-                if (random.nextBoolean() && random.nextBoolean()) { // Double randomness for sparser dots
-                    int blockType = determineBlockType(random.nextInt(100));
-                    mainInstance.getBlocks().add(new Block(j, i, mainInstance.getColors()[i % mainInstance.getColors().length], blockType));
-                }
-            }
-        }
-    }
-
-    /**
-     * Creates the layout for Level 4, which represents a checkerboard pattern.
-     * This layout forms a checkerboard pattern with blocks.
-     */
-    private void createLevel4Layout() {
-        // Checkerboard pattern
-        for (int j = 0; j < 12; j++) {
-            for (int i = 0; i < 5; i++) {
-                if ((j + i) % 2 == 0) {
-                    int blockType = determineBlockType(random.nextInt(100));
-                    mainInstance.getBlocks().add(new Block(j, i, mainInstance.getColors()[i % mainInstance.getColors().length], blockType));
-                }
-            }
-        }
-    }
-
-    /**
-     * Creates the layout for Level 5, which consists of vertical lines.
-     * This layout generates vertical lines with blocks.
-     */
-    private void createLevel5Layout() {
-        // Vertical Lines
-        for (int j = 0; j < 13; j++) {
-            for (int i = 0; i < 5; i++) {
-                if (i % 2 == 0) { // Every alternate column
-                    int blockType = determineBlockType(random.nextInt(100));
-                    mainInstance.getBlocks().add(new Block(j, i, mainInstance.getColors()[i % mainInstance.getColors().length], blockType));
-                }
-            }
-        }
-    }
-
-    /**
-     * Creates the layout for Level 6, which represents a horizontal zigzag pattern.
-     * This layout forms a horizontal zigzag with blocks.
-     */
-    private void createLevel6Layout() {
-        // Horizontal Zigzag
-        for (int j = 0; j < 13; j++) {
-            for (int i = 0; i < 5; i++) {
-                if ((j / 2 + i) % 2 == 0) {
-                    int blockType = determineBlockType(random.nextInt(100));
-                    mainInstance.getBlocks().add(new Block(j, i, mainInstance.getColors()[i % mainInstance.getColors().length], blockType));
-                }
-            }
-        }
-    }
-
-    /**
-     * Creates the layout for Level 7, which represents a vertical zip zag pattern.
-     * This layout forms a vertical zip zag with blocks.
-     */
-    private void createLevel7Layout() {
-        // Verticle Zip Zag
-        for (int j = 0; j < 13; j++) {
-            for (int i = 0; i < 5; i++) {
-                if ((i / 2 + j) % 2 == 0) {
-                    int blockType = determineBlockType(random.nextInt(100));
-                    mainInstance.getBlocks().add(new Block(j, i, mainInstance.getColors()[i % mainInstance.getColors().length], blockType));
-                }
-            }
-        }
-    }
-
-    /**
-     * Creates the layout for Level 8, which represents a space ship pattern.
-     * This layout generates a space ship pattern with blocks.
-     */
-    private void createLevel8Layout() {
-        // Space Ship!
-        for (int j = 0; j < 13; j++) {
-            for (int i = 0; i < 5; i++) {
-                if (j % 3 == 0 || i % 2 == 0) {
-                    int blockType = determineBlockType(random.nextInt(100));
-                    mainInstance.getBlocks().add(new Block(j, i, mainInstance.getColors()[i % mainInstance.getColors().length], blockType));
-                }
-            }
-        }
-    }
-
-    /**
-     * Creates the layout for Level 9, which represents a zigzag pattern.
-     * This layout forms a zigzag pattern with blocks.
+     * Creates the layout of a level from its grid.
+     * Block types that the grid leaves to chance are drawn from the board random stream, which is first
+     * reseeded if the level has a seed of its own.
+     *
+     * @param level The level to lay out.
      */
-    private void createLevel9Layout() {
-        // Zig Zag
-        for (int j = 0; j < 13; j++) {
-            for (int i = 0; i < 5; i++) {
-                if ((j / 2 + i) % 2 == 0) {
-                    int blockType = determineBlockType(random.nextInt(100));
-                    mainInstance.getBlocks().add(new Block(j, i, mainInstance.getColors()[i % mainInstance.getColors().length], blockType));
-                }
-            }
+    private void createLayout(LevelPack.Level level) {
+        if (level.hasSeed()) {
+            random.setSeed(level.getSeed());
         }
-    }
-
-    /**
-     * Creates the layout for Level 10, which represents a diamond shape pattern.
-     * This layout forms a diamond shape with blocks.
-     */
-    private void createLevel10Layout() {
-        // Diamond Shape
-        int midRow = 6;
-        int midColumn = 2;
-        for (int j = 0; j < 13; j++) {
-            for (int i = 0; i < 5; i++) {
-                if (Math.abs(j - midRow) + Math.abs(i - midColumn) <= midColumn) {
-                    int blockType = determineBlockType(random.nextInt(100));
-                    mainInstance.getBlocks().add(new Block(j, i, mainInstance.getColors()[i % mainInstance.getColors().length], blockType));
+        for (int row = 0; row < level.getRows(); row++) {
+            for (int column = 0; column < level.getColumns(); column++) {
+                int blockType;
+                switch (level.getCell(row, column)) {
+                    case LevelPack.CHANCE:
+                        if (!(random.nextBoolean() && random.nextBoolean())) { // Double randomness for sparser dots
+                            continue;
+                        }
+                        blockType = determineBlockType(random.nextInt(100));
+                        break;
+                    case LevelPack.BLOCK:
+                        blockType = determineBlockType(random.nextInt(100));
+                        break;
+                    case LevelPack.NORMAL:
+                        blockType = Block.NORMAL;
+                        break;
+                    case LevelPack.RANDOM:
+                        blockType = Block.RANDOM;
+                        break;
+                    case LevelPack.GOLDEN_TIME:
+                        blockType = Block.GOLDEN_TIME;
+                        break;
+                    case LevelPack.HEART:
+                        simulation.setExistHeartBlock(true);
+                        blockType = Block.HEART;
+                        break;
+                    default:
+                        continue;
                 }
+                simulation.getBlocks().add(row, column, level.getColorIndex(column), blockType);
             }
         }
     }
 
     /**
      * Creates the default game board layout when the level is not recognized or specified.
-     * This layout is used as a fallback if the level number is not recognized by the game.
+     * This layout is used as a fallback if the level is not in the level pack or cannot be parsed.
      */
     private void createDefaultLayout() { // Worst case if program fails. Best case, it will never be utilized.
         for (int i = 0; i < 5; i++) {
-            for (int j = 0; j < mainInstance.getLevel() + 1; j++) {
+            for (int j = 0; j < simulation.getLevel() + 1; j++) {
                 int r = random.nextInt(500); // Use the existing Random instance
 
                 if (r % 5 == 0) {
@@ -256,7 +101,7 @@ public class GameBoardManager {
 
                 int type = determineBlockType(r);
 
-                mainInstance.getBlocks().add(new Block(j, i, mainInstance.getColors()[r % (mainInstance.getColors().length)], type));
+                simulation.getBlocks().add(j, i, r % GameSimulation.COLOR_COUNT, type);
             }
         }
     }
@@ -273,8 +118,8 @@ public class GameBoardManager {
     private int determineBlockType(int randomValue) {
         if (randomValue < 10) {
             return Block.RANDOM;
-        } else if (randomValue < 15 && !mainInstance.isHeartBlockExist()) {
-            mainInstance.setExistHeartBlock(true); // Use the setter method here
+        } else if (randomValue < 15 && !simulation.isExistHeartBlock()) {
+            simulation.setExistHeartBlock(true); // Use the setter method here
             return Block.HEART;
         } else if (randomValue >= 15 && randomValue < 20) {
             return Block.GOLDEN_TIME;
@@ -0,0 +1,164 @@
+package com.brickbreakergame.managers;
+
+import javafx.scene.image.Image;
+import javafx.scene.paint.ImagePattern;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Manages the images and image patterns used throughout the Brick Breaker game.
+ * Images are loaded once per resource path and shared by every block, bonus and UI element that uses them,
+ * instead of each element decoding its own copy. The cache keeps track of the approximate memory used by
+ * decoded images and evicts the least recently used ones once the memory cap is exceeded.
+ */
+public class ImageManager {
+    private static final long MAX_CACHE_BYTES = 64L * 1024 * 1024;
+    private static final Map<String, Image> images = new LinkedHashMap<>(16, 0.75f, true);
+    private static final Map<String, ImagePattern> patterns = new HashMap<>();
+    private static long cachedBytes = 0;
+    private static final String[] preloadedImages = {
+            "/images/ball.png",
+            "/images/goldBall.png",
+            "/images/paddle.png",
+            "/images/bonus.png",
+            "/images/blocks/randomBlock.png",
+            "/images/blocks/heartBlock.png",
+            "/images/blocks/goldenBallBlock.png",
+            "/images/level.png",
+            "/images/coins.png",
+            "/images/heart.png",
+            "/images/favicon.png"
+    };
+
+    /**
+     * Loads the images used during gameplay into the cache, so that level setup does not have to decode them.
+     */
+    public static void preloadImages() {
+        for (String path : preloadedImages) {
+            getImage(path);
+        }
+    }
+
+    /**
+     * Retrieves the shared image for a resource path, loading it on first use.
+     * The image is decoded without holding the cache lock, so a decode on a loading thread never makes the
+     * JavaFX application thread wait for images that are already cached.
+     *
+     * @param path The resource path of the image.
+     * @return The cached Image for the path.
+     */
+    public static Image getImage(String path) {
+        Image image = getCachedImage(path);
+        if (image == null) {
+            image = cacheImage(path, new Image(path));
+        }
+        return image;
+    }
+
+    /**
+     * Retrieves a shared image pattern filled with the image at a resource path.
+     *
+     * @param path The resource path of the image.
+     * @return The cached ImagePattern for the path.
+     */
+    public static ImagePattern getPattern(String path) {
+        ImagePattern pattern = getCachedPattern(path);
+        if (pattern == null) {
+            pattern = cachePattern(path, getImage(path));
+        }
+        return pattern;
+    }
+
+    /**
+     * Looks up a cached image and marks it as recently used.
+     *
+     * @param path The resource path of the image.
+     * @return The cached image, or null if it is not cached.
+     */
+    private static synchronized Image getCachedImage(String path) {
+        return images.get(path);
+    }
+
+    /**
+     * Adds a decoded image to the cache, unless another thread cached the same path while it was decoding.
+     *
+     * @param path  The resource path of the image.
+     * @param image The decoded image.
+     * @return The image now cached for the path.
+     */
+    private static synchronized Image cacheImage(String path, Image image) {
+        Image cached = images.get(path);
+        if (cached != null) {
+            return cached;
+        }
+        images.put(path, image);
+        cachedBytes += estimateBytes(image);
+        evictIfNeeded(path);
+        return image;
+    }
+
+    /**
+     * Looks up a cached image pattern and marks its image as recently used.
+     *
+     * @param path The resource path of the image.
+     * @return The cached pattern, or null if it is not cached.
+     */
+    private static synchronized ImagePattern getCachedPattern(String path) {
+        ImagePattern pattern = patterns.get(path);
+        if (pattern != null) {
+            images.get(path); // Keeps the image marked as recently used
+        }
+        return pattern;
+    }
+
+    /**
+     * Creates the pattern for a cached image, unless another thread already created it.
+     * The pattern is only cached while its image is, so evicting the image also drops the pattern.
+     *
+     * @param path  The resource path of the image.
+     * @param image The image to fill the pattern with.
+     * @return The pattern for the path.
+     */
+    private static synchronized ImagePattern cachePattern(String path, Image image) {
+        ImagePattern pattern = patterns.get(path);
+        if (pattern == null) {
+            pattern = new ImagePattern(image);
+            if (images.containsKey(path)) {
+                patterns.put(path, pattern);
+            }
+        }
+        return pattern;
+    }
+
+    /**
+     * Evicts the least recently used images until the cache fits within its memory cap again.
+     * The image that was just loaded is never evicted.
+     *
+     * @param keepPath The resource path of the image that must stay in the cache.
+     */
+    private static void evictIfNeeded(String keepPath) {
+        Iterator<Map.Entry<String, Image>> iterator = images.entrySet().iterator();
+        while (cachedBytes > MAX_CACHE_BYTES && iterator.hasNext()) {
+            Map.Entry<String, Image> entry = iterator.next();
+            if (entry.getKey().equals(keepPath)) {
+                continue;
+            }
+            cachedBytes -= estimateBytes(entry.getValue());
+            patterns.remove(entry.getKey());
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Estimates the memory used by a decoded image, assuming four bytes per pixel.
+     *
+     * @param image The image to measure.
+     * @return The approximate size of the decoded image in bytes.
+     */
+    private static long estimateBytes(Image image) {
+        return (long) image.getWidth() * (long) image.getHeight() * 4;
+    }
+}
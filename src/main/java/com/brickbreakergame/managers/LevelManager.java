@@ -1,6 +1,7 @@
 package com.brickbreakergame.managers;
 
 import com.brickbreakergame.Main;
+import com.brickbreakergame.logging.EventLog;
 import javafx.application.Platform;
 import javafx.stage.Stage;
 
@@ -27,65 +28,33 @@ public class LevelManager {
 
     /**
      * Restarts the game, resetting the game state to the initial conditions.
-     * This includes resetting the level, score, heart count, ball velocity, block count,
-     * paddle position, and other game-related flags and parameters.
-     * It also initializes a new game on the primary stage.
+     * This resets the level, score and heart count; the ball, paddle, blocks and other per-level state
+     * are reset when the new game sets up the first level on the primary stage.
      */
     public void restartGame() {
             try {
                 mainApp.setLevel(1);
                 mainApp.setHeart(3);
                 mainApp.setScore(0);
-                mainApp.setBallVelocityX(1.000);
-                mainApp.setDestroyedBlockCount(0);
-                mainApp.resetCollideFlags();
-                mainApp.setGoDownBall(true);
-                mainApp.setIsGoldStatus(false);
-                mainApp.setIsExistHeartBlock(false);
-                mainApp.setTime(0);
-                mainApp.setGoldTime(0);
-                mainApp.getBlocks().clear();
-                mainApp.getChocos().clear();
-                mainApp.setPaddleMoveX(220.0);
-                mainApp.setPaddleMoveY(683.0f);
-                mainApp.setPaddleWidth(90);
-                mainApp.setBallRadius(10);
-
                 mainApp.newGame(primaryStage);
             } catch (Exception e) {
-                e.printStackTrace();
+                EventLog.getInstance().error("Could not restart the game", e);
             }
     }
 
     /**
      * Handles the progression to the next level in the game.
-     * This method updates the game state for the new level, including resetting ball velocity,
-     * collide flags, game status flags, and clearing existing blocks and bonuses.
-     * It stops the current game engine, resets the block count, and initializes a new game instance.
-     * All changes and the new game initialization are performed on the application's main thread.
+     * This method stops the current game engine and initializes a new game instance, which sets up the new level
+     * from scratch: the ball, paddle, blocks, bonuses and game status flags are all reset.
+     * The new game initialization is performed on the application's main thread.
      */
     public void nextLevel() {
         Platform.runLater(() -> {
             try {
-                mainApp.setBallVelocityX(1.000);
-                mainApp.resetCollideFlags();
-                mainApp.setGoDownBall(true);
-                mainApp.setIsGoldStatus(false);
-                mainApp.setIsExistHeartBlock(false);
-                mainApp.setTime(0);
-                mainApp.setGoldTime(0);
                 mainApp.getEngine().stop();
-                mainApp.getBlocks().clear();
-                mainApp.getChocos().clear();
-                mainApp.setDestroyedBlockCount(0);
                 mainApp.newGame(primaryStage);
-                mainApp.setPaddleMoveX(220.0);
-                mainApp.setPaddleMoveY(683.0f);
-                mainApp.setPaddleWidth(90);
-                mainApp.setBallRadius(10);
-
             } catch (Exception e) {
-                e.printStackTrace();
+                EventLog.getInstance().error("Could not start the next level", e);
             }
         });
     }
@@ -0,0 +1,338 @@
+package com.brickbreakergame.managers;
+
+import com.brickbreakergame.logging.EventLog;
+import com.brickbreakergame.simulation.GameSimulation;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Holds the levels of the game, as defined in a level pack file.
+ * A level pack is a text file listing the levels in the order they are played: each level has a name, an optional
+ * seed and color palette, and a grid of cells describing where blocks are placed and which type they have.
+ * The format is described at the top of the bundled pack, {@code /levels/default.pack}.
+ * <p>
+ * The game plays the pack named by the {@value #PACK_PROPERTY} system property, or {@value #DEFAULT_PACK_FILE} in
+ * the working directory if that file exists, so new levels can be shipped without rebuilding the game; otherwise it
+ * plays the bundled pack. The pack is read once and split into levels, and each level is only parsed the first time
+ * it is played, then kept for the rest of the session, so setting up a level costs the same however many levels
+ * the pack has.
+ */
+public class LevelPack {
+    public static final String PACK_PROPERTY = "brickbreaker.levels";
+    private static final String DEFAULT_PACK_FILE = "levels.pack";
+    private static final String BUNDLED_PACK = "/levels/default.pack";
+    private static final String LEVEL_KEYWORD = "level";
+    private static final String SEED_KEYWORD = "seed";
+    private static final String PALETTE_KEYWORD = "palette";
+    private static final String COMMENT_PREFIX = ";";
+    private static LevelPack instance;
+
+    // Grid cells
+    public static final char EMPTY = '.';
+    public static final char BLOCK = '#';
+    public static final char CHANCE = '?';
+    public static final char NORMAL = 'N';
+    public static final char RANDOM = 'R';
+    public static final char GOLDEN_TIME = 'G';
+    public static final char HEART = 'H';
+    private static final String CELLS = "" + EMPTY + BLOCK + CHANCE + NORMAL + RANDOM + GOLDEN_TIME + HEART;
+
+    private final String source;
+    private final List<String> names = new ArrayList<>();
+    private final List<Integer> firstLines = new ArrayList<>();
+    private final List<List<String>> bodies = new ArrayList<>();
+    private final Level[] levels;
+
+    /**
+     * The Level class holds one parsed level of a pack.
+     */
+    public static final class Level {
+        private final String name;
+        private final int rows;
+        private final int columns;
+        private final char[] cells;
+        private final int[] palette;
+        private final boolean hasSeed;
+        private final long seed;
+
+        private Level(String name, int rows, int columns, char[] cells, int[] palette, boolean hasSeed, long seed) {
+            this.name = name;
+            this.rows = rows;
+            this.columns = columns;
+            this.cells = cells;
+            this.palette = palette;
+            this.hasSeed = hasSeed;
+            this.seed = seed;
+        }
+
+        /**
+         * Returns the name of the level, as given in the pack.
+         *
+         * @return The level name.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Returns the number of rows of the grid.
+         *
+         * @return The row count.
+         */
+        public int getRows() {
+            return rows;
+        }
+
+        /**
+         * Returns the number of columns of the grid.
+         *
+         * @return The column count.
+         */
+        public int getColumns() {
+            return columns;
+        }
+
+        /**
+         * Returns a cell of the grid.
+         *
+         * @param row    The row of the cell, from the top.
+         * @param column The column of the cell, from the left.
+         * @return One of the cell characters of this class, such as {@link #BLOCK} or {@link #EMPTY}.
+         */
+        public char getCell(int row, int column) {
+            return cells[row * columns + column];
+        }
+
+        /**
+         * Returns the color of the blocks in a column.
+         *
+         * @param column The column.
+         * @return The color index of the column's blocks.
+         */
+        public int getColorIndex(int column) {
+            return palette == null ? column % GameSimulation.COLOR_COUNT : palette[column % palette.length];
+        }
+
+        /**
+         * Checks whether the level is laid out from its own seed rather than from the seed of the game.
+         *
+         * @return True if the level has a seed, false otherwise.
+         */
+        public boolean hasSeed() {
+            return hasSeed;
+        }
+
+        /**
+         * Returns the seed the level is laid out from, if it has one.
+         *
+         * @return The seed, only meaningful if {@link #hasSeed()} is true.
+         */
+        public long getSeed() {
+            return seed;
+        }
+    }
+
+    /**
+     * Returns the level pack of the game, reading it on first use. If the configured pack cannot be read,
+     * the error is logged and the bundled pack is used instead.
+     *
+     * @return The LevelPack instance.
+     */
+    public static synchronized LevelPack getInstance() {
+        if (instance == null) {
+            Path packPath = Paths.get(System.getProperty(PACK_PROPERTY, DEFAULT_PACK_FILE));
+            if (Files.isRegularFile(packPath)) {
+                try {
+                    instance = new LevelPack(packPath.toString(), Files.readAllLines(packPath, StandardCharsets.UTF_8));
+                } catch (IOException | IllegalArgumentException e) {
+                    EventLog.getInstance().error("Could not read level pack " + packPath + ", using the bundled levels", e);
+                }
+            }
+            if (instance == null) {
+                instance = new LevelPack(BUNDLED_PACK, readBundledPack());
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Reads the lines of the pack bundled with the game.
+     *
+     * @return The lines of the bundled pack.
+     */
+    private static List<String> readBundledPack() {
+        InputStream stream = LevelPack.class.getResourceAsStream(BUNDLED_PACK);
+        if (stream == null) {
+            throw new IllegalStateException("The bundled level pack is missing: " + BUNDLED_PACK);
+        }
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("The bundled level pack could not be read: " + BUNDLED_PACK, e);
+        }
+        return lines;
+    }
+
+    /**
+     * Splits the lines of a pack into levels. The levels themselves are parsed when they are first requested.
+     *
+     * @param source The name of the pack, used in error messages.
+     * @param lines  The lines of the pack.
+     * @throws IllegalArgumentException If the pack has no levels, or has content before its first level.
+     */
+    public LevelPack(String source, List<String> lines) {
+        this.source = source;
+        List<String> body = null;
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).strip();
+            if (line.isEmpty() || line.startsWith(COMMENT_PREFIX)) {
+                continue;
+            }
+            if (keyword(line).equals(LEVEL_KEYWORD)) {
+                body = new ArrayList<>();
+                names.add(argument(line));
+                firstLines.add(i + 1);
+                bodies.add(body);
+            } else if (body == null) {
+                throw new IllegalArgumentException(source + " line " + (i + 1) + ": expected a level line");
+            } else {
+                body.add(line);
+            }
+        }
+        if (names.isEmpty()) {
+            throw new IllegalArgumentException(source + ": the pack has no levels");
+        }
+        levels = new Level[names.size()];
+    }
+
+    /**
+     * Returns the number of levels in the pack. The last level is the one that wins the game.
+     *
+     * @return The number of levels.
+     */
+    public int getLevelCount() {
+        return levels.length;
+    }
+
+    /**
+     * Returns a level of the pack, parsing it on first use. If the level is malformed, the error is logged
+     * and null is returned, as for a level that is not in the pack.
+     *
+     * @param level The level number, starting from 1.
+     * @return The level, or null if the pack has no such level or it cannot be parsed.
+     */
+    public synchronized Level getLevel(int level) {
+        if (level < 1 || level > levels.length) {
+            return null;
+        }
+        if (levels[level - 1] == null) {
+            try {
+                levels[level - 1] = parse(level - 1);
+            } catch (IllegalArgumentException e) {
+                EventLog.getInstance().error("Could not parse level " + level, e);
+                return null;
+            }
+        }
+        return levels[level - 1];
+    }
+
+    /**
+     * Parses the settings and grid of a level.
+     *
+     * @param index The index of the level in the pack.
+     * @return The parsed level.
+     * @throws IllegalArgumentException If a setting or a grid cell is invalid, or the grid is empty.
+     */
+    private Level parse(int index) {
+        List<String> body = bodies.get(index);
+        List<String> grid = new ArrayList<>();
+        int[] palette = null;
+        boolean hasSeed = false;
+        long seed = 0;
+        int columns = 0;
+
+        for (int i = 0; i < body.size(); i++) {
+            String line = body.get(i);
+            String where = source + " level " + (index + 1) + " (" + names.get(index) + ")";
+            try {
+                switch (keyword(line)) {
+                    case SEED_KEYWORD:
+                        seed = Long.parseLong(argument(line));
+                        hasSeed = true;
+                        break;
+                    case PALETTE_KEYWORD:
+                        palette = parsePalette(argument(line));
+                        break;
+                    default:
+                        for (int c = 0; c < line.length(); c++) {
+                            if (CELLS.indexOf(line.charAt(c)) < 0) {
+                                throw new IllegalArgumentException("unknown cell '" + line.charAt(c) + "'");
+                            }
+                        }
+                        grid.add(line);
+                        columns = Math.max(columns, line.length());
+                        break;
+                }
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(where + ": " + e.getMessage() + " in \"" + line + "\"", e);
+            }
+        }
+        if (grid.isEmpty()) {
+            throw new IllegalArgumentException(source + " line " + firstLines.get(index) + ": the level has no grid");
+        }
+
+        // Rows shorter than the widest one are padded with empty cells
+        char[] cells = new char[grid.size() * columns];
+        for (int row = 0; row < grid.size(); row++) {
+            String line = grid.get(row);
+            for (int column = 0; column < columns; column++) {
+                cells[row * columns + column] = column < line.length() ? line.charAt(column) : EMPTY;
+            }
+        }
+        return new Level(names.get(index), grid.size(), columns, cells, palette, hasSeed, seed);
+    }
+
+    /**
+     * Parses the color indices of a palette setting.
+     */
+    private static int[] parsePalette(String argument) {
+        String[] values = argument.split("\\s+");
+        int[] palette = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            palette[i] = Integer.parseInt(values[i]);
+            if (palette[i] < 0 || palette[i] >= GameSimulation.COLOR_COUNT) {
+                throw new IllegalArgumentException("color " + palette[i] + " is out of range");
+            }
+        }
+        return palette;
+    }
+
+    /**
+     * Returns the first word of a line.
+     */
+    private static String keyword(String line) {
+        int space = line.indexOf(' ');
+        return space < 0 ? line : line.substring(0, space);
+    }
+
+    /**
+     * Returns everything after the first word of a line.
+     */
+    private static String argument(String line) {
+        int space = line.indexOf(' ');
+        return space < 0 ? "" : line.substring(space + 1).strip();
+    }
+}
@@ -0,0 +1,100 @@
+package com.brickbreakergame.managers;
+
+import com.brickbreakergame.Block;
+import com.brickbreakergame.logging.EventLog;
+import com.brickbreakergame.simulation.BlockStore;
+import com.brickbreakergame.simulation.GameSimulation;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Prepares the next level in the background while the current one is being played, so that moving on to it
+ * does not have to wait for the board to be generated or for its images to be decoded.
+ * The board is generated with {@link GameSimulation#prepareBoard(long, int)}, and the background image and block
+ * textures of the level are loaded into the {@link ImageManager} cache, where the level setup finds them.
+ * Only the latest request is kept: asking for another level replaces the one prepared before.
+ */
+public class LevelPrefetcher {
+    private static final ExecutorService prefetchExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "level-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private Future<GameSimulation.PreparedBoard> pendingBoard;
+    private int pendingLevel;
+    private long pendingSeed;
+
+    /**
+     * Starts preparing a level: its board, if the seed it will be played with is known, and its images.
+     * This method must be called on the JavaFX application thread.
+     *
+     * @param level     The level to prepare.
+     * @param seed      The session seed the level will be played with.
+     * @param seedKnown True if the level will be played with this seed, false if only its images can be prepared.
+     */
+    public void prefetch(int level, long seed, boolean seedKnown) {
+        if (pendingBoard != null) {
+            pendingBoard.cancel(false);
+        }
+        pendingLevel = level;
+        pendingSeed = seed;
+        pendingBoard = prefetchExecutor.submit(() -> {
+            GameSimulation.PreparedBoard board = seedKnown ? GameSimulation.prepareBoard(seed, level) : null;
+            ImageManager.getImage(UIManager.getBackgroundImagePath(level));
+            if (board != null) {
+                loadTextures(board.getBlocks());
+            }
+            return board;
+        });
+    }
+
+    /**
+     * Loads the textures of the special blocks on a board.
+     *
+     * @param blocks The blocks of the board.
+     */
+    private static void loadTextures(BlockStore blocks) {
+        for (int i = 0; i < blocks.size(); i++) {
+            int type = blocks.getType(i);
+            if (type == Block.RANDOM) {
+                ImageManager.getPattern("/images/blocks/randomBlock.png");
+            } else if (type == Block.HEART) {
+                ImageManager.getPattern("/images/blocks/heartBlock.png");
+            } else if (type == Block.GOLDEN_TIME) {
+                ImageManager.getPattern("/images/blocks/goldenBallBlock.png");
+            }
+        }
+    }
+
+    /**
+     * Returns the board prepared for a level, waiting for the preparation to finish if it is still running.
+     * Waiting is never slower than generating the board again, since the board is generated the same way.
+     * This method must be called on the JavaFX application thread.
+     *
+     * @param level The level about to be started.
+     * @param seed  The session seed it is started with.
+     * @return The prepared board, or null if no board was prepared for this level and seed.
+     */
+    public GameSimulation.PreparedBoard takeBoard(int level, long seed) {
+        Future<GameSimulation.PreparedBoard> board = pendingBoard;
+        pendingBoard = null;
+        if (board == null || pendingLevel != level || pendingSeed != seed) {
+            if (board != null) {
+                board.cancel(false);
+            }
+            return null;
+        }
+        try {
+            return board.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            EventLog.getInstance().error("Could not prepare level " + level, e.getCause());
+        }
+        return null;
+    }
+}
@@ -0,0 +1,237 @@
+package com.brickbreakergame.managers;
+
+import com.brickbreakergame.GameController;
+import com.brickbreakergame.Main;
+import com.brickbreakergame.SavePaths;
+import com.brickbreakergame.logging.EventLog;
+import com.brickbreakergame.simulation.BlockStore;
+import com.brickbreakergame.simulation.Replay;
+import com.brickbreakergame.simulation.ReplayRecorder;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Manages the save slots of the Brick Breaker game and the periodic autosave.
+ * Every slot is a snapshot file in the save directory, optionally followed by a delta file of autosave records.
+ * All file writes go through a single background writer thread, so save I/O never runs on the game or UI threads.
+ * Autosave captures the game state on the game thread at a fixed tick interval. Between full snapshots it only
+ * writes small delta records holding the game state and the blocks destroyed since the previous autosave.
+ * The recording of the session is written to the replay directory along with every autosave and whenever a level ends.
+ */
+public class SaveManager {
+    public static final String DEFAULT_SLOT = "save";
+    public static final String AUTOSAVE_SLOT = "autosave";
+    private static final String SNAPSHOT_EXTENSION = ".mdds";
+    private static final String DELTA_EXTENSION = ".delta";
+    private static final String REPLAY_DIR = "replays";
+    private static final String REPLAY_EXTENSION = ".bbr";
+    private static final int AUTOSAVE_INTERVAL_TICKS = Main.TICK_RATE * 15; // Fifteen seconds of play
+    private static final int DELTAS_PER_SNAPSHOT = 8;
+    private static final ExecutorService saveWriter = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "save-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Main main;
+    private final BitSet savedDestroyedBlocks = new BitSet();
+    private int ticksSinceAutosave = 0;
+    private int deltasSinceSnapshot = 0;
+    private long autosaveChecksum = -1;
+
+    /**
+     * Constructs a SaveManager for a game.
+     *
+     * @param main The Main instance whose state is autosaved.
+     */
+    public SaveManager(Main main) {
+        this.main = main;
+    }
+
+    /**
+     * Advances the autosave timer by one simulation tick and autosaves once the interval has passed.
+     * This must be called from the game thread, so that the captured state is consistent.
+     */
+    public void onTick() {
+        if (++ticksSinceAutosave < AUTOSAVE_INTERVAL_TICKS) {
+            return;
+        }
+        ticksSinceAutosave = 0;
+        autosave();
+        saveReplay();
+    }
+
+    /**
+     * Queues the recording of the current session to be written to the replay directory, if the session is recorded.
+     * This must be called from the game thread. Only a cheap copy of the recording is taken here; it is encoded
+     * on the save writer thread, so the cost of encoding a long session never lands on a tick.
+     */
+    public void saveReplay() {
+        ReplayRecorder recorder = main.getReplayRecorder();
+        if (recorder.isRecording()) {
+            writeReplay(recorder.getName(), recorder.copy());
+        }
+    }
+
+    /**
+     * Forgets the current autosave snapshot, so that the next autosave writes a full snapshot.
+     * Called whenever the board is replaced, such as on a new level, a restart or after loading a game.
+     */
+    public void resetAutosave() {
+        savedDestroyedBlocks.clear();
+        ticksSinceAutosave = 0;
+        deltasSinceSnapshot = 0;
+        autosaveChecksum = -1;
+    }
+
+    /**
+     * Captures the current game state into the autosave slot. A full snapshot is written for a new board and
+     * after every few deltas; otherwise only a delta record with the newly destroyed blocks is appended.
+     */
+    private void autosave() {
+        if (autosaveChecksum < 0 || deltasSinceSnapshot >= DELTAS_PER_SNAPSHOT) {
+            byte[] snapshot = GameController.encode(main.getSimulation());
+            autosaveChecksum = GameController.getChecksum(snapshot);
+            deltasSinceSnapshot = 0;
+            savedDestroyedBlocks.clear();
+            BlockStore blocks = main.getBlocks();
+            for (int i = 0; i < blocks.size(); i++) {
+                if (!blocks.isAlive(i)) {
+                    savedDestroyedBlocks.set(i);
+                }
+            }
+            writeSnapshot(AUTOSAVE_SLOT, snapshot);
+            return;
+        }
+
+        BlockStore blocks = main.getBlocks();
+        BitSet destroyedBlocks = new BitSet(blocks.size());
+        for (int i = 0; i < blocks.size(); i++) {
+            if (!blocks.isAlive(i) && !savedDestroyedBlocks.get(i)) {
+                destroyedBlocks.set(i);
+            }
+        }
+        savedDestroyedBlocks.or(destroyedBlocks);
+        deltasSinceSnapshot++;
+        appendDelta(AUTOSAVE_SLOT, GameController.encodeDelta(main.getSimulation(), autosaveChecksum, destroyedBlocks));
+    }
+
+    /**
+     * Queues a full snapshot to be written to a save slot. The snapshot replaces the slot's file atomically,
+     * and the slot's delta file is removed because its records belong to the previous snapshot.
+     *
+     * @param slot     The name of the save slot.
+     * @param snapshot The encoded snapshot.
+     */
+    public static void writeSnapshot(String slot, byte[] snapshot) {
+        saveWriter.execute(() -> {
+            try {
+                writeAtomically(getSlotPath(slot), snapshot);
+                Files.deleteIfExists(getDeltaPath(slot));
+            } catch (IOException e) {
+                EventLog.getInstance().error("Could not write save slot " + slot, e);
+            }
+        });
+    }
+
+    /**
+     * Queues a delta record to be appended to a save slot's delta file.
+     *
+     * @param slot  The name of the save slot.
+     * @param delta The encoded delta record.
+     */
+    public static void appendDelta(String slot, byte[] delta) {
+        saveWriter.execute(() -> {
+            try {
+                Files.write(getDeltaPath(slot), delta, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                EventLog.getInstance().error("Could not append to save slot " + slot, e);
+            }
+        });
+    }
+
+    /**
+     * Queues a replay to be encoded and written to the replay directory, replacing an earlier version of the same
+     * recording. The replay is encoded on the save writer thread, so it must not change after it is queued.
+     *
+     * @param name   The name of the recording.
+     * @param replay The replay, such as a copy of the recording in progress.
+     */
+    public static void writeReplay(String name, Replay replay) {
+        saveWriter.execute(() -> {
+            try {
+                writeAtomically(getReplayPath(name), replay.encode());
+            } catch (IOException e) {
+                EventLog.getInstance().error("Could not write replay " + name, e);
+            }
+        });
+    }
+
+    /**
+     * Returns the path of the file for a recorded session.
+     *
+     * @param name The name of the recording.
+     * @return The path of the replay file.
+     */
+    public static Path getReplayPath(String name) {
+        return Paths.get(SavePaths.SAVE_PATH_DIR, REPLAY_DIR, name + REPLAY_EXTENSION);
+    }
+
+    /**
+     * Returns the path of the snapshot file for a save slot.
+     *
+     * @param slot The name of the save slot.
+     * @return The path of the slot's snapshot file.
+     */
+    public static Path getSlotPath(String slot) {
+        return Paths.get(SavePaths.SAVE_PATH_DIR, slot + SNAPSHOT_EXTENSION);
+    }
+
+    /**
+     * Returns the path of the delta file for a save slot.
+     *
+     * @param slot The name of the save slot.
+     * @return The path of the slot's delta file.
+     */
+    public static Path getDeltaPath(String slot) {
+        return Paths.get(SavePaths.SAVE_PATH_DIR, slot + DELTA_EXTENSION);
+    }
+
+    /**
+     * Checks whether a save slot has a snapshot file.
+     *
+     * @param slot The name of the save slot.
+     * @return True if the slot exists, false otherwise.
+     */
+    public static boolean hasSlot(String slot) {
+        return Files.exists(getSlotPath(slot));
+    }
+
+    /**
+     * Writes data to a temporary file next to the target and then renames it over the target,
+     * so readers only ever see either the previous file or the complete new one.
+     *
+     * @param target The file to write.
+     * @param data   The complete file contents.
+     * @throws IOException If the file cannot be written or moved into place.
+     */
+    private static void writeAtomically(Path target, byte[] data) throws IOException {
+        Files.createDirectories(target.toAbsolutePath().getParent());
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        Files.write(temp, data);
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.brickbreakergame.managers;
+
+import javafx.scene.media.Media;
+import javafx.scene.media.MediaPlayer;
+
+import java.io.File;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Holds a fixed pool of reusable media players (voices) for a single sound effect.
+ * The media is loaded once and shared by every voice, so playing the effect never creates new players.
+ * When every voice is busy, the voice that was started longest ago is stopped and reused.
+ * Instances are only driven from the sound effect thread owned by {@link SoundManager}.
+ */
+class SoundEffectPool {
+    private final MediaPlayer[] voices;
+    private final AtomicBoolean[] busy;
+    private int nextVoice = 0;
+
+    /**
+     * Constructs a SoundEffectPool and preloads all of its voices.
+     *
+     * @param soundFile  The file path of the sound effect.
+     * @param voiceCount The number of voices that can play this effect at the same time.
+     */
+    SoundEffectPool(String soundFile, int voiceCount) {
+        Media sound = new Media(new File(soundFile).toURI().toString());
+        voices = new MediaPlayer[voiceCount];
+        busy = new AtomicBoolean[voiceCount];
+
+        for (int i = 0; i < voiceCount; i++) {
+            final AtomicBoolean voiceBusy = new AtomicBoolean(false);
+            MediaPlayer voice = new MediaPlayer(sound);
+            voice.setOnEndOfMedia(() -> voiceBusy.set(false));
+            voices[i] = voice;
+            busy[i] = voiceBusy;
+        }
+    }
+
+    /**
+     * Plays the effect on a free voice, or steals the oldest voice if all of them are busy.
+     *
+     * @param volume The volume level (0.0 to 1.0) for this playback.
+     */
+    void play(double volume) {
+        int voiceIndex = nextVoice;
+        for (int i = 0; i < voices.length; i++) {
+            int candidate = (nextVoice + i) % voices.length;
+            if (!busy[candidate].get()) {
+                voiceIndex = candidate;
+                break;
+            }
+        }
+        nextVoice = (voiceIndex + 1) % voices.length;
+
+        MediaPlayer voice = voices[voiceIndex];
+        busy[voiceIndex].set(true);
+        voice.stop();
+        voice.setVolume(volume);
+        voice.play();
+    }
+}
@@ -1,11 +1,16 @@
 package com.brickbreakergame.managers;
 
+import com.brickbreakergame.logging.EventLog;
 import javafx.scene.media.Media;
 import javafx.scene.media.MediaPlayer;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Manages sound effects and background music for the Brick Breaker game.
@@ -13,10 +18,37 @@ import java.util.List;
  * It supports playing different sound effects for game events like button clicks, collecting bonuses, and more.
  * Background music can be started, stopped, and its volume can be controlled.
  * Sound effects for specific game events are managed through individual methods.
+ * Sound effects are preloaded into pools of reusable voices and played on a dedicated background thread,
+ * so they can be triggered from any thread without blocking it.
  */
 public class SoundManager {
     private static MediaPlayer backgroundMediaPlayer;
     private static final List<String> musicFiles = new ArrayList<>();
+    private static final int DEFAULT_VOICES = 2;
+    private static final int RAPID_EFFECT_VOICES = 4;
+    private static final String BLOCK_HIT = "src/main/resources/Sound Effects/blockHit.mp3";
+    private static final String PADDLE_BOUNCE = "src/main/resources/Sound Effects/paddleBounce.mp3";
+    private static final String[] soundEffectFiles = {
+            "src/main/resources/Sound Effects/buttonClickSound.mp3",
+            "src/main/resources/Sound Effects/heartBonus.mp3",
+            PADDLE_BOUNCE,
+            "src/main/resources/Sound Effects/Menus/pauseMenu.mp3",
+            "src/main/resources/Sound Effects/ballHitFloor.mp3",
+            "src/main/resources/Sound Effects/levelUp.mp3",
+            "src/main/resources/Sound Effects/gameOver.mp3",
+            "src/main/resources/Sound Effects/winSound.mp3",
+            "src/main/resources/Sound Effects/goldBallPowerUp.mp3",
+            "src/main/resources/Sound Effects/muteSoundPauseMenu.mp3",
+            BLOCK_HIT,
+            "src/main/resources/Sound Effects/collectBonus.mp3",
+            "src/main/resources/Sound Effects/Menus/menuOpen.mp3"
+    };
+    private static final Map<String, SoundEffectPool> soundEffects = new ConcurrentHashMap<>();
+    private static final ExecutorService soundEffectExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sound-effects");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     static {
         Collections.addAll(musicFiles,
@@ -31,7 +63,7 @@ public class SoundManager {
      */
     public static void startRandomBackgroundMusic() {
         if (musicFiles.isEmpty()) {
-            System.err.println("No music files available.");
+            EventLog.getInstance().error("No music files available.", null);
             return;
         }
 
@@ -46,6 +78,36 @@ public class SoundManager {
         startBackgroundMusic(musicFilePath);
     }
 
+    /**
+     * Loads every sound effect into its voice pool ahead of time, so the first playback of an effect
+     * during gameplay does not have to decode the file. Loading happens on the sound effect thread.
+     */
+    public static void preloadSoundEffects() {
+        soundEffectExecutor.execute(() -> {
+            for (String soundFile : soundEffectFiles) {
+                try {
+                    getSoundEffect(soundFile);
+                } catch (Exception e) {
+                    EventLog.getInstance().error("Error loading sound effect " + soundFile, e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Retrieves the voice pool for a sound effect, creating it on first use.
+     * Frequently repeated effects such as block hits and bounces get more voices.
+     *
+     * @param soundFile The file path of the sound effect.
+     * @return The voice pool for the sound effect.
+     */
+    private static SoundEffectPool getSoundEffect(String soundFile) {
+        return soundEffects.computeIfAbsent(soundFile, file -> {
+            boolean rapidEffect = file.equals(BLOCK_HIT) || file.equals(PADDLE_BOUNCE);
+            return new SoundEffectPool(file, rapidEffect ? RAPID_EFFECT_VOICES : DEFAULT_VOICES);
+        });
+    }
+
     /**
      * Plays a sound effect from the specified file path.
      * Handles exceptions by logging error messages. Adjusts the volume of the sound effect before playing.
@@ -53,14 +115,25 @@ public class SoundManager {
      * @param soundFile The file path of the sound effect to play.
      */
     private static void playSound(String soundFile) {
-        try {
-            Media sound = new Media(new File(soundFile).toURI().toString());
-            MediaPlayer mediaPlayer = new MediaPlayer(sound);
-            mediaPlayer.play();
-            setVolume(1);
-        } catch (Exception e) {
-            System.err.println("Error playing sound: " + e.getMessage());
-        }
+        playSound(soundFile, 1);
+        setVolume(1);
+    }
+
+    /**
+     * Queues a sound effect to be played at the given volume on the sound effect thread.
+     * The call returns immediately, so it is safe to use from the physics thread.
+     *
+     * @param soundFile The file path of the sound effect to play.
+     * @param volume    The volume level (0.0 to 1.0) for this sound effect.
+     */
+    private static void playSound(String soundFile, double volume) {
+        soundEffectExecutor.execute(() -> {
+            try {
+                getSoundEffect(soundFile).play(volume);
+            } catch (Exception e) {
+                EventLog.getInstance().error("Error playing sound " + soundFile, e);
+            }
+        });
     }
 
     /**
@@ -81,7 +154,7 @@ public class SoundManager {
      * Plays a paddle bounce sound effect.
      */
     public static void paddleBounceSound() {
-        playSound("src/main/resources/Sound Effects/paddleBounce.mp3");
+        playSound(PADDLE_BOUNCE);
     }
 
     /**
@@ -137,23 +210,15 @@ public class SoundManager {
      * Plays a sound effect when a block is hit.
      */
     public static void blockHit() {
-        playSound("src/main/resources/Sound Effects/blockHit.mp3");
+        playSound(BLOCK_HIT);
     }
 
     /**
      * Plays a sound effect when the player collects a bonus.
      * Sets the volume level for this specific sound effect before playing it.
      */
-    // To modify the volume, the function must be re-initialized. It can't have a global variable to control every minor sound.
     public static void collectBonus() {
-        try {
-            Media sound = new Media(new File("src/main/resources/Sound Effects/collectBonus.mp3").toURI().toString());
-            MediaPlayer mediaPlayer = new MediaPlayer(sound);
-            mediaPlayer.setVolume(0.4);
-            mediaPlayer.play();
-        } catch (Exception e) {
-            System.err.println("Error playing sound effect: " + e.getMessage());
-        }
+        playSound("src/main/resources/Sound Effects/collectBonus.mp3", 0.4);
     }
 
     /**
@@ -179,7 +244,7 @@ public class SoundManager {
             backgroundMediaPlayer.setCycleCount(MediaPlayer.INDEFINITE);
             backgroundMediaPlayer.play();
         } catch (Exception e) {
-            System.err.println("Error playing background music: " + e.getMessage());
+            EventLog.getInstance().error("Error playing background music " + musicFilePath, e);
         }
     }
 
@@ -1,6 +1,6 @@
 package com.brickbreakergame.managers;
 
-import javafx.application.Platform;
+import com.brickbreakergame.logging.EventLog;
 import javafx.scene.control.Label;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
@@ -17,6 +17,9 @@ public class UIManager {
     private Label heartLabel;
     private Label scoreLabel;
     private Label levelLabel;
+    private HBox labelsContainer;
+    private int shownScore;
+    private int shownHeart;
 
 
     /**
@@ -32,16 +35,26 @@ public class UIManager {
     /**
      * Creates and displays labels for the heart count, score, and level on the UI.
      * Arranges these labels in a visually appealing manner for the player.
+     * The labels are created for the first game; later levels and games update their text and add them again.
      *
      * @param heart The current heart count to display.
      * @param score The current score to display.
      * @param level The current level to display.
      */
     public void makeHeartScore(int heart, int score, int level) {
-        createLevelLabel(level);
-        createScoreLabel(score);
-        createHeartLabel(heart);
-        arrangeLabelsOnUI();
+        if (labelsContainer == null) {
+            createLevelLabel(level);
+            createScoreLabel(score);
+            createHeartLabel(heart);
+            arrangeLabelsOnUI();
+            return;
+        }
+        levelLabel.setText("Level: " + level);
+        shownScore = score;
+        scoreLabel.setText("Coins: " + score);
+        shownHeart = heart;
+        heartLabel.setText("Hearts: " + heart);
+        root.getChildren().add(labelsContainer);
     }
 
     /**
@@ -58,16 +71,30 @@ public class UIManager {
 
     /**
      * Updates the score displayed on the UI.
-     * Modifies the score label to reflect the current score.
+     * Modifies the score label to reflect the current score; the label is left alone if the score is unchanged.
+     * This method must be called on the JavaFX application thread.
      *
      * @param score The updated score to display.
      */
     public void setScore(int score) {
-        Platform.runLater(() -> {
-            if (scoreLabel != null) {
-                scoreLabel.setText("Coins: " + score);
-            }
-        });
+        if (scoreLabel != null && score != shownScore) {
+            shownScore = score;
+            scoreLabel.setText("Coins: " + score);
+        }
+    }
+
+    /**
+     * Updates the heart count displayed on the UI.
+     * Modifies the heart label to reflect the current heart count; the label is left alone if the count is unchanged.
+     * This method must be called on the JavaFX application thread.
+     *
+     * @param heart The updated heart count to display.
+     */
+    public void setHeart(int heart) {
+        if (heartLabel != null && heart != shownHeart) {
+            shownHeart = heart;
+            heartLabel.setText("Hearts: " + heart);
+        }
     }
 
     /**
@@ -78,8 +105,7 @@ public class UIManager {
      * @param level The current game level to be displayed on the label.
      */
     private void createLevelLabel(int level) {
-        Image levelImage = new Image("/images/level.png");
-        ImageView levelImageView = new ImageView(levelImage);
+        ImageView levelImageView = new ImageView(ImageManager.getImage("/images/level.png"));
         levelImageView.setFitHeight(25);
         levelImageView.setFitWidth(25);
         levelLabel = new Label("Level: " + level, levelImageView);
@@ -94,11 +120,11 @@ public class UIManager {
      * @param score The current score to be displayed on the label.
      */
     private void createScoreLabel(int score) {
-        Image coinImage = new Image("/images/coins.png");
-        ImageView coinImageView = new ImageView(coinImage);
+        ImageView coinImageView = new ImageView(ImageManager.getImage("/images/coins.png"));
         coinImageView.setFitHeight(25);
         coinImageView.setFitWidth(25);
         scoreLabel = new Label("Coins: " + score, coinImageView);
+        shownScore = score;
         root.getChildren().add(scoreLabel);
     }
 
@@ -111,11 +137,11 @@ public class UIManager {
      * @param heart The current heart count to be displayed on the label.
      */
     private void createHeartLabel(int heart) {
-        Image heartImage = new Image("/images/heart.png");
-        ImageView heartImageView = new ImageView(heartImage);
+        ImageView heartImageView = new ImageView(ImageManager.getImage("/images/heart.png"));
         heartImageView.setFitHeight(25);
         heartImageView.setFitWidth(25);
         heartLabel = new Label("Hearts: " + heart, heartImageView);
+        shownHeart = heart;
         root.getChildren().add(heartLabel);
     }
 
@@ -125,7 +151,7 @@ public class UIManager {
      * The labels are spaced consistently and their styles are defined in the game's CSS.
      */
     private void arrangeLabelsOnUI() {
-        HBox labelsContainer = new HBox(10);
+        labelsContainer = new HBox(10);
         labelsContainer.setTranslateX(44);
         labelsContainer.getChildren().addAll(levelLabel, scoreLabel, heartLabel);
         labelsContainer.getStyleClass().add("label-container");
@@ -139,12 +165,7 @@ public class UIManager {
      * @param level The current level for which the background image needs to be updated.
      */
     public void updateBackgroundImage(int level) {
-        String backgroundImagePath = "/images/Background Images/backgroundImage-" + level + ".png";
-        if (getClass().getResource(backgroundImagePath) == null) {
-            System.err.println("Background image not found for level " + level + ": " + backgroundImagePath);
-            backgroundImagePath = "/images/Background Images/defaultBackground.png";
-        }
-        Image bgImage = new Image(backgroundImagePath);
+        Image bgImage = ImageManager.getImage(getBackgroundImagePath(level));
         BackgroundImage backgroundImage = new BackgroundImage(bgImage,
                 BackgroundRepeat.NO_REPEAT,
                 BackgroundRepeat.NO_REPEAT,
@@ -152,4 +173,20 @@ public class UIManager {
                 BackgroundSize.DEFAULT);
         this.root.setBackground(new Background(backgroundImage));
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the resource path of the background image of a level, or of the default background
+     * if the level has no image of its own.
+     *
+     * @param level The level.
+     * @return The resource path of the level's background image.
+     */
+    public static String getBackgroundImagePath(int level) {
+        String backgroundImagePath = "/images/Background Images/backgroundImage-" + level + ".png";
+        if (UIManager.class.getResource(backgroundImagePath) == null) {
+            EventLog.getInstance().info("Background image not found for level " + level + ": " + backgroundImagePath);
+            backgroundImagePath = "/images/Background Images/defaultBackground.png";
+        }
+        return backgroundImagePath;
+    }
+}
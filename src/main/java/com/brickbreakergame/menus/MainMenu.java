@@ -3,6 +3,9 @@ package com.brickbreakergame.menus;
 import com.brickbreakergame.GameController;
 import com.brickbreakergame.Main;
 import com.brickbreakergame.managers.AnimationManager;
+import com.brickbreakergame.managers.ImageManager;
+import com.brickbreakergame.managers.LevelManager;
+import com.brickbreakergame.managers.SaveManager;
 import com.brickbreakergame.managers.SoundManager;
 import javafx.application.Platform;
 import javafx.scene.Scene;
@@ -17,7 +20,8 @@ import java.util.function.Consumer;
 
 /**
  * The MainMenu class represents the main menu of the game.
- * It displays options to start a new game, load a saved game, or exit the application.
+ * It displays options to start a new game, load a saved game, or exit the application,
+ * and to continue from the latest autosave when there is one.
  */
 public class MainMenu {
     private final Stage primaryStage;
@@ -47,7 +51,10 @@ public class MainMenu {
         menuOptions.setTranslateX(135);
         menuOptions.setTranslateY(250);
         primaryStage.setTitle("The Incredible Block Breaker Menu");
-        primaryStage.getIcons().add(new Image("/images/Main Menu/favicon.png"));
+        Image favicon = ImageManager.getImage("/images/Main Menu/favicon.png");
+        if (!primaryStage.getIcons().contains(favicon)) {
+            primaryStage.getIcons().add(favicon);
+        }
         primaryStage.setResizable(false);
         root.getStyleClass().add("background-pane");
        SoundManager.soundMenu();
@@ -72,6 +79,20 @@ public class MainMenu {
 
         Button exitButton = createButton("/images/Main Menu/quitGame.png", e -> Platform.exit());
 
+        // The autosave is offered separately, so it never hides the game the player saved
+        if (SaveManager.hasSlot(SaveManager.AUTOSAVE_SLOT)) {
+            Button continueButton = new Button("Continue");
+            continueButton.getStyleClass().add("continue-button");
+            continueButton.setPrefWidth(230);
+            continueButton.setOnAction(e -> {
+                System.out.println("\u001B[34m" + "Continuing From Autosave" + "\u001B[0m"); // Blue text
+                SoundManager.buttonClickSound();
+                SoundManager.startRandomBackgroundMusic();
+                GameController gameController = new GameController();
+                gameController.loadGame(mainGame, primaryStage, SaveManager.AUTOSAVE_SLOT);
+            });
+            menuOptions.getChildren().add(continueButton);
+        }
         menuOptions.getChildren().addAll(startNewGameButton, loadGameButton, exitButton);
         root.getChildren().add(menuOptions);
 
@@ -136,7 +157,8 @@ public class MainMenu {
 
     /**
      * Initiates the process of starting a new game.
-     * Handles the transition from the main menu to the game scene and creates a new instance of the Main game class.
+     * Handles the transition from the main menu to the game scene and restarts the game from the first level,
+     * reusing the game's scene and engine.
      * Verifies the primary stage's scene is not null before proceeding to start the game.
      */
     private void startNewGame() {
@@ -145,9 +167,6 @@ public class MainMenu {
             return;
         }
 
-        animationManager.startTransition(primaryStage, () -> {
-            Main game = new Main();
-            game.newGame(primaryStage);
-        });
+        animationManager.startTransition(primaryStage, () -> new LevelManager(mainGame, primaryStage).restartGame());
     }
 }
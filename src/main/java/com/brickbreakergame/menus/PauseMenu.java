@@ -2,6 +2,7 @@ package com.brickbreakergame.menus;
 import com.brickbreakergame.GameController;
 import com.brickbreakergame.managers.AnimationManager;
 import com.brickbreakergame.managers.LevelManager;
+import com.brickbreakergame.managers.SaveManager;
 
 import com.brickbreakergame.GameEngine;
 import com.brickbreakergame.Main;
@@ -26,7 +27,7 @@ import javafx.scene.effect.GaussianBlur;
  * Represents the in-game pause menu for the Brick Breaker game.
  * This class is responsible for managing the pause menu interface, providing players with various options
  * during gameplay interruption. The menu offers functionalities such as resuming the game, saving progress,
- * loading a saved game, restarting the current game, or quitting the game entirely. Additionally, the pause menu
+ * loading the saved game or the latest autosave, restarting the current game, or quitting the game entirely. Additionally, the pause menu
  * allows players to access and modify sound settings.
  */
 public class PauseMenu {
@@ -139,6 +140,16 @@ public class PauseMenu {
             pauseStage.close();
         });
 
+        Button loadAutosaveButton = createButton("Load Autosave", e -> {
+            SoundManager.buttonClickSound();
+            animationManager.fadeOutMenu(pauseLayout, pauseStage);
+            GameController gameController = new GameController();
+            gameController.loadGame(main, Main.getPrimaryStage(), SaveManager.AUTOSAVE_SLOT);
+            System.out.println("\u001B[34m" + "Autosave Loaded" + "\u001B[0m"); // Blue text
+            pauseStage.close();
+        });
+        loadAutosaveButton.setDisable(!SaveManager.hasSlot(SaveManager.AUTOSAVE_SLOT));
+
         Button restartButton = createButton("Restart Game", e -> {
             SoundManager.buttonClickSound();
             animationManager.startTransition(Main.getPrimaryStage(), () -> {
@@ -154,7 +165,7 @@ public class PauseMenu {
             System.exit(0);
         });
 
-        pauseLayout.getChildren().addAll(resumeButton, soundButton, saveButton, loadButton, restartButton, quitButton);
+        pauseLayout.getChildren().addAll(resumeButton, soundButton, saveButton, loadButton, loadAutosaveButton, restartButton, quitButton);
         SoundManager.pauseMenuMusic();
     }
 
@@ -1,5 +1,6 @@
 package com.brickbreakergame.menus;
 import com.brickbreakergame.managers.AnimationManager;
+import com.brickbreakergame.managers.ImageManager;
 import com.brickbreakergame.managers.SoundManager;
 
 import javafx.geometry.Pos;
@@ -86,7 +87,7 @@ public class SoundMenu {
      * @return The Button control for muting/unmuting audio.
      */
     public static Button createMuteButton() {
-        Image iconImage = isMuted ? new Image("/images/sound menu/playMusic.png") : new Image("/images/sound menu/muteMusic.png");
+        Image iconImage = isMuted ? ImageManager.getImage("/images/sound menu/playMusic.png") : ImageManager.getImage("/images/sound menu/muteMusic.png");
         ImageView muteIcon = new ImageView(iconImage);
         muteIcon.setFitWidth(60);
         muteIcon.setFitHeight(60);
@@ -98,7 +99,7 @@ public class SoundMenu {
             isMuted = !isMuted;
             SoundManager.toggleMuteBackgroundMusic();
             SoundManager.muteSoundPauseMenu();
-            muteIcon.setImage(isMuted ? new Image("/images/sound menu/playMusic.png") : new Image("/images/sound menu/muteMusic.png"));
+            muteIcon.setImage(isMuted ? ImageManager.getImage("/images/sound menu/playMusic.png") : ImageManager.getImage("/images/sound menu/muteMusic.png"));
         });
         return muteButton;
     }
@@ -0,0 +1,466 @@
+package com.brickbreakergame.metrics;
+
+import com.brickbreakergame.RenderBuffer;
+import com.brickbreakergame.simulation.InputQueue;
+import javafx.application.Platform;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Collects the runtime metrics of the game, to show when and why frame pacing degrades.
+ * On the simulation thread it records how long each tick and each of its phases take, how late each tick starts
+ * compared to its schedule, how many ticks are dropped when the engine falls too far behind, and how many collisions
+ * each tick resolves. On the JavaFX application thread it records the interval between render pulses and how long
+ * each pulse takes. A probe posted to {@link Platform#runLater} at regular intervals measures how long work waits
+ * in the JavaFX event queue, and the allocation rate of both threads is sampled once per second.
+ * <p>
+ * There is a single instance per application, published over JMX as {@code com.brickbreakergame:type=GameMetrics}
+ * and shown in game by the {@link MetricsOverlay}. Recording never allocates and never blocks.
+ */
+public class GameMetrics implements GameMetricsMBean {
+    private static final String OBJECT_NAME = "com.brickbreakergame:type=GameMetrics";
+    private static final int FX_PROBE_INTERVAL_TICKS = 30;
+    private static final long ALLOCATION_SAMPLE_NANOS = 1_000_000_000L;
+    private static final double NANOS_PER_MICRO = 1_000.0;
+    private static GameMetrics instance;
+
+    // Recorded on the simulation thread
+    private final LatencyHistogram tickNanos = new LatencyHistogram();
+    private final LatencyHistogram physicsNanos = new LatencyHistogram();
+    private final LatencyHistogram updateNanos = new LatencyHistogram();
+    private final LatencyHistogram latenessNanos = new LatencyHistogram();
+    private final LatencyHistogram collisions = new LatencyHistogram();
+    private final AllocationRate simulationAllocation = new AllocationRate();
+    private volatile long droppedTicks = 0;
+    private int ticksSinceFxProbe = 0;
+
+    // Recorded on the JavaFX application thread
+    private final LatencyHistogram frameIntervalNanos = new LatencyHistogram();
+    private final LatencyHistogram renderNanos = new LatencyHistogram();
+    private final LatencyHistogram fxQueueDelayNanos = new LatencyHistogram();
+    private final AllocationRate renderAllocation = new AllocationRate();
+    private volatile boolean fxProbePending = false;
+    private volatile long fxProbePosted;
+    private final Runnable fxProbe = () -> {
+        fxQueueDelayNanos.record(System.nanoTime() - fxProbePosted);
+        fxProbePending = false;
+    };
+
+    // Sources of the game in progress
+    private volatile InputQueue inputQueue;
+    private volatile RenderBuffer renderBuffer;
+
+    // Start of the current measurement interval
+    private volatile Baseline baseline = new Baseline();
+
+    /**
+     * Holds the state of every counter at the start of a measurement interval.
+     */
+    private static final class Baseline {
+        private LatencyHistogram.Snapshot tick;
+        private LatencyHistogram.Snapshot physics;
+        private LatencyHistogram.Snapshot update;
+        private LatencyHistogram.Snapshot lateness;
+        private LatencyHistogram.Snapshot collisions;
+        private LatencyHistogram.Snapshot frameInterval;
+        private LatencyHistogram.Snapshot render;
+        private LatencyHistogram.Snapshot fxQueueDelay;
+        private long droppedTicks;
+        private long coalescedFrames;
+        private long inputApplied;
+        private long inputLatencyNanos;
+    }
+
+    /**
+     * Measures how many bytes a thread allocates per second, if the JVM supports it.
+     * Each instance is sampled by a single thread.
+     */
+    private static final class AllocationRate {
+        private long lastBytes = -1;
+        private long lastSample;
+        private volatile long bytesPerSecond = 0;
+
+        /**
+         * Updates the rate once a sampling period has passed. This must be called on the measured thread.
+         *
+         * @param now The current time, from {@link System#nanoTime()}.
+         */
+        private void sample(long now) {
+            if (lastBytes >= 0 && now - lastSample < ALLOCATION_SAMPLE_NANOS) {
+                return;
+            }
+            long bytes = currentThreadAllocatedBytes();
+            if (bytes < 0) {
+                return;
+            }
+            if (lastBytes >= 0) {
+                bytesPerSecond = (long) ((bytes - lastBytes) * 1e9 / (now - lastSample));
+            }
+            lastBytes = bytes;
+            lastSample = now;
+        }
+    }
+
+    /**
+     * Returns the metrics of the application, creating them and publishing them over JMX on first use.
+     *
+     * @return The GameMetrics instance.
+     */
+    public static synchronized GameMetrics getInstance() {
+        if (instance == null) {
+            instance = new GameMetrics();
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(instance, new ObjectName(OBJECT_NAME));
+            } catch (JMException e) {
+                System.err.println("Game metrics are not available over JMX: " + e.getMessage());
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Sets the input queue and render buffer of the game in progress, whose counters are reported with the metrics.
+     *
+     * @param inputQueue   The input queue of the game.
+     * @param renderBuffer The render buffer of the game.
+     */
+    public void watch(InputQueue inputQueue, RenderBuffer renderBuffer) {
+        this.inputQueue = inputQueue;
+        this.renderBuffer = renderBuffer;
+    }
+
+    /**
+     * Records a simulation tick. This method must be called on the simulation thread.
+     *
+     * @param latenessNanos How long after its scheduled time the tick started.
+     * @param physicsNanos  How long the physics phase took.
+     * @param updateNanos   How long the update and time phases took.
+     */
+    public void recordTick(long latenessNanos, long physicsNanos, long updateNanos) {
+        this.latenessNanos.record(latenessNanos);
+        this.physicsNanos.record(physicsNanos);
+        this.updateNanos.record(updateNanos);
+        tickNanos.record(physicsNanos + updateNanos);
+        simulationAllocation.sample(System.nanoTime());
+        probeFxQueue();
+    }
+
+    /**
+     * Records ticks that the engine skipped because it fell too far behind real time.
+     * This method must be called on the simulation thread.
+     *
+     * @param ticks The number of ticks dropped.
+     */
+    public void recordDroppedTicks(long ticks) {
+        droppedTicks += ticks;
+    }
+
+    /**
+     * Records the number of collisions resolved by a tick. This method must be called on the simulation thread.
+     *
+     * @param count The number of collisions.
+     */
+    public void recordCollisions(int count) {
+        collisions.record(count);
+    }
+
+    /**
+     * Records a render pulse. This method must be called on the JavaFX application thread.
+     *
+     * @param intervalNanos The time since the previous pulse.
+     * @param renderNanos   How long the pulse took to draw the game.
+     */
+    public void recordFrame(long intervalNanos, long renderNanos) {
+        frameIntervalNanos.record(intervalNanos);
+        this.renderNanos.record(renderNanos);
+        renderAllocation.sample(System.nanoTime());
+    }
+
+    /**
+     * Posts a timestamped probe to the JavaFX event queue every few ticks, unless the previous one is still
+     * waiting, and records how long it waited before it ran.
+     */
+    private void probeFxQueue() {
+        if (++ticksSinceFxProbe < FX_PROBE_INTERVAL_TICKS || fxProbePending) {
+            return;
+        }
+        ticksSinceFxProbe = 0;
+        fxProbePending = true;
+        fxProbePosted = System.nanoTime();
+        try {
+            Platform.runLater(fxProbe);
+        } catch (IllegalStateException e) {
+            // The JavaFX toolkit is not running, so there is no queue to measure
+            fxProbePending = false;
+        }
+    }
+
+    @Override
+    public void resetStatistics() {
+        Baseline next = new Baseline();
+        next.tick = tickNanos.snapshot();
+        next.physics = physicsNanos.snapshot();
+        next.update = updateNanos.snapshot();
+        next.lateness = latenessNanos.snapshot();
+        next.collisions = collisions.snapshot();
+        next.frameInterval = frameIntervalNanos.snapshot();
+        next.render = renderNanos.snapshot();
+        next.fxQueueDelay = fxQueueDelayNanos.snapshot();
+        next.droppedTicks = droppedTicks;
+        next.coalescedFrames = getTotalCoalescedFrames();
+        InputQueue input = inputQueue;
+        if (input != null) {
+            next.inputApplied = input.getAppliedCount();
+            next.inputLatencyNanos = input.getTotalLatencyNanos();
+        }
+        baseline = next;
+    }
+
+    /**
+     * Returns the histogram of the duration of each tick, in nanoseconds, since the game started.
+     *
+     * @return The histogram.
+     */
+    public LatencyHistogram getTickHistogram() {
+        return tickNanos;
+    }
+
+    /**
+     * Returns the histogram of the duration of the physics phase of each tick, in nanoseconds, since the game started.
+     *
+     * @return The histogram.
+     */
+    public LatencyHistogram getPhysicsHistogram() {
+        return physicsNanos;
+    }
+
+    /**
+     * Returns the histogram of the duration of the update phase of each tick, in nanoseconds, since the game started.
+     *
+     * @return The histogram.
+     */
+    public LatencyHistogram getUpdateHistogram() {
+        return updateNanos;
+    }
+
+    /**
+     * Returns the histogram of how late each tick starts compared to its schedule, in nanoseconds, since the game started.
+     *
+     * @return The histogram.
+     */
+    public LatencyHistogram getLatenessHistogram() {
+        return latenessNanos;
+    }
+
+    /**
+     * Returns the histogram of the number of collisions each tick resolves, since the game started.
+     *
+     * @return The histogram.
+     */
+    public LatencyHistogram getCollisionHistogram() {
+        return collisions;
+    }
+
+    /**
+     * Returns the histogram of the interval between render pulses, in nanoseconds, since the game started.
+     *
+     * @return The histogram.
+     */
+    public LatencyHistogram getFrameIntervalHistogram() {
+        return frameIntervalNanos;
+    }
+
+    /**
+     * Returns the histogram of the duration of each render pulse, in nanoseconds, since the game started.
+     *
+     * @return The histogram.
+     */
+    public LatencyHistogram getRenderHistogram() {
+        return renderNanos;
+    }
+
+    /**
+     * Returns the histogram of how long work waits in the JavaFX event queue, in nanoseconds, since the game started.
+     *
+     * @return The histogram.
+     */
+    public LatencyHistogram getFxQueueDelayHistogram() {
+        return fxQueueDelayNanos;
+    }
+
+    /**
+     * Returns the number of frames the simulation published that the view never drew, since the game started.
+     *
+     * @return The number of coalesced frames.
+     */
+    public long getTotalCoalescedFrames() {
+        RenderBuffer buffer = renderBuffer;
+        return buffer != null ? buffer.getCoalescedFrameCount() : 0;
+    }
+
+    /**
+     * Returns the number of ticks dropped by the engine since the game started.
+     *
+     * @return The number of dropped ticks.
+     */
+    public long getTotalDroppedTicks() {
+        return droppedTicks;
+    }
+
+    /**
+     * Returns the input queue of the game in progress.
+     *
+     * @return The input queue, or null if no game has started.
+     */
+    public InputQueue getInputQueue() {
+        return inputQueue;
+    }
+
+    @Override
+    public long getTickCount() {
+        return tickNanos.snapshot().since(baseline.tick).getCount();
+    }
+
+    @Override
+    public long getDroppedTickCount() {
+        return droppedTicks - baseline.droppedTicks;
+    }
+
+    @Override
+    public double getTickMeanMicros() {
+        return tickNanos.snapshot().since(baseline.tick).getMean() / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public long getTickP99Micros() {
+        return toMicros(tickNanos.snapshot().since(baseline.tick).getValueAtPercentile(99));
+    }
+
+    @Override
+    public long getTickMaxMicros() {
+        return toMicros(tickNanos.snapshot().since(baseline.tick).getMax());
+    }
+
+    @Override
+    public long getPhysicsP99Micros() {
+        return toMicros(physicsNanos.snapshot().since(baseline.physics).getValueAtPercentile(99));
+    }
+
+    @Override
+    public long getUpdateP99Micros() {
+        return toMicros(updateNanos.snapshot().since(baseline.update).getValueAtPercentile(99));
+    }
+
+    @Override
+    public long getTickLatenessP50Micros() {
+        return toMicros(latenessNanos.snapshot().since(baseline.lateness).getValueAtPercentile(50));
+    }
+
+    @Override
+    public long getTickLatenessP99Micros() {
+        return toMicros(latenessNanos.snapshot().since(baseline.lateness).getValueAtPercentile(99));
+    }
+
+    @Override
+    public long getTickLatenessMaxMicros() {
+        return toMicros(latenessNanos.snapshot().since(baseline.lateness).getMax());
+    }
+
+    @Override
+    public long getFrameIntervalP50Micros() {
+        return toMicros(frameIntervalNanos.snapshot().since(baseline.frameInterval).getValueAtPercentile(50));
+    }
+
+    @Override
+    public long getFrameIntervalP99Micros() {
+        return toMicros(frameIntervalNanos.snapshot().since(baseline.frameInterval).getValueAtPercentile(99));
+    }
+
+    @Override
+    public long getFrameIntervalMaxMicros() {
+        return toMicros(frameIntervalNanos.snapshot().since(baseline.frameInterval).getMax());
+    }
+
+    @Override
+    public long getRenderP99Micros() {
+        return toMicros(renderNanos.snapshot().since(baseline.render).getValueAtPercentile(99));
+    }
+
+    @Override
+    public long getFxQueueDelayP99Micros() {
+        return toMicros(fxQueueDelayNanos.snapshot().since(baseline.fxQueueDelay).getValueAtPercentile(99));
+    }
+
+    @Override
+    public long getFxQueueDelayMaxMicros() {
+        return toMicros(fxQueueDelayNanos.snapshot().since(baseline.fxQueueDelay).getMax());
+    }
+
+    @Override
+    public long getCoalescedFrameCount() {
+        return Math.max(0, getTotalCoalescedFrames() - baseline.coalescedFrames);
+    }
+
+    @Override
+    public long getCollisionsPerTickP99() {
+        return collisions.snapshot().since(baseline.collisions).getValueAtPercentile(99);
+    }
+
+    @Override
+    public long getCollisionsPerTickMax() {
+        return collisions.snapshot().since(baseline.collisions).getMax();
+    }
+
+    @Override
+    public long getInputLatencyMeanMicros() {
+        InputQueue input = inputQueue;
+        if (input == null) {
+            return 0;
+        }
+        long applied = input.getAppliedCount() - baseline.inputApplied;
+        long total = input.getTotalLatencyNanos() - baseline.inputLatencyNanos;
+        return applied > 0 ? toMicros(total / applied) : 0;
+    }
+
+    @Override
+    public long getInputLatencyMaxMicros() {
+        InputQueue input = inputQueue;
+        return input != null ? toMicros(input.getMaxLatencyNanos()) : 0;
+    }
+
+    @Override
+    public long getSimulationAllocationBytesPerSecond() {
+        return simulationAllocation.bytesPerSecond;
+    }
+
+    @Override
+    public long getRenderAllocationBytesPerSecond() {
+        return renderAllocation.bytesPerSecond;
+    }
+
+    /**
+     * Converts a duration from nanoseconds to microseconds, rounded to the nearest microsecond.
+     */
+    private static long toMicros(long nanos) {
+        return Math.round(nanos / NANOS_PER_MICRO);
+    }
+
+    /**
+     * Returns the number of bytes allocated by the current thread so far, where the JVM can measure it.
+     *
+     * @return The allocated bytes, or -1 if allocation cannot be measured.
+     */
+    private static long currentThreadAllocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean hotspotThreads = (com.sun.management.ThreadMXBean) threads;
+            if (hotspotThreads.isThreadAllocatedMemorySupported() && hotspotThreads.isThreadAllocatedMemoryEnabled()) {
+                return hotspotThreads.getCurrentThreadAllocatedBytes();
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,60 @@
+package com.brickbreakergame.metrics;
+
+/**
+ * The management interface of {@link GameMetrics}, published over JMX as
+ * {@code com.brickbreakergame:type=GameMetrics}. Durations are in microseconds and cover every value
+ * recorded since the game started or since the last call to {@link #resetStatistics()}.
+ */
+public interface GameMetricsMBean {
+
+    long getTickCount();
+
+    long getDroppedTickCount();
+
+    double getTickMeanMicros();
+
+    long getTickP99Micros();
+
+    long getTickMaxMicros();
+
+    long getPhysicsP99Micros();
+
+    long getUpdateP99Micros();
+
+    long getTickLatenessP50Micros();
+
+    long getTickLatenessP99Micros();
+
+    long getTickLatenessMaxMicros();
+
+    long getFrameIntervalP50Micros();
+
+    long getFrameIntervalP99Micros();
+
+    long getFrameIntervalMaxMicros();
+
+    long getRenderP99Micros();
+
+    long getFxQueueDelayP99Micros();
+
+    long getFxQueueDelayMaxMicros();
+
+    long getCoalescedFrameCount();
+
+    long getCollisionsPerTickP99();
+
+    long getCollisionsPerTickMax();
+
+    long getInputLatencyMeanMicros();
+
+    long getInputLatencyMaxMicros();
+
+    long getSimulationAllocationBytesPerSecond();
+
+    long getRenderAllocationBytesPerSecond();
+
+    /**
+     * Starts a new measurement interval: the statistics only cover values recorded from now on.
+     */
+    void resetStatistics();
+}
@@ -0,0 +1,172 @@
+package com.brickbreakergame.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Records a distribution of non-negative values, such as durations in nanoseconds, in a fixed amount of memory.
+ * Like HdrHistogram, it uses buckets that are linear within each power of two: every power of two is split into
+ * sixteen sub-buckets, so any recorded value is reported within about 6% of its true value, from a nanosecond up
+ * to more than eighteen minutes. Recording is a couple of shifts and one array write, with no allocation.
+ * <p>
+ * A histogram has a single writer thread; any number of other threads may take {@link Snapshot}s at the same time.
+ * Statistics over an interval are obtained by subtracting the snapshot taken at its start.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_VALUE_BITS = 40;
+    private static final long MAX_VALUE = (1L << MAX_VALUE_BITS) - 1;
+    private static final int BUCKET_COUNT = (MAX_VALUE_BITS - SUB_BUCKET_BITS + 2) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private volatile long totalCount = 0;
+    private volatile long totalSum = 0;
+    private volatile long maxValue = 0;
+
+    /**
+     * Records a value. Negative values are recorded as 0 and values beyond the range as the largest value.
+     * This method must only be called by the writer thread of the histogram.
+     *
+     * @param value The value to record.
+     */
+    public void record(long value) {
+        long clamped = Math.max(0, Math.min(value, MAX_VALUE));
+        int index = indexOf(clamped);
+        counts.lazySet(index, counts.get(index) + 1);
+        totalSum += clamped;
+        if (clamped > maxValue) {
+            maxValue = clamped;
+        }
+        totalCount++;
+    }
+
+    /**
+     * Copies the current state of the histogram. This method may be called from any thread.
+     *
+     * @return A snapshot of every value recorded so far.
+     */
+    public Snapshot snapshot() {
+        long count = totalCount;
+        long sum = totalSum;
+        long[] copy = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            copy[i] = counts.get(i);
+        }
+        return new Snapshot(copy, count, sum, maxValue);
+    }
+
+    /**
+     * Finds the bucket of a value.
+     *
+     * @param value A value between 0 and MAX_VALUE.
+     * @return The index of the bucket that counts the value.
+     */
+    private static int indexOf(long value) {
+        int magnitude = 63 - Long.numberOfLeadingZeros(value | 1);
+        int shift = Math.max(0, magnitude - SUB_BUCKET_BITS);
+        return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+    }
+
+    /**
+     * Returns the highest value counted by a bucket.
+     *
+     * @param index The index of the bucket.
+     * @return The highest value that falls into the bucket.
+     */
+    private static long highestValueOf(int index) {
+        int shift = Math.max(0, (index >> SUB_BUCKET_BITS) - 1);
+        long subBucket = index - ((long) shift << SUB_BUCKET_BITS);
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * The Snapshot class holds an immutable copy of a histogram, or the difference between two copies.
+     */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+        private final long max;
+
+        private Snapshot(long[] counts, long count, long sum, long max) {
+            this.counts = counts;
+            this.count = count;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        /**
+         * Returns the values recorded after a previous snapshot of the same histogram was taken.
+         * The maximum of the interval is estimated from its highest non-empty bucket.
+         *
+         * @param baseline The earlier snapshot, or null to keep every value.
+         * @return A snapshot of the values recorded since the baseline.
+         */
+        public Snapshot since(Snapshot baseline) {
+            if (baseline == null) {
+                return this;
+            }
+            long[] difference = new long[counts.length];
+            long intervalMax = 0;
+            for (int i = 0; i < counts.length; i++) {
+                difference[i] = Math.max(0, counts[i] - baseline.counts[i]);
+                if (difference[i] > 0) {
+                    intervalMax = Math.min(highestValueOf(i), max);
+                }
+            }
+            return new Snapshot(difference, Math.max(0, count - baseline.count), sum - baseline.sum, intervalMax);
+        }
+
+        /**
+         * Returns the value below which a given percentage of the recorded values fall.
+         *
+         * @param percentile The percentile, between 0 and 100.
+         * @return The value at the percentile, or 0 if nothing was recorded.
+         */
+        public long getValueAtPercentile(double percentile) {
+            long total = 0;
+            for (long bucketCount : counts) {
+                total += bucketCount;
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long target = Math.max(1, (long) Math.ceil(total * Math.min(percentile, 100) / 100.0));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= target) {
+                    return Math.min(highestValueOf(i), max);
+                }
+            }
+            return max;
+        }
+
+        /**
+         * Returns the number of recorded values.
+         *
+         * @return The number of values.
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Returns the largest recorded value.
+         *
+         * @return The maximum, or 0 if nothing was recorded.
+         */
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * Returns the mean of the recorded values.
+         *
+         * @return The mean, or 0 if nothing was recorded.
+         */
+        public double getMean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+    }
+}
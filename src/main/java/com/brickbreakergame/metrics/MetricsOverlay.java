@@ -0,0 +1,134 @@
+package com.brickbreakergame.metrics;
+
+import com.brickbreakergame.simulation.InputQueue;
+import javafx.scene.control.Label;
+
+/**
+ * Shows the {@link GameMetrics} on top of the game, for spotting frame pacing problems while playing.
+ * The overlay is hidden until it is toggled, and while visible it refreshes once per second with the statistics
+ * of the second that has just passed, so a hitch stands out instead of being averaged away.
+ */
+public class MetricsOverlay {
+    private static final long REFRESH_NANOS = 1_000_000_000L;
+
+    private final GameMetrics metrics;
+    private final Label label = new Label();
+    private long lastRefresh = 0;
+    private long lastDroppedTicks;
+    private long lastCoalescedFrames;
+    private LatencyHistogram.Snapshot lastTick;
+    private LatencyHistogram.Snapshot lastPhysics;
+    private LatencyHistogram.Snapshot lastUpdate;
+    private LatencyHistogram.Snapshot lastLateness;
+    private LatencyHistogram.Snapshot lastCollisions;
+    private LatencyHistogram.Snapshot lastFrameInterval;
+    private LatencyHistogram.Snapshot lastRender;
+    private LatencyHistogram.Snapshot lastFxQueueDelay;
+
+    /**
+     * Constructs a hidden MetricsOverlay.
+     *
+     * @param metrics The metrics to show.
+     */
+    public MetricsOverlay(GameMetrics metrics) {
+        this.metrics = metrics;
+        label.setStyle("-fx-font-size: 11px; -fx-background-color: rgba(0, 0, 0, 0.6);");
+        label.setMouseTransparent(true);
+        label.setVisible(false);
+        label.setLayoutX(10);
+        label.setLayoutY(60);
+    }
+
+    /**
+     * Returns the node of the overlay, to be added on top of the game.
+     *
+     * @return The label showing the metrics.
+     */
+    public Label getNode() {
+        return label;
+    }
+
+    /**
+     * Shows the overlay if it is hidden, or hides it if it is shown.
+     */
+    public void toggle() {
+        label.setVisible(!label.isVisible());
+        lastRefresh = 0;
+    }
+
+    /**
+     * Refreshes the overlay once per second while it is visible. Called on every render pulse.
+     *
+     * @param now The time of the pulse, in nanoseconds.
+     */
+    public void update(long now) {
+        if (!label.isVisible() || now - lastRefresh < REFRESH_NANOS) {
+            return;
+        }
+        lastRefresh = now;
+
+        LatencyHistogram.Snapshot tick = metrics.getTickHistogram().snapshot();
+        LatencyHistogram.Snapshot physics = metrics.getPhysicsHistogram().snapshot();
+        LatencyHistogram.Snapshot update = metrics.getUpdateHistogram().snapshot();
+        LatencyHistogram.Snapshot lateness = metrics.getLatenessHistogram().snapshot();
+        LatencyHistogram.Snapshot collisions = metrics.getCollisionHistogram().snapshot();
+        LatencyHistogram.Snapshot frameInterval = metrics.getFrameIntervalHistogram().snapshot();
+        LatencyHistogram.Snapshot render = metrics.getRenderHistogram().snapshot();
+        LatencyHistogram.Snapshot fxQueueDelay = metrics.getFxQueueDelayHistogram().snapshot();
+        long droppedTicks = metrics.getTotalDroppedTicks();
+        long coalescedFrames = metrics.getTotalCoalescedFrames();
+
+        LatencyHistogram.Snapshot tickWindow = tick.since(lastTick);
+        LatencyHistogram.Snapshot frameWindow = frameInterval.since(lastFrameInterval);
+        LatencyHistogram.Snapshot latenessWindow = lateness.since(lastLateness);
+        LatencyHistogram.Snapshot collisionWindow = collisions.since(lastCollisions);
+        LatencyHistogram.Snapshot fxWindow = fxQueueDelay.since(lastFxQueueDelay);
+
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("tick      %4d/s  p50 %s  p99 %s  max %s%n", tickWindow.getCount(),
+                millis(tickWindow.getValueAtPercentile(50)), millis(tickWindow.getValueAtPercentile(99)),
+                millis(tickWindow.getMax())));
+        text.append(String.format("  physics p99 %s  update p99 %s%n",
+                millis(physics.since(lastPhysics).getValueAtPercentile(99)),
+                millis(update.since(lastUpdate).getValueAtPercentile(99))));
+        text.append(String.format("late      p50 %s  p99 %s  dropped %d%n",
+                millis(latenessWindow.getValueAtPercentile(50)), millis(latenessWindow.getValueAtPercentile(99)),
+                droppedTicks - lastDroppedTicks));
+        text.append(String.format("frame     %4d/s  p50 %s  p99 %s  max %s%n", frameWindow.getCount(),
+                millis(frameWindow.getValueAtPercentile(50)), millis(frameWindow.getValueAtPercentile(99)),
+                millis(frameWindow.getMax())));
+        text.append(String.format("  render p99 %s  coalesced %d%n",
+                millis(render.since(lastRender).getValueAtPercentile(99)), coalescedFrames - lastCoalescedFrames));
+        text.append(String.format("fx queue  p99 %s  max %s%n",
+                millis(fxWindow.getValueAtPercentile(99)), millis(fxWindow.getMax())));
+        text.append(String.format("collisions/tick  p99 %d  max %d%n",
+                collisionWindow.getValueAtPercentile(99), collisionWindow.getMax()));
+        InputQueue inputQueue = metrics.getInputQueue();
+        if (inputQueue != null) {
+            text.append(String.format("input     avg %s  max %s%n",
+                    millis(inputQueue.getAverageLatencyNanos()), millis(inputQueue.getMaxLatencyNanos())));
+        }
+        text.append(String.format("alloc     sim %d KB/s  fx %d KB/s",
+                metrics.getSimulationAllocationBytesPerSecond() / 1024,
+                metrics.getRenderAllocationBytesPerSecond() / 1024));
+        label.setText(text.toString());
+
+        lastTick = tick;
+        lastPhysics = physics;
+        lastUpdate = update;
+        lastLateness = lateness;
+        lastCollisions = collisions;
+        lastFrameInterval = frameInterval;
+        lastRender = render;
+        lastFxQueueDelay = fxQueueDelay;
+        lastDroppedTicks = droppedTicks;
+        lastCoalescedFrames = coalescedFrames;
+    }
+
+    /**
+     * Formats a duration in nanoseconds as milliseconds.
+     */
+    private static String millis(long nanos) {
+        return String.format("%6.2fms", nanos / 1e6);
+    }
+}
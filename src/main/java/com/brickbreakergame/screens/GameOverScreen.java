@@ -2,6 +2,7 @@ package com.brickbreakergame.screens;
 
 import com.brickbreakergame.Main;
 import com.brickbreakergame.managers.AnimationManager;
+import com.brickbreakergame.managers.ImageManager;
 import com.brickbreakergame.managers.LevelManager;
 import com.brickbreakergame.menus.MainMenu;
 import javafx.event.ActionEvent;
@@ -88,7 +89,7 @@ public class GameOverScreen {
      */
     private static void addElementsToLayout(Main main, Stage primaryStage, LevelManager levelManager) {
         // Load the game over image
-        Image gameOverImage = new Image("/images/Screens/youLose.png");
+        Image gameOverImage = ImageManager.getImage("/images/Screens/youLose.png");
         ImageView gameOverImageView = new ImageView(gameOverImage);
         gameOverImageView.setFitWidth(150);
         gameOverImageView.setFitHeight(140);
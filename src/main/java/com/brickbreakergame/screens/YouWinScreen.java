@@ -1,5 +1,6 @@
 package com.brickbreakergame.screens;
 import com.brickbreakergame.managers.AnimationManager;
+import com.brickbreakergame.managers.ImageManager;
 import com.brickbreakergame.managers.LevelManager;
 
 import com.brickbreakergame.Main;
@@ -87,7 +88,7 @@ public class YouWinScreen {
      */
     private static void addElementsToLayout(Main main, Stage primaryStage, LevelManager levelManager) {
         // Load the "You Win" image
-        Image youWinImage = new Image("/images/Screens/youWin.png");
+        Image youWinImage = ImageManager.getImage("/images/Screens/youWin.png");
         ImageView youWinImageView = new ImageView(youWinImage);
         youWinImageView.setFitWidth(150);
         youWinImageView.setFitHeight(140);
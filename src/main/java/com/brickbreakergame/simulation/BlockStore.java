@@ -0,0 +1,230 @@
+package com.brickbreakergame.simulation;
+
+import com.brickbreakergame.Block;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Stores the blocks of the current level as parallel primitive arrays, one entry per block.
+ * A block is identified by its index in the store, which stays the same until the store is cleared.
+ * Destroyed blocks are marked in a bitset rather than removed, so indices remain stable for the view
+ * and the spatial grid, and setting up a new level only resets the size instead of allocating new objects.
+ * The arrays grow as needed and are reused across levels.
+ */
+public class BlockStore {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private int size = 0;
+    private int[] rows = new int[INITIAL_CAPACITY];
+    private int[] columns = new int[INITIAL_CAPACITY];
+    private int[] xs = new int[INITIAL_CAPACITY];
+    private int[] ys = new int[INITIAL_CAPACITY];
+    private int[] types = new int[INITIAL_CAPACITY];
+    private int[] colorIndices = new int[INITIAL_CAPACITY];
+    private final BitSet alive = new BitSet(INITIAL_CAPACITY);
+
+    /**
+     * Adds a block at the specified grid position. Its screen position is derived from the grid position.
+     *
+     * @param row        The row position of the block in the grid.
+     * @param column     The column position of the block in the grid.
+     * @param colorIndex The index of the block's color in the game's color palette.
+     * @param type       The type of the block, which determines its special properties.
+     * @return The index of the new block.
+     */
+    public int add(int row, int column, int colorIndex, int type) {
+        if (size == rows.length) {
+            grow();
+        }
+        int index = size++;
+        rows[index] = row;
+        columns[index] = column;
+        xs[index] = (column * Block.getWidth()) + Block.getPaddingHeight();
+        ys[index] = (row * Block.getHeight()) + Block.getPaddingTop();
+        types[index] = type;
+        colorIndices[index] = colorIndex;
+        alive.set(index);
+        return index;
+    }
+
+    /**
+     * Doubles the capacity of every array.
+     */
+    private void grow() {
+        int capacity = rows.length * 2;
+        rows = Arrays.copyOf(rows, capacity);
+        columns = Arrays.copyOf(columns, capacity);
+        xs = Arrays.copyOf(xs, capacity);
+        ys = Arrays.copyOf(ys, capacity);
+        types = Arrays.copyOf(types, capacity);
+        colorIndices = Arrays.copyOf(colorIndices, capacity);
+    }
+
+    /**
+     * Replaces the blocks of this store with a copy of the blocks of another store.
+     * The arrays of this store are reused when they are large enough.
+     *
+     * @param other The store to copy.
+     */
+    public void copyFrom(BlockStore other) {
+        clear();
+        while (rows.length < other.size) {
+            grow();
+        }
+        System.arraycopy(other.rows, 0, rows, 0, other.size);
+        System.arraycopy(other.columns, 0, columns, 0, other.size);
+        System.arraycopy(other.xs, 0, xs, 0, other.size);
+        System.arraycopy(other.ys, 0, ys, 0, other.size);
+        System.arraycopy(other.types, 0, types, 0, other.size);
+        System.arraycopy(other.colorIndices, 0, colorIndices, 0, other.size);
+        alive.or(other.alive);
+        size = other.size;
+    }
+
+    /**
+     * Removes every block. The arrays are kept for the next level.
+     */
+    public void clear() {
+        size = 0;
+        alive.clear();
+    }
+
+    /**
+     * Marks a block as destroyed.
+     *
+     * @param index The index of the block.
+     */
+    public void destroy(int index) {
+        alive.clear(index);
+    }
+
+    /**
+     * Sweeps the moving ball against a block. Destroyed blocks are never hit.
+     *
+     * @param index      The index of the block.
+     * @param sweep      The sweep that receives the time of impact and the side hit.
+     * @param xBall      The x-coordinate of the ball at the start of the motion.
+     * @param yBall      The y-coordinate of the ball at the start of the motion.
+     * @param dx         The horizontal distance the ball moves.
+     * @param dy         The vertical distance the ball moves.
+     * @param ballRadius The radius of the ball.
+     * @return True if the ball touches the block during the motion, false otherwise.
+     */
+    public boolean sweep(int index, SweptCollision sweep, double xBall, double yBall, double dx, double dy,
+                         double ballRadius) {
+        if (!alive.get(index)) {
+            return false;
+        }
+        return sweep.sweep(xBall, yBall, dx, dy, ballRadius,
+                xs[index], ys[index], xs[index] + Block.getWidth(), ys[index] + Block.getHeight());
+    }
+
+    /**
+     * Returns the number of blocks in the store, including destroyed ones.
+     *
+     * @return The number of blocks.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the store holds no blocks at all.
+     *
+     * @return True if there are no blocks, false otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of blocks that have not been destroyed.
+     *
+     * @return The number of remaining blocks.
+     */
+    public int getAliveCount() {
+        return alive.cardinality();
+    }
+
+    /**
+     * Checks whether a block has not been destroyed.
+     *
+     * @param index The index of the block.
+     * @return True if the block is still on the board, false otherwise.
+     */
+    public boolean isAlive(int index) {
+        return alive.get(index);
+    }
+
+    /**
+     * Finds the next block that has not been destroyed, for iterating over the remaining blocks.
+     *
+     * @param fromIndex The index to start searching from, inclusive.
+     * @return The index of the next remaining block, or -1 if there is none.
+     */
+    public int nextAlive(int fromIndex) {
+        int index = alive.nextSetBit(fromIndex);
+        return index < size ? index : -1;
+    }
+
+    /**
+     * Returns the row of a block in the grid.
+     *
+     * @param index The index of the block.
+     * @return The row, from the top.
+     */
+    public int getRow(int index) {
+        return rows[index];
+    }
+
+    /**
+     * Returns the column of a block in the grid.
+     *
+     * @param index The index of the block.
+     * @return The column, from the left.
+     */
+    public int getColumn(int index) {
+        return columns[index];
+    }
+
+    /**
+     * Returns the X position of the left edge of a block.
+     *
+     * @param index The index of the block.
+     * @return The X position in pixels.
+     */
+    public int getX(int index) {
+        return xs[index];
+    }
+
+    /**
+     * Returns the Y position of the top edge of a block.
+     *
+     * @param index The index of the block.
+     * @return The Y position in pixels.
+     */
+    public int getY(int index) {
+        return ys[index];
+    }
+
+    /**
+     * Returns the type of a block.
+     *
+     * @param index The index of the block.
+     * @return The type of the block, which determines its special properties.
+     */
+    public int getType(int index) {
+        return types[index];
+    }
+
+    /**
+     * Returns the color of a block.
+     *
+     * @param index The index of the block.
+     * @return The color index of the block.
+     */
+    public int getColorIndex(int index) {
+        return colorIndices[index];
+    }
+}
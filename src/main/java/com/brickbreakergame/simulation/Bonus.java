@@ -0,0 +1,41 @@
+package com.brickbreakergame.simulation;
+
+import com.brickbreakergame.Block;
+
+/**
+ * Represents a falling bonus in the game simulation.
+ * A bonus is dropped when a random block is destroyed and falls towards the paddle until it is collected
+ * or leaves the screen. This class only holds data; its visual representation is handled by the view.
+ * Bonuses are reused through a {@link BonusPool}, so the same object may stand for several bonuses in turn.
+ */
+public class Bonus {
+    public static final int SIZE = 20;
+    public double x;
+    public double y;
+    public long timeCreated;
+    public boolean taken = false;
+
+    /**
+     * Constructs a Bonus at the centre of the block at the specified row and column.
+     *
+     * @param row    The row position of the block that dropped the bonus.
+     * @param column The column position of the block that dropped the bonus.
+     */
+    public Bonus(int row, int column) {
+        reset(row, column);
+    }
+
+    /**
+     * Places the bonus at the centre of the block at the specified row and column, as a bonus that has not
+     * been taken yet. Used to reuse a bonus that is no longer falling.
+     *
+     * @param row    The row position of the block that dropped the bonus.
+     * @param column The column position of the block that dropped the bonus.
+     */
+    void reset(int row, int column) {
+        x = (column * (Block.getWidth())) + Block.getPaddingHeight() + ((double) Block.getWidth() / 2) - 15;
+        y = (row * (Block.getHeight())) + Block.getPaddingTop() + ((double) Block.getHeight() / 2) - 15;
+        timeCreated = 0;
+        taken = false;
+    }
+}
@@ -0,0 +1,46 @@
+package com.brickbreakergame.simulation;
+
+import java.util.ArrayDeque;
+
+/**
+ * Keeps the {@link Bonus} objects of a simulation for reuse, so dropping bonuses does not allocate during play.
+ * A bonus is taken from the pool when a random block drops it and returned when it is collected or leaves the
+ * screen. At most {@value #CAPACITY} bonuses are kept; if more are falling at once, the extra ones are created
+ * as needed and left to the garbage collector when they are returned.
+ * The pool is only used by the thread that steps the simulation.
+ */
+class BonusPool {
+    static final int CAPACITY = 32;
+
+    private final ArrayDeque<Bonus> free = new ArrayDeque<>(CAPACITY);
+
+    /**
+     * Takes a bonus from the pool, or creates one if the pool is empty, and places it under a block.
+     *
+     * @param row    The row position of the block that dropped the bonus.
+     * @param column The column position of the block that dropped the bonus.
+     * @param time   The simulation time at which the bonus is dropped.
+     * @return The bonus, ready to fall.
+     */
+    Bonus spawn(int row, int column, long time) {
+        Bonus bonus = free.poll();
+        if (bonus == null) {
+            bonus = new Bonus(row, column);
+        } else {
+            bonus.reset(row, column);
+        }
+        bonus.timeCreated = time;
+        return bonus;
+    }
+
+    /**
+     * Returns a bonus that is no longer falling to the pool.
+     *
+     * @param bonus The bonus to return.
+     */
+    void despawn(Bonus bonus) {
+        if (free.size() < CAPACITY) {
+            free.push(bonus);
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.brickbreakergame.simulation;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Keeps the temporary bonus effects of a simulation and expires them on the game time.
+ * Each effect changes one property, such as the paddle width, by an amount until it expires; effects on the same
+ * property stack, and when one expires only its own change is undone, so the property returns to its value
+ * before the effect however many other effects started or ended in the meantime.
+ * <p>
+ * The effects are held in parallel arrays and ordered by expiry time in a binary heap, so scheduling, cancelling
+ * and expiring an effect take O(log n) and checking for expired effects on a tick only looks at the earliest one.
+ * Since the game time is derived from the tick count, effects pause with the game and expire on the same tick
+ * when a session is replayed. The scheduler is only used by the thread that steps the simulation.
+ */
+class EffectScheduler {
+    static final int PADDLE_WIDTH = 0;
+    static final int BALL_SIZE = 1;
+    private static final int KIND_COUNT = 2;
+    private static final int INITIAL_CAPACITY = 8;
+
+    // Effect slots, indexed by the handle returned when the effect is scheduled
+    private int[] kinds = new int[INITIAL_CAPACITY];
+    private double[] amounts = new double[INITIAL_CAPACITY];
+    private long[] expiries = new long[INITIAL_CAPACITY];
+    private int[] heapPositions = new int[INITIAL_CAPACITY];
+    private int[] freeSlots = new int[INITIAL_CAPACITY];
+    private int freeCount = 0;
+    private int slotCount = 0;
+
+    // Slots of the active effects, ordered by expiry time
+    private int[] heap = new int[INITIAL_CAPACITY];
+    private int size = 0;
+
+    private final double[] totals = new double[KIND_COUNT];
+    private final int[] activeCounts = new int[KIND_COUNT];
+
+    /**
+     * Starts an effect.
+     *
+     * @param kind   The property the effect changes, such as {@link #PADDLE_WIDTH}.
+     * @param amount The amount the effect adds to the property, negative to reduce it.
+     * @param expiry The game time at which the effect ends, in milliseconds.
+     * @return A handle to the effect, valid until it expires or is cancelled.
+     */
+    int schedule(int kind, double amount, long expiry) {
+        int slot = freeCount > 0 ? freeSlots[--freeCount] : newSlot();
+        kinds[slot] = kind;
+        amounts[slot] = amount;
+        expiries[slot] = expiry;
+        totals[kind] += amount;
+        activeCounts[kind]++;
+
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        heap[size] = slot;
+        heapPositions[slot] = size;
+        size++;
+        siftUp(size - 1);
+        return slot;
+    }
+
+    /**
+     * Ends an effect before it expires.
+     *
+     * @param handle The handle returned when the effect was scheduled.
+     * @return True if the effect was active, false if it had already ended.
+     */
+    boolean cancel(int handle) {
+        if (handle < 0 || handle >= slotCount || heapPositions[handle] < 0) {
+            return false;
+        }
+        removeAt(heapPositions[handle]);
+        return true;
+    }
+
+    /**
+     * Ends every effect whose expiry time has been reached.
+     *
+     * @param time The current game time, in milliseconds.
+     * @return A bit mask of the kinds of effect that ended, with bit {@code 1 << kind} set for each kind.
+     */
+    int expire(long time) {
+        int expiredKinds = 0;
+        while (size > 0 && expiries[heap[0]] <= time) {
+            expiredKinds |= 1 << kinds[heap[0]];
+            removeAt(0);
+        }
+        return expiredKinds;
+    }
+
+    /**
+     * Ends every effect without undoing it, for example when a level is set up.
+     */
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            release(heap[i]);
+        }
+        size = 0;
+        Arrays.fill(totals, 0);
+        Arrays.fill(activeCounts, 0);
+    }
+
+    /**
+     * Returns the sum of the amounts of the active effects of a kind.
+     *
+     * @param kind The kind of effect.
+     * @return The total change the active effects make to the property.
+     */
+    double getTotal(int kind) {
+        return activeCounts[kind] == 0 ? 0 : totals[kind];
+    }
+
+    /**
+     * Checks whether an effect of a kind is active.
+     *
+     * @param kind The kind of effect.
+     * @return True if at least one effect of the kind has not ended yet, false otherwise.
+     */
+    boolean isActive(int kind) {
+        return activeCounts[kind] > 0;
+    }
+
+    /**
+     * Writes the active effects, for {@link GameSimulation#writeState(DataOutputStream)}.
+     *
+     * @param out The stream to write to.
+     * @throws IOException If the stream cannot be written.
+     */
+    void write(DataOutputStream out) throws IOException {
+        out.writeInt(size);
+        for (int i = 0; i < size; i++) {
+            int slot = heap[i];
+            out.writeByte(kinds[slot]);
+            out.writeDouble(amounts[slot]);
+            out.writeLong(expiries[slot]);
+        }
+    }
+
+    /**
+     * Replaces the active effects with effects written by {@link #write(DataOutputStream)}.
+     *
+     * @param in The stream to read from.
+     * @throws IOException If the stream cannot be read or holds an unknown kind of effect.
+     */
+    void read(DataInputStream in) throws IOException {
+        clear();
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            int kind = in.readByte();
+            if (kind < 0 || kind >= KIND_COUNT) {
+                throw new IOException("Unknown effect kind " + kind);
+            }
+            schedule(kind, in.readDouble(), in.readLong());
+        }
+    }
+
+    /**
+     * Allocates a new effect slot, growing the slot arrays if they are full.
+     */
+    private int newSlot() {
+        if (slotCount == kinds.length) {
+            int capacity = slotCount * 2;
+            kinds = Arrays.copyOf(kinds, capacity);
+            amounts = Arrays.copyOf(amounts, capacity);
+            expiries = Arrays.copyOf(expiries, capacity);
+            heapPositions = Arrays.copyOf(heapPositions, capacity);
+            freeSlots = Arrays.copyOf(freeSlots, capacity);
+        }
+        return slotCount++;
+    }
+
+    /**
+     * Marks a slot as no longer holding an active effect and makes it available again.
+     */
+    private void release(int slot) {
+        heapPositions[slot] = -1;
+        freeSlots[freeCount++] = slot;
+    }
+
+    /**
+     * Removes the effect at a position of the heap, undoing its change to the totals.
+     */
+    private void removeAt(int position) {
+        int slot = heap[position];
+        totals[kinds[slot]] -= amounts[slot];
+        activeCounts[kinds[slot]]--;
+        release(slot);
+
+        size--;
+        if (position < size) {
+            heap[position] = heap[size];
+            heapPositions[heap[position]] = position;
+            siftDown(position);
+            siftUp(position);
+        }
+    }
+
+    /**
+     * Moves an effect towards the top of the heap until its parent expires no later than it does.
+     */
+    private void siftUp(int position) {
+        int slot = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) / 2;
+            if (!expiresBefore(slot, heap[parent])) {
+                break;
+            }
+            heap[position] = heap[parent];
+            heapPositions[heap[position]] = position;
+            position = parent;
+        }
+        heap[position] = slot;
+        heapPositions[slot] = position;
+    }
+
+    /**
+     * Moves an effect towards the bottom of the heap until its children expire no earlier than it does.
+     */
+    private void siftDown(int position) {
+        int slot = heap[position];
+        while (true) {
+            int child = position * 2 + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && expiresBefore(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!expiresBefore(heap[child], slot)) {
+                break;
+            }
+            heap[position] = heap[child];
+            heapPositions[heap[position]] = position;
+            position = child;
+        }
+        heap[position] = slot;
+        heapPositions[slot] = position;
+    }
+
+    /**
+     * Orders effects by expiry time, then by slot, so the order never depends on how the heap was built.
+     */
+    private boolean expiresBefore(int slot, int other) {
+        return expiries[slot] < expiries[other] || (expiries[slot] == expiries[other] && slot < other);
+    }
+}
@@ -0,0 +1,1709 @@
+package com.brickbreakergame.simulation;
+
+import com.brickbreakergame.Block;
+import com.brickbreakergame.BlockGrid;
+import com.brickbreakergame.managers.GameBoardManager;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * The GameSimulation class holds the complete state of a game of Brick Breaker as plain data
+ * and advances it one tick at a time. It covers the ball, paddle, blocks, falling bonuses, bonus effects
+ * and scoring, and has no dependency on JavaFX, so it can be stepped as fast as the CPU allows without a display.
+ * Anything that should be seen or heard, such as sounds, animations and screen changes, is reported to an
+ * optional {@link Listener}; the JavaFX game in {@code Main} is one such observer.
+ * The simulation is not thread-safe: its state belongs to the thread that steps it, and other threads must
+ * hand their changes to that thread, for example through an {@link InputQueue}.
+ * <p>
+ * A level is deterministic: all of its randomness comes from streams derived from the session seed and the level
+ * number, and all of its timers run on the game time, so the same seed and the same inputs on the same ticks
+ * always produce the same game. This is what makes a {@link Replay} possible.
+ */
+public class GameSimulation {
+    // Constants
+    public static final int LEFT  = 1;
+    public static final int RIGHT = 2;
+    public static final int SCENE_WIDTH = 500;
+    public static final int SCENE_HEIGHT = 700;
+    public static final int COLOR_COUNT = 10;
+    public static final int PADDLE_HEIGHT = 14;
+    public static final int DEFAULT_PADDLE_WIDTH = 90;
+    public static final double DEFAULT_PADDLE_X = 220.0;
+    public static final double DEFAULT_PADDLE_Y = 683.0;
+    public static final int DEFAULT_BALL_RADIUS = 10;
+    private static final int MIN_PADDLE_WIDTH = 20;
+    private static final double MIN_BALL_RADIUS = 5;
+    private static final int PADDLE_SPEED = 4;        // Distance the paddle moves per tick while a key is held
+    private static final double MAX_VELOCITY_X = 3.0; // Maximum horizontal velocity of the ball
+    private static final double MAX_VELOCITY = 4.0;   // Maximum overall velocity of the ball
+    private static final double SPIN_EFFECT = 0.5;    // Effect of spin on ball's trajectory
+    private static final long GOLD_DURATION = 5000;
+    private static final double FALL_SPEED = 2.0;
+    private static final int MAX_CONTACTS_PER_TICK = 8;
+    private static final long BOARD_STREAM = 0x9E3779B97F4A7C15L; // Mixes the level into the board random stream
+    private static final long BONUS_STREAM = 0xC2B2AE3D27D4EB4FL; // Mixes the level into the bonus random stream
+
+    // Contact types found by the collision sweep
+    private static final int CONTACT_NONE = 0;
+    private static final int CONTACT_LEFT_WALL = 1;
+    private static final int CONTACT_RIGHT_WALL = 2;
+    private static final int CONTACT_TOP_WALL = 3;
+    private static final int CONTACT_BOTTOM_WALL = 4;
+    private static final int CONTACT_PADDLE = 5;
+    private static final int CONTACT_BLOCK = 6;
+
+    // Game State Variables
+    private int level = 1;
+    private int score = 0;
+    private int heart = 3;
+    private int destroyedBlockCount = 0;
+    private long time = 0;
+    private long goldTime = 0;
+    private boolean isGoldStatus = false;
+    private boolean isExistHeartBlock = false;
+    private boolean levelCleared = false;
+    private boolean gameOver = false;
+
+    // Paddle Variables
+    private int paddleWidth = DEFAULT_PADDLE_WIDTH;
+    private double paddleMoveX = DEFAULT_PADDLE_X;
+    private double paddleMoveY = DEFAULT_PADDLE_Y;
+    private double centerBreakX;
+    private boolean leftKeyPressed = false;
+    private boolean rightKeyPressed = false;
+
+    // Ball Variables
+    private double ballRadius = DEFAULT_BALL_RADIUS;
+    private double ballPosX;
+    private double ballPosY;
+    private double previousBallPosX;
+    private double previousBallPosY;
+    private double ballVelocityX = 1.000;
+    private double ballVelocityY = 1.000;
+    private boolean goDownBall = true;
+    private boolean goRightBall = true;
+
+    // Ball Mechanics Variables
+    private boolean collideToBreak = false;
+    private boolean collideToBreakAndMoveToRight = true;
+    private boolean collideToRightWall = false;
+    private boolean collideToLeftWall = false;
+    private boolean collideToRightBlock = false;
+    private boolean collideToBottomBlock = false;
+    private boolean collideToLeftBlock = false;
+    private boolean collideToTopBlock = false;
+    private final SweptCollision sweep = new SweptCollision();
+    private int contactType = CONTACT_NONE;
+    private double contactTime;
+    private int contactBlock;
+    private int contactSide;
+    private int contactCount;
+
+    // Game Objects
+    private final BlockStore blocks = new BlockStore();
+    private final BlockGrid blockGrid = new BlockGrid();
+    private int[] blockCandidates = new int[0];
+    private final ArrayList<Bonus> bonuses = new ArrayList<>();
+    private final BonusPool bonusPool = new BonusPool();
+    private long seed = System.nanoTime();
+    private RandomStream boardRandom = new RandomStream(seed);
+    private RandomStream bonusRandom = new RandomStream(seed);
+    private Listener listener = new Listener() {};
+
+    // Bonus Variables
+    private final EffectScheduler effects = new EffectScheduler();
+    private int originalPaddleWidth;
+    private double originalBallRadius;
+
+    /**
+     * The Listener interface receives the events of the simulation that an observer may want to present.
+     * All methods have empty default implementations and are called on the thread that steps the simulation.
+     */
+    public interface Listener {
+
+        /**
+         * Called when the ball bounces off the top or a side wall.
+         */
+        default void onWallBounce() {}
+
+        /**
+         * Called when the ball bounces off the paddle.
+         */
+        default void onPaddleBounce() {}
+
+        /**
+         * Called when a block has been hit and destroyed by the ball.
+         *
+         * @param blockIndex The index of the destroyed block in the block store.
+         */
+        default void onBlockDestroyed(int blockIndex) {}
+
+        /**
+         * Called when a random block drops a new bonus.
+         *
+         * @param bonus The new bonus.
+         */
+        default void onBonusSpawned(Bonus bonus) {}
+
+        /**
+         * Called when the paddle collects a bonus, before its effect is applied.
+         *
+         * @param bonus The collected bonus.
+         */
+        default void onBonusCollected(Bonus bonus) {}
+
+        /**
+         * Called when a bonus changes the width of the paddle.
+         *
+         * @param oldWidth The width before the change.
+         * @param newWidth The width after the change.
+         * @param duration How long the change lasts, in milliseconds.
+         */
+        default void onPaddleWidthChanged(int oldWidth, int newWidth, long duration) {}
+
+        /**
+         * Called when a bonus awards extra points.
+         *
+         * @param points   The number of points awarded.
+         * @param newScore The score after the points were added.
+         */
+        default void onScoreBonus(int points, int newScore) {}
+
+        /**
+         * Called when a bonus changes the radius of the ball.
+         *
+         * @param oldRadius The radius before the change.
+         * @param newRadius The radius after the change.
+         * @param duration  How long the change lasts, in milliseconds.
+         */
+        default void onBallSizeChanged(double oldRadius, double newRadius, long duration) {}
+
+        /**
+         * Called when the ball hits the floor and the player loses a heart.
+         */
+        default void onHeartLost() {}
+
+        /**
+         * Called when a heart block gives the player an extra heart.
+         */
+        default void onHeartGained() {}
+
+        /**
+         * Called when the golden ball power-up starts or ends.
+         *
+         * @param goldStatus True if the golden ball is now active, false otherwise.
+         */
+        default void onGoldStatusChanged(boolean goldStatus) {}
+
+        /**
+         * Called once when the player runs out of hearts.
+         */
+        default void onGameOver() {}
+
+        /**
+         * Called once when every block of the current level has been destroyed.
+         */
+        default void onLevelCleared() {}
+    }
+
+    /**
+     * Sets the observer that receives the events of the simulation.
+     *
+     * @param listener The observer, or null to stop observing.
+     */
+    public void setListener(Listener listener) {
+        this.listener = listener != null ? listener : new Listener() {};
+    }
+
+    /**
+     * Advances the simulation by one full tick: physics followed by game logic.
+     */
+    public void step() {
+        physicsUpdate();
+        update();
+    }
+
+    /**
+     * Runs the physics part of a tick. It checks whether the level has been cleared, moves the paddle and the ball,
+     * resolves its collisions with the walls, the paddle and the blocks, and expires the golden ball power-up.
+     */
+    public void physicsUpdate() {
+        contactCount = 0;
+        if (gameOver) {
+            return;
+        }
+        checkDestroyedCount();
+        previousBallPosX = ballPosX;
+        previousBallPosY = ballPosY;
+        updatePaddle();
+        setPhysicsToBall();
+        checkGoldStatus();
+    }
+
+    /**
+     * Runs the game logic part of a tick. It moves and collects bonuses, and expires temporary bonus effects.
+     */
+    public void update() {
+        if (gameOver) {
+            return;
+        }
+        handleBonusCollection();
+        expireEffects();
+    }
+
+    /**
+     * Sets up a level from scratch. The ball, the paddle, the bonuses and every per-level timer and flag are reset,
+     * the random streams of the level are derived from the session seed, and a new board is generated.
+     * The score and the hearts carry over from the previous level.
+     *
+     * @param level The level to start.
+     */
+    public void startLevel(int level) {
+        startLevel(level, null);
+    }
+
+    /**
+     * Sets up a level from scratch, like {@link #startLevel(int)}, but takes the board from a board prepared
+     * ahead of time when it was prepared for this level and the current seed. Since the prepared board was
+     * generated exactly as this method would generate it, the level plays out the same either way.
+     *
+     * @param level    The level to start.
+     * @param prepared A board prepared by {@link #prepareBoard(long, int)}, or null to generate the board.
+     */
+    public void startLevel(int level, PreparedBoard prepared) {
+        this.level = level;
+        boardRandom = new RandomStream(seed ^ (BOARD_STREAM * level));
+        bonusRandom = new RandomStream(seed ^ (BONUS_STREAM * level));
+
+        time = 0;
+        goldTime = 0;
+        isGoldStatus = false;
+        isExistHeartBlock = false;
+        destroyedBlockCount = 0;
+        despawnBonuses();
+
+        paddleWidth = DEFAULT_PADDLE_WIDTH;
+        paddleMoveX = DEFAULT_PADDLE_X;
+        paddleMoveY = DEFAULT_PADDLE_Y;
+        centerBreakX = paddleMoveX + paddleWidth / 2.0;
+        leftKeyPressed = false;
+        rightKeyPressed = false;
+        effects.clear();
+        originalPaddleWidth = 0;
+        originalBallRadius = 0;
+
+        ballRadius = DEFAULT_BALL_RADIUS;
+        ballVelocityX = 1.000;
+        ballVelocityY = 1.000;
+        goDownBall = true;
+        goRightBall = true;
+        resetCollideFlags();
+
+        if (prepared != null && prepared.seed == seed && prepared.level == level) {
+            blocks.copyFrom(prepared.blocks);
+            isExistHeartBlock = prepared.existHeartBlock;
+            boardRandom.setState(prepared.boardRandomState);
+        } else {
+            new GameBoardManager(this).setupGameBoard();
+        }
+        onBoardChanged();
+        resetBall();
+    }
+
+    /**
+     * Generates the board of a level without touching any running simulation, so it can be done on a background
+     * thread while the previous level is being played.
+     *
+     * @param seed  The session seed the level will be played with.
+     * @param level The level.
+     * @return The prepared board, to be passed to {@link #startLevel(int, PreparedBoard)}.
+     */
+    public static PreparedBoard prepareBoard(long seed, int level) {
+        GameSimulation scratch = new GameSimulation();
+        scratch.seed = seed;
+        scratch.level = level;
+        scratch.boardRandom = new RandomStream(seed ^ (BOARD_STREAM * level));
+        new GameBoardManager(scratch).setupGameBoard();
+        return new PreparedBoard(seed, level, scratch.blocks, scratch.isExistHeartBlock,
+                scratch.boardRandom.getState());
+    }
+
+    /**
+     * The PreparedBoard class holds the board of a level generated ahead of time, with the state the board
+     * random stream was left in, so that starting the level from it is indistinguishable from generating it.
+     */
+    public static final class PreparedBoard {
+        private final long seed;
+        private final int level;
+        private final BlockStore blocks;
+        private final boolean existHeartBlock;
+        private final long boardRandomState;
+
+        private PreparedBoard(long seed, int level, BlockStore blocks, boolean existHeartBlock,
+                              long boardRandomState) {
+            this.seed = seed;
+            this.level = level;
+            this.blocks = blocks;
+            this.existHeartBlock = existHeartBlock;
+            this.boardRandomState = boardRandomState;
+        }
+
+        /**
+         * Returns the seed the board was laid out from.
+         *
+         * @return The seed of the game.
+         */
+        public long getSeed() {
+            return seed;
+        }
+
+        /**
+         * Returns the level the board was prepared for.
+         *
+         * @return The level number.
+         */
+        public int getLevel() {
+            return level;
+        }
+
+        /**
+         * Returns the blocks of the board.
+         *
+         * @return The block store, not yet attached to a simulation.
+         */
+        public BlockStore getBlocks() {
+            return blocks;
+        }
+    }
+
+    /**
+     * Writes the complete state of the level in progress: everything a saved game holds, plus the falling bonuses,
+     * the timers of temporary effects, the collision flags and the positions of the random streams.
+     * Restoring it with {@link #readState(DataInputStream)} continues the level exactly as it would have gone on.
+     * The board itself is not written, only which of its blocks have been destroyed, and neither is the game time,
+     * which is derived from the tick count.
+     *
+     * @param out The stream to write to.
+     * @throws IOException If the stream cannot be written.
+     */
+    public void writeState(DataOutputStream out) throws IOException {
+        out.writeInt(score);
+        out.writeInt(heart);
+        out.writeInt(destroyedBlockCount);
+        out.writeLong(goldTime);
+        out.writeBoolean(isGoldStatus);
+        out.writeBoolean(isExistHeartBlock);
+        out.writeBoolean(levelCleared);
+        out.writeBoolean(gameOver);
+
+        out.writeInt(paddleWidth);
+        out.writeDouble(paddleMoveX);
+        out.writeDouble(paddleMoveY);
+        out.writeDouble(centerBreakX);
+        out.writeBoolean(leftKeyPressed);
+        out.writeBoolean(rightKeyPressed);
+
+        out.writeDouble(ballRadius);
+        out.writeDouble(ballPosX);
+        out.writeDouble(ballPosY);
+        out.writeDouble(previousBallPosX);
+        out.writeDouble(previousBallPosY);
+        out.writeDouble(ballVelocityX);
+        out.writeDouble(ballVelocityY);
+        out.writeBoolean(goDownBall);
+        out.writeBoolean(goRightBall);
+
+        out.writeBoolean(collideToBreak);
+        out.writeBoolean(collideToBreakAndMoveToRight);
+        out.writeBoolean(collideToRightWall);
+        out.writeBoolean(collideToLeftWall);
+        out.writeBoolean(collideToRightBlock);
+        out.writeBoolean(collideToBottomBlock);
+        out.writeBoolean(collideToLeftBlock);
+        out.writeBoolean(collideToTopBlock);
+
+        out.writeInt(originalPaddleWidth);
+        out.writeDouble(originalBallRadius);
+        effects.write(out);
+        out.writeLong(boardRandom.getState());
+        out.writeLong(bonusRandom.getState());
+
+        out.writeInt(bonuses.size());
+        for (Bonus bonus : bonuses) {
+            out.writeDouble(bonus.x);
+            out.writeDouble(bonus.y);
+            out.writeLong(bonus.timeCreated);
+            out.writeBoolean(bonus.taken);
+        }
+
+        out.writeInt(blocks.size());
+        out.writeInt(blocks.size() - blocks.getAliveCount());
+        for (int i = 0; i < blocks.size(); i++) {
+            if (!blocks.isAlive(i)) {
+                out.writeInt(i);
+            }
+        }
+    }
+
+    /**
+     * Restores a state written by {@link #writeState(DataOutputStream)}. The board of the same level must already
+     * be set up, for example by {@link #startLevel(int)} with the same seed.
+     *
+     * @param in The stream to read from.
+     * @throws IOException If the stream cannot be read or the state does not belong to the current board.
+     */
+    public void readState(DataInputStream in) throws IOException {
+        score = in.readInt();
+        heart = in.readInt();
+        destroyedBlockCount = in.readInt();
+        goldTime = in.readLong();
+        isGoldStatus = in.readBoolean();
+        isExistHeartBlock = in.readBoolean();
+        levelCleared = in.readBoolean();
+        gameOver = in.readBoolean();
+
+        paddleWidth = in.readInt();
+        paddleMoveX = in.readDouble();
+        paddleMoveY = in.readDouble();
+        centerBreakX = in.readDouble();
+        leftKeyPressed = in.readBoolean();
+        rightKeyPressed = in.readBoolean();
+
+        ballRadius = in.readDouble();
+        ballPosX = in.readDouble();
+        ballPosY = in.readDouble();
+        previousBallPosX = in.readDouble();
+        previousBallPosY = in.readDouble();
+        ballVelocityX = in.readDouble();
+        ballVelocityY = in.readDouble();
+        goDownBall = in.readBoolean();
+        goRightBall = in.readBoolean();
+
+        collideToBreak = in.readBoolean();
+        collideToBreakAndMoveToRight = in.readBoolean();
+        collideToRightWall = in.readBoolean();
+        collideToLeftWall = in.readBoolean();
+        collideToRightBlock = in.readBoolean();
+        collideToBottomBlock = in.readBoolean();
+        collideToLeftBlock = in.readBoolean();
+        collideToTopBlock = in.readBoolean();
+
+        originalPaddleWidth = in.readInt();
+        originalBallRadius = in.readDouble();
+        effects.read(in);
+        boardRandom.setState(in.readLong());
+        bonusRandom.setState(in.readLong());
+
+        despawnBonuses();
+        int bonusCount = in.readInt();
+        for (int i = 0; i < bonusCount; i++) {
+            Bonus bonus = bonusPool.spawn(0, 0, 0);
+            bonus.x = in.readDouble();
+            bonus.y = in.readDouble();
+            bonus.timeCreated = in.readLong();
+            bonus.taken = in.readBoolean();
+            bonuses.add(bonus);
+        }
+
+        if (in.readInt() != blocks.size()) {
+            throw new IOException("State does not match the current board");
+        }
+        int destroyedCount = in.readInt();
+        for (int i = 0; i < destroyedCount; i++) {
+            blocks.destroy(in.readInt());
+        }
+    }
+
+    /**
+     * Places the ball back at its starting position.
+     */
+    public void resetBall() {
+        ballPosX = SCENE_WIDTH / 2.0;
+        ballPosY = SCENE_HEIGHT * 0.9;
+        previousBallPosX = ballPosX;
+        previousBallPosY = ballPosY;
+    }
+
+    /**
+     * Ends every temporary bonus effect and every falling bonus without applying them, and puts the paddle width
+     * and the ball radius back to their defaults. Used when a saved game replaces the level in progress, since
+     * saves hold neither effects nor falling bonuses.
+     */
+    public void resetEffects() {
+        effects.clear();
+        originalPaddleWidth = 0;
+        originalBallRadius = 0;
+        paddleWidth = DEFAULT_PADDLE_WIDTH;
+        ballRadius = DEFAULT_BALL_RADIUS;
+        despawnBonuses();
+    }
+
+    /**
+     * Prepares the simulation for a newly set up board. It indexes the current blocks for collision checks
+     * and re-arms the level cleared and game over events.
+     */
+    public void onBoardChanged() {
+        blockGrid.rebuild(blocks);
+        if (blockCandidates.length < blocks.size()) {
+            blockCandidates = new int[blocks.size()];
+        }
+        levelCleared = false;
+        gameOver = false;
+    }
+
+    /**
+     * Moves the paddle one step left or right, keeping it within the game boundaries.
+     *
+     * @param direction The direction to move the paddle, either LEFT or RIGHT.
+     */
+    public void movePaddle(int direction) {
+        double target = paddleMoveX + (direction == RIGHT ? PADDLE_SPEED : -PADDLE_SPEED);
+        paddleMoveX = Math.max(0, Math.min(SCENE_WIDTH - paddleWidth, target));
+        centerBreakX = paddleMoveX + paddleWidth / 2.0;
+    }
+
+    /**
+     * Moves the paddle by one step in the direction of the key that is held, if exactly one is held.
+     * The paddle therefore moves at a fixed speed per tick, whatever the frame rate of the display.
+     */
+    private void updatePaddle() {
+        if (leftKeyPressed && !rightKeyPressed) {
+            movePaddle(LEFT);
+        } else if (rightKeyPressed && !leftKeyPressed) {
+            movePaddle(RIGHT);
+        }
+    }
+
+    /**
+     * Resets flags that track ball collisions with various objects. This is essential for ensuring proper
+     * response to new collisions after a collision has occurred and to prevent incorrect collision handling.
+     */
+    public void resetCollideFlags() {
+        collideToBreak = false;
+        collideToBreakAndMoveToRight = false;
+        collideToRightWall = false;
+        collideToLeftWall = false;
+        collideToRightBlock = false;
+        collideToBottomBlock = false;
+        collideToLeftBlock = false;
+        collideToTopBlock = false;
+    }
+
+    /**
+     * Moves the ball along its velocity for one tick and resolves its collisions with the walls, the paddle
+     * and the blocks. Each contact along the way is found by its time of impact and handled in order,
+     * and the ball then continues with the rest of its motion, up to a fixed number of contacts per tick.
+     */
+    private void setPhysicsToBall() {
+        double remaining = 1.0;
+        for (int contact = 0; contact < MAX_CONTACTS_PER_TICK && remaining > 0; contact++) {
+            normalizeBallVelocity();
+            double dx = (goRightBall ? ballVelocityX : -ballVelocityX) * remaining;
+            double dy = (goDownBall ? ballVelocityY : -ballVelocityY) * remaining;
+
+            findEarliestContact(dx, dy);
+            if (contactType == CONTACT_NONE) {
+                ballPosX += dx;
+                ballPosY += dy;
+                return;
+            }
+
+            ballPosX += dx * contactTime;
+            ballPosY += dy * contactTime;
+            remaining *= 1 - contactTime;
+            resolveContact();
+            contactCount++;
+        }
+    }
+
+    /**
+     * Finds the first wall, paddle or block the ball touches while moving by the given distance.
+     * The result is stored in the contact fields, with {@code CONTACT_NONE} if the path is clear.
+     * Only the blocks in grid cells covered by the ball's path are checked.
+     *
+     * @param dx The horizontal distance the ball moves.
+     * @param dy The vertical distance the ball moves.
+     */
+    private void findEarliestContact(double dx, double dy) {
+        contactType = CONTACT_NONE;
+        contactTime = Double.POSITIVE_INFINITY;
+
+        if (dx < 0) {
+            checkWallContact((ballRadius - ballPosX) / dx, CONTACT_LEFT_WALL);
+        } else if (dx > 0) {
+            checkWallContact((SCENE_WIDTH - ballRadius - ballPosX) / dx, CONTACT_RIGHT_WALL);
+        }
+        if (dy < 0) {
+            checkWallContact((ballRadius - ballPosY) / dy, CONTACT_TOP_WALL);
+        } else if (dy > 0) {
+            checkWallContact((SCENE_HEIGHT - ballRadius - ballPosY) / dy, CONTACT_BOTTOM_WALL);
+        }
+
+        // The paddle only sends the ball back up, so it is only checked while the ball is falling
+        if (dy > 0 && sweep.sweep(ballPosX, ballPosY, dx, dy, ballRadius,
+                paddleMoveX, paddleMoveY, paddleMoveX + paddleWidth, paddleMoveY + PADDLE_HEIGHT)
+                && sweep.getTime() < contactTime) {
+            contactType = CONTACT_PADDLE;
+            contactTime = sweep.getTime();
+        }
+
+        int candidateCount = blockGrid.collectCandidates(
+                Math.min(ballPosX, ballPosX + dx) - ballRadius,
+                Math.min(ballPosY, ballPosY + dy) - ballRadius,
+                Math.max(ballPosX, ballPosX + dx) + ballRadius,
+                Math.max(ballPosY, ballPosY + dy) + ballRadius,
+                blockCandidates);
+
+        for (int i = 0; i < candidateCount; i++) {
+            int block = blockCandidates[i];
+            if (blocks.sweep(block, sweep, ballPosX, ballPosY, dx, dy, ballRadius)
+                    && sweep.getTime() < contactTime) {
+                contactType = CONTACT_BLOCK;
+                contactTime = sweep.getTime();
+                contactBlock = block;
+                contactSide = sweep.getSide();
+            }
+        }
+    }
+
+    /**
+     * Records a wall as the earliest contact if the ball reaches it during this motion before anything else.
+     * A ball that is already past the wall touches it immediately.
+     *
+     * @param time The time of impact with the wall, as a fraction of the motion.
+     * @param type The contact type of the wall.
+     */
+    private void checkWallContact(double time, int type) {
+        time = Math.max(time, 0);
+        if (time <= 1 && time < contactTime) {
+            contactType = type;
+            contactTime = time;
+        }
+    }
+
+    /**
+     * Applies the effects of the contact found by {@link #findEarliestContact(double, double)}.
+     * The ball has already been moved to the point of contact.
+     */
+    private void resolveContact() {
+        switch (contactType) {
+            case CONTACT_LEFT_WALL:
+                handleSideWallCollision(false);
+                break;
+            case CONTACT_RIGHT_WALL:
+                handleSideWallCollision(true);
+                break;
+            case CONTACT_TOP_WALL:
+                bounceOffTopWall();
+                break;
+            case CONTACT_BOTTOM_WALL:
+                bounceOffBottomWall();
+                break;
+            case CONTACT_PADDLE:
+                handlePaddleCollision();
+                break;
+            case CONTACT_BLOCK:
+                handleBlockHit(contactBlock, contactSide);
+                break;
+        }
+    }
+
+    /**
+     * Keeps the ball's speeds positive so that its direction flags always match the way it actually moves.
+     * The spin added by the paddle can push the horizontal speed below zero, which becomes a change of direction.
+     */
+    private void normalizeBallVelocity() {
+        if (ballVelocityX < 0) {
+            ballVelocityX = -ballVelocityX;
+            goRightBall = !goRightBall;
+        }
+        if (ballVelocityY < 0) {
+            ballVelocityY = -ballVelocityY;
+            goDownBall = !goDownBall;
+        }
+    }
+
+    /**
+     * Handles the ball's bounce off the top wall. This method reverses the ball's vertical direction
+     * upon hitting the top boundary of the game area.
+     */
+    private void bounceOffTopWall() {
+        listener.onWallBounce();
+        resetCollideFlags();
+        goDownBall = true;
+    }
+
+    /**
+     * Handles the ball's bounce off the bottom wall. This method deals with the consequences of the ball
+     * hitting the bottom boundary, including life reduction and game over scenarios.
+     */
+    private void bounceOffBottomWall() {
+        resetCollideFlags();
+        goDownBall = false;
+        if (!isGoldStatus) {
+            heart--;
+            listener.onHeartLost();
+
+            if (heart <= 0) {
+                gameOver = true;
+                listener.onGameOver();
+            }
+        }
+    }
+
+    /**
+     * Handles the ball's collision with the left and right walls. This method reverses the ball's horizontal
+     * direction when it hits the side boundaries of the game area.
+     *
+     * @param rightWall True if the ball hit the right wall, false for the left wall.
+     */
+    private void handleSideWallCollision(boolean rightWall) {
+        listener.onWallBounce();
+        resetCollideFlags();
+        if (rightWall) {
+            collideToRightWall = true;
+            goRightBall = false;
+        } else {
+            collideToLeftWall = true;
+            goRightBall = true;
+        }
+    }
+
+    /**
+     * Handles the ball's collision with the paddle, adjusting its velocity and direction. This method is critical
+     * for reflecting the ball's movement when it interacts with the paddle.
+     */
+    private void handlePaddleCollision() {
+        resetCollideFlags();
+        calculateBallVelocity();
+        goDownBall = false;
+        collideToBreakAndMoveToRight = ballPosX - centerBreakX > 0;
+        listener.onPaddleBounce();
+    }
+
+    /**
+     * Calculates the velocity of the ball after colliding with the paddle. This method adjusts the speed
+     * and direction of the ball based on its point of contact with the paddle.
+     */
+    private void calculateBallVelocity() {
+        double relation = (ballPosX - centerBreakX) / ((double) paddleWidth / 2);
+
+        // Ensure relation is not too small to avoid division by zero
+        if (Math.abs(relation) < 0.001) {
+            relation = 0.001 * Math.signum(relation);
+        }
+
+        ballVelocityX = Math.abs(relation) * MAX_VELOCITY_X; // Ensure this doesn't exceed MAX_VELOCITY_X
+        ballVelocityX = Math.min(ballVelocityX, MAX_VELOCITY_X);
+
+        // Calculate ballVelocityY ensuring it's not NaN
+        double velocityYSquared = Math.pow(MAX_VELOCITY, 2) - Math.pow(ballVelocityX, 2);
+        if (velocityYSquared < 0) {
+            velocityYSquared = 0;
+        }
+        ballVelocityY = Math.sqrt(velocityYSquared);
+
+        // Add spin effect based on paddle movement
+        if (leftKeyPressed) {
+            ballVelocityX -= SPIN_EFFECT; // SPIN_EFFECT is a constant defining how much spin affects the ball
+        } else if (rightKeyPressed) {
+            ballVelocityX += SPIN_EFFECT;
+        }
+    }
+
+    /**
+     * Checks whether all blocks on the current level have been destroyed, and reports the level as cleared once.
+     */
+    private void checkDestroyedCount() {
+        if (!levelCleared && destroyedBlockCount == blocks.size()) {
+            levelCleared = true;
+            listener.onLevelCleared();
+        }
+    }
+
+    /**
+     * Handles the actions to be taken when a block is hit by the ball.
+     *
+     * @param block   The index of the block that was hit.
+     * @param hitCode The code indicating the side of the block hit by the ball.
+     */
+    private void handleBlockHit(int block, int hitCode) {
+        score++;
+        blocks.destroy(block);
+        destroyedBlockCount++;
+        resetCollideFlags();
+        listener.onBlockDestroyed(block);
+
+        checkBlockTypeActions(block);
+
+        switch (hitCode) {
+            case Block.HIT_RIGHT:
+                collideToRightBlock = true;
+                goRightBall = true;
+                break;
+            case Block.HIT_BOTTOM:
+                collideToBottomBlock = true;
+                goDownBall = true;
+                break;
+            case Block.HIT_LEFT:
+                collideToLeftBlock = true;
+                goRightBall = false;
+                break;
+            case Block.HIT_TOP:
+                collideToTopBlock = true;
+                goDownBall = false;
+                break;
+        }
+    }
+
+    /**
+     * Checks for and handles the ball's collision with the game blocks.
+     * This method updates the game state based on the type of block hit.
+     * @param block The index of the block generated by the game board
+     */
+    private void checkBlockTypeActions(int block) {
+        int type = blocks.getType(block);
+        if (type == Block.RANDOM) {
+            Bonus bonus = bonusPool.spawn(blocks.getRow(block), blocks.getColumn(block), time);
+            bonuses.add(bonus);
+            listener.onBonusSpawned(bonus);
+        } else if (type == Block.GOLDEN_TIME) {
+            goldTime = time;
+            isGoldStatus = true;
+            listener.onGoldStatusChanged(true);
+        } else if (type == Block.HEART) {
+            heart++;
+            listener.onHeartGained();
+        }
+    }
+
+    /**
+     * Ends the golden ball power-up once its duration has passed.
+     */
+    private void checkGoldStatus() {
+        if (isGoldStatus && (time - goldTime) > GOLD_DURATION) {
+            isGoldStatus = false;
+            listener.onGoldStatusChanged(false);
+        }
+    }
+
+    /**
+     * Handles the collection of bonuses and updates the game state accordingly. This method is responsible
+     * for detecting and applying the effects of bonus items collected during gameplay.
+     */
+    private void handleBonusCollection() {
+        // Bonuses still falling are compacted to the front of the list, in order
+        int falling = 0;
+        for (int i = 0; i < bonuses.size(); i++) {
+            Bonus bonus = bonuses.get(i);
+
+            if (bonus.y > SCENE_HEIGHT || bonus.taken) {
+                bonusPool.despawn(bonus);
+                continue;
+            }
+
+            if (bonus.y >= paddleMoveY && bonus.y <= paddleMoveY + PADDLE_HEIGHT
+                    && bonus.x >= paddleMoveX && bonus.x <= paddleMoveX + paddleWidth) {
+                applyBonusEffect(bonus);
+                bonusPool.despawn(bonus);
+            } else {
+                // Update the Y position to simulate falling
+                bonus.y += FALL_SPEED;
+                bonuses.set(falling++, bonus);
+            }
+        }
+        while (bonuses.size() > falling) {
+            bonuses.remove(bonuses.size() - 1);
+        }
+    }
+
+    /**
+     * Returns every falling bonus to the pool, for example when a level is set up.
+     */
+    private void despawnBonuses() {
+        for (int i = 0; i < bonuses.size(); i++) {
+            bonusPool.despawn(bonuses.get(i));
+        }
+        bonuses.clear();
+    }
+
+    /**
+     * Activates the effect of a collected bonus.
+     * Randomly selects a bonus effect to apply, such as changing the paddle or ball size, or increasing the score.
+     *
+     * @param bonus The collected bonus.
+     */
+    private void applyBonusEffect(Bonus bonus) {
+        bonus.taken = true;
+        listener.onBonusCollected(bonus);
+
+        switch (bonusRandom.nextInt(3)) {
+            case 0:
+                applyPaddleSizeEffect();
+                break;
+            case 1:
+                applyScoreEffect();
+                break;
+            case 2:
+                applyBallSizeEffect();
+                break;
+        }
+    }
+
+    /**
+     * Applies an effect that alters the size of the paddle.
+     * The size change can be an increase or decrease, and the effect lasts for a random, limited duration.
+     */
+    private void applyPaddleSizeEffect() {
+        // Store the paddle width without effects before the first change
+        if (!effects.isActive(EffectScheduler.PADDLE_WIDTH)) {
+            originalPaddleWidth = paddleWidth;
+        }
+        int oldWidth = paddleWidth;
+
+        // Determine whether to increase or decrease the paddle width
+        boolean increaseWidth = bonusRandom.nextBoolean();
+        int sizeChange = bonusRandom.nextInt(6) + 20; // Random size change between 20 and 25
+        if (!increaseWidth) {
+            sizeChange = -sizeChange;
+        }
+
+        // Schedule the end of the change, which stacks with any change still active
+        long duration = (bonusRandom.nextInt(6) + 5) * 1000; // Random duration between 5 and 10 seconds
+        effects.schedule(EffectScheduler.PADDLE_WIDTH, sizeChange, time + duration);
+        paddleWidth = getEffectivePaddleWidth();
+
+        // Adjust paddle position to keep it within game boundaries
+        paddleMoveX = paddleMoveX - (double) sizeChange / 2;
+        paddleMoveX = Math.max(paddleMoveX, 0);
+        paddleMoveX = Math.min(paddleMoveX, SCENE_WIDTH - paddleWidth);
+
+        listener.onPaddleWidthChanged(oldWidth, paddleWidth, duration);
+    }
+
+    /**
+     * Increases the player's score by a random amount as a bonus effect.
+     * The range of the score increase is determined randomly.
+     */
+    private void applyScoreEffect() {
+        int bonusPoints = bonusRandom.nextInt(6) + 3; // Random bonus points between 3 and 8
+        score += bonusPoints;
+        listener.onScoreBonus(bonusPoints, score);
+    }
+
+    /**
+     * Applies an effect that modifies the size of the ball.
+     * The ball size can increase or decrease, and this change persists for a randomly determined duration.
+     */
+    private void applyBallSizeEffect() {
+        // Store the ball radius without effects before the first change
+        if (!effects.isActive(EffectScheduler.BALL_SIZE)) {
+            originalBallRadius = (int) ballRadius;
+        }
+        double oldRadius = ballRadius;
+
+        // Compute the new ball radius
+        int sizeChange = bonusRandom.nextInt(11) - 5; // Random size change between -5 and +5
+        long duration = (bonusRandom.nextInt(6) + 5) * 1000; // Random duration between 5 and 10 seconds
+        effects.schedule(EffectScheduler.BALL_SIZE, sizeChange, time + duration);
+        ballRadius = getEffectiveBallRadius();
+
+        // Ensure the ball stays within the scene boundaries
+        ballPosX = Math.min(Math.max(ballPosX, ballRadius), SCENE_WIDTH - ballRadius);
+        ballPosY = Math.min(Math.max(ballPosY, ballRadius), SCENE_HEIGHT - ballRadius);
+
+        listener.onBallSizeChanged(oldRadius, ballRadius, duration);
+    }
+
+    /**
+     * Ends the temporary size changes of the paddle and the ball whose durations have passed, and recomputes
+     * the sizes from the changes that are still active. Only the earliest change is checked on a tick where
+     * nothing expires.
+     */
+    private void expireEffects() {
+        int expired = effects.expire(time);
+        if ((expired & (1 << EffectScheduler.PADDLE_WIDTH)) != 0) {
+            paddleWidth = getEffectivePaddleWidth();
+        }
+        if ((expired & (1 << EffectScheduler.BALL_SIZE)) != 0) {
+            ballRadius = getEffectiveBallRadius();
+        }
+    }
+
+    /**
+     * Computes the paddle width from its width without effects and the size changes still active.
+     *
+     * @return The paddle width, never less than the minimum width while a change is active.
+     */
+    private int getEffectivePaddleWidth() {
+        if (!effects.isActive(EffectScheduler.PADDLE_WIDTH)) {
+            return originalPaddleWidth;
+        }
+        return Math.max(originalPaddleWidth + (int) effects.getTotal(EffectScheduler.PADDLE_WIDTH), MIN_PADDLE_WIDTH);
+    }
+
+    /**
+     * Computes the ball radius from its radius without effects and the size changes still active.
+     *
+     * @return The ball radius, never less than the minimum radius while a change is active.
+     */
+    private double getEffectiveBallRadius() {
+        if (!effects.isActive(EffectScheduler.BALL_SIZE)) {
+            return originalBallRadius;
+        }
+        return Math.max(originalBallRadius + effects.getTotal(EffectScheduler.BALL_SIZE), MIN_BALL_RADIUS);
+    }
+
+    /**
+     * Gets the blocks on the current board, including destroyed ones.
+     *
+     * @return The block store of the current level.
+     */
+    public BlockStore getBlocks() {
+        return blocks;
+    }
+
+    /**
+     * Gets the list of bonuses currently falling.
+     *
+     * @return The list of Bonus objects.
+     */
+    public ArrayList<Bonus> getBonuses() {
+        return bonuses;
+    }
+
+    /**
+     * Returns the number of collisions the ball went through during the last physics update.
+     *
+     * @return The number of contacts resolved by the last tick.
+     */
+    public int getContactCount() {
+        return contactCount;
+    }
+
+    /**
+     * Checks whether the player has run out of hearts.
+     *
+     * @return True if the game is over, false otherwise.
+     */
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    /**
+     * Checks whether every block of the current level has been destroyed.
+     *
+     * @return True if the level has been cleared, false otherwise.
+     */
+    public boolean isLevelCleared() {
+        return levelCleared;
+    }
+
+    /**
+     * Sets the session seed that the random streams of each level are derived from.
+     * It takes effect at the next {@link #startLevel(int)}.
+     *
+     * @param seed The session seed.
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Returns the session seed that the random streams of each level are derived from.
+     *
+     * @return The session seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the random stream used to generate the board of the current level.
+     *
+     * @return The board random stream.
+     */
+    public Random getBoardRandom() {
+        return boardRandom;
+    }
+
+    /**
+     * Returns the current level.
+     *
+     * @return The current level of the game.
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * Sets the current level.
+     *
+     * @param level The level to set.
+     */
+    public void setLevel(int level) {
+        this.level = level;
+    }
+
+    /**
+     * Returns the current score of the game.
+     *
+     * @return The current score.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Sets the score of the game.
+     *
+     * @param score The score to set.
+     */
+    public void setScore(int score) {
+        this.score = score;
+    }
+
+    /**
+     * Returns the number of hearts (lives) remaining.
+     *
+     * @return The current number of hearts.
+     */
+    public int getHeart() {
+        return heart;
+    }
+
+    /**
+     * Sets the number of hearts (lives) of the player.
+     *
+     * @param heart The number of hearts to set.
+     */
+    public void setHeart(int heart) {
+        this.heart = heart;
+    }
+
+    /**
+     * Returns the number of blocks destroyed in the current level.
+     *
+     * @return The count of destroyed blocks.
+     */
+    public int getDestroyedBlockCount() {
+        return destroyedBlockCount;
+    }
+
+    /**
+     * Sets the number of blocks destroyed in the current level.
+     *
+     * @param destroyedBlockCount The count of destroyed blocks.
+     */
+    public void setDestroyedBlockCount(int destroyedBlockCount) {
+        this.destroyedBlockCount = destroyedBlockCount;
+    }
+
+    /**
+     * Returns the current game time.
+     *
+     * @return The game time in milliseconds.
+     */
+    public long getTime() {
+        return time;
+    }
+
+    /**
+     * Sets the current game time.
+     *
+     * @param time The game time in milliseconds.
+     */
+    public void setTime(long time) {
+        this.time = time;
+    }
+
+    /**
+     * Returns the game time at which the golden ball was last activated.
+     *
+     * @return The activation time in milliseconds.
+     */
+    public long getGoldTime() {
+        return goldTime;
+    }
+
+    /**
+     * Sets the game time at which the golden ball was last activated.
+     *
+     * @param goldTime The activation time in milliseconds.
+     */
+    public void setGoldTime(long goldTime) {
+        this.goldTime = goldTime;
+    }
+
+    /**
+     * Checks whether the golden ball is active.
+     *
+     * @return True if the golden ball is active, false otherwise.
+     */
+    public boolean isGoldStatus() {
+        return isGoldStatus;
+    }
+
+    /**
+     * Sets whether the golden ball is active.
+     *
+     * @param goldStatus True to activate the golden ball, false to deactivate it.
+     */
+    public void setGoldStatus(boolean goldStatus) {
+        this.isGoldStatus = goldStatus;
+    }
+
+    /**
+     * Checks whether the current level still holds a heart block.
+     *
+     * @return True if a heart block exists, false otherwise.
+     */
+    public boolean isExistHeartBlock() {
+        return isExistHeartBlock;
+    }
+
+    /**
+     * Sets whether the current level still holds a heart block.
+     *
+     * @param existHeartBlock True if a heart block exists, false otherwise.
+     */
+    public void setExistHeartBlock(boolean existHeartBlock) {
+        this.isExistHeartBlock = existHeartBlock;
+    }
+
+    /**
+     * Returns the current width of the paddle, including the changes of active bonus effects.
+     *
+     * @return The width of the paddle in pixels.
+     */
+    public int getPaddleWidth() {
+        return paddleWidth;
+    }
+
+    /**
+     * Sets the width of the paddle.
+     *
+     * @param paddleWidth The width of the paddle in pixels.
+     */
+    public void setPaddleWidth(int paddleWidth) {
+        this.paddleWidth = paddleWidth;
+    }
+
+    /**
+     * Returns the X position of the paddle.
+     *
+     * @return The current X position of the paddle.
+     */
+    public double getPaddleMoveX() {
+        return paddleMoveX;
+    }
+
+    /**
+     * Sets the X position of the paddle.
+     *
+     * @param paddleMoveX The X position to set for the paddle.
+     */
+    public void setPaddleMoveX(double paddleMoveX) {
+        this.paddleMoveX = paddleMoveX;
+    }
+
+    /**
+     * Returns the Y position of the paddle.
+     *
+     * @return The current Y position of the paddle.
+     */
+    public double getPaddleMoveY() {
+        return paddleMoveY;
+    }
+
+    /**
+     * Sets the Y position of the paddle.
+     *
+     * @param paddleMoveY The Y position to set for the paddle.
+     */
+    public void setPaddleMoveY(double paddleMoveY) {
+        this.paddleMoveY = paddleMoveY;
+    }
+
+    /**
+     * Returns the X coordinate of the center of the paddle.
+     *
+     * @return The center of the paddle.
+     */
+    public double getCenterBreakX() {
+        return centerBreakX;
+    }
+
+    /**
+     * Sets the X coordinate of the center of the paddle.
+     *
+     * @param centerBreakX The center of the paddle.
+     */
+    public void setCenterBreakX(double centerBreakX) {
+        this.centerBreakX = centerBreakX;
+    }
+
+    /**
+     * Checks whether the paddle is being moved to the left.
+     *
+     * @return True if the left key is held, false otherwise.
+     */
+    public boolean isLeftKeyPressed() {
+        return leftKeyPressed;
+    }
+
+    /**
+     * Sets whether the paddle is being moved to the left.
+     *
+     * @param leftKeyPressed True if the left key is held, false otherwise.
+     */
+    public void setLeftKeyPressed(boolean leftKeyPressed) {
+        this.leftKeyPressed = leftKeyPressed;
+    }
+
+    /**
+     * Checks whether the paddle is being moved to the right.
+     *
+     * @return True if the right key is held, false otherwise.
+     */
+    public boolean isRightKeyPressed() {
+        return rightKeyPressed;
+    }
+
+    /**
+     * Sets whether the paddle is being moved to the right.
+     *
+     * @param rightKeyPressed True if the right key is held, false otherwise.
+     */
+    public void setRightKeyPressed(boolean rightKeyPressed) {
+        this.rightKeyPressed = rightKeyPressed;
+    }
+
+    /**
+     * Returns the radius of the ball.
+     *
+     * @return The current radius of the ball.
+     */
+    public double getBallRadius() {
+        return ballRadius;
+    }
+
+    /**
+     * Sets the radius of the ball.
+     *
+     * @param ballRadius The radius to set for the ball.
+     */
+    public void setBallRadius(double ballRadius) {
+        this.ballRadius = ballRadius;
+    }
+
+    /**
+     * Returns the X position of the ball.
+     *
+     * @return The current X position of the ball.
+     */
+    public double getBallPosX() {
+        return ballPosX;
+    }
+
+    /**
+     * Sets the X position of the ball.
+     *
+     * @param ballPosX The X position to set for the ball.
+     */
+    public void setBallPosX(double ballPosX) {
+        this.ballPosX = ballPosX;
+    }
+
+    /**
+     * Returns the Y position of the ball.
+     *
+     * @return The current Y position of the ball.
+     */
+    public double getBallPosY() {
+        return ballPosY;
+    }
+
+    /**
+     * Sets the Y position of the ball.
+     *
+     * @param ballPosY The Y position to set for the ball.
+     */
+    public void setBallPosY(double ballPosY) {
+        this.ballPosY = ballPosY;
+    }
+
+    /**
+     * Retrieves the ball's x-coordinate at the start of the last tick, used to interpolate rendering.
+     *
+     * @return The previous X position of the ball.
+     */
+    public double getPreviousBallPosX() {
+        return previousBallPosX;
+    }
+
+    /**
+     * Retrieves the ball's y-coordinate at the start of the last tick, used to interpolate rendering.
+     *
+     * @return The previous Y position of the ball.
+     */
+    public double getPreviousBallPosY() {
+        return previousBallPosY;
+    }
+
+    /**
+     * Returns the horizontal velocity of the ball.
+     *
+     * @return The horizontal velocity, in pixels per tick.
+     */
+    public double getBallVelocityX() {
+        return ballVelocityX;
+    }
+
+    /**
+     * Sets the horizontal velocity of the ball.
+     *
+     * @param ballVelocityX The horizontal velocity, in pixels per tick.
+     */
+    public void setBallVelocityX(double ballVelocityX) {
+        this.ballVelocityX = ballVelocityX;
+    }
+
+    /**
+     * Returns the vertical velocity of the ball.
+     *
+     * @return The vertical velocity, in pixels per tick.
+     */
+    public double getBallVelocityY() {
+        return ballVelocityY;
+    }
+
+    /**
+     * Sets the vertical velocity of the ball.
+     *
+     * @param ballVelocityY The vertical velocity, in pixels per tick.
+     */
+    public void setBallVelocityY(double ballVelocityY) {
+        this.ballVelocityY = ballVelocityY;
+    }
+
+    /**
+     * Checks whether the ball is moving downwards.
+     *
+     * @return True if the ball moves down, false if it moves up.
+     */
+    public boolean isGoDownBall() {
+        return goDownBall;
+    }
+
+    /**
+     * Sets the vertical direction of the ball.
+     *
+     * @param goDownBall True to move the ball down, false to move it up.
+     */
+    public void setGoDownBall(boolean goDownBall) {
+        this.goDownBall = goDownBall;
+    }
+
+    /**
+     * Checks whether the ball is moving to the right.
+     *
+     * @return True if the ball moves right, false if it moves left.
+     */
+    public boolean isGoRightBall() {
+        return goRightBall;
+    }
+
+    /**
+     * Sets the horizontal direction of the ball.
+     *
+     * @param goRightBall True to move the ball right, false to move it left.
+     */
+    public void setGoRightBall(boolean goRightBall) {
+        this.goRightBall = goRightBall;
+    }
+
+    /**
+     * Checks whether the ball hit the paddle on the last tick.
+     *
+     * @return True if the collision occurred, false otherwise.
+     */
+    public boolean isCollideToBreak() {
+        return collideToBreak;
+    }
+
+    /**
+     * Sets whether the ball hit the paddle on the last tick.
+     *
+     * @param collideToBreak True if the collision occurred, false otherwise.
+     */
+    public void setCollideToBreak(boolean collideToBreak) {
+        this.collideToBreak = collideToBreak;
+    }
+
+    /**
+     * Checks whether the ball hit the right half of the paddle on the last tick.
+     *
+     * @return True if the collision occurred, false otherwise.
+     */
+    public boolean isCollideToBreakAndMoveToRight() {
+        return collideToBreakAndMoveToRight;
+    }
+
+    /**
+     * Sets whether the ball hit the right half of the paddle on the last tick.
+     *
+     * @param collideToBreakAndMoveToRight True if the collision occurred, false otherwise.
+     */
+    public void setCollideToBreakAndMoveToRight(boolean collideToBreakAndMoveToRight) {
+        this.collideToBreakAndMoveToRight = collideToBreakAndMoveToRight;
+    }
+
+    /**
+     * Checks whether the ball hit the right wall on the last tick.
+     *
+     * @return True if the collision occurred, false otherwise.
+     */
+    public boolean isCollideToRightWall() {
+        return collideToRightWall;
+    }
+
+    /**
+     * Sets whether the ball hit the right wall on the last tick.
+     *
+     * @param collideToRightWall True if the collision occurred, false otherwise.
+     */
+    public void setCollideToRightWall(boolean collideToRightWall) {
+        this.collideToRightWall = collideToRightWall;
+    }
+
+    /**
+     * Checks whether the ball hit the left wall on the last tick.
+     *
+     * @return True if the collision occurred, false otherwise.
+     */
+    public boolean isCollideToLeftWall() {
+        return collideToLeftWall;
+    }
+
+    /**
+     * Sets whether the ball hit the left wall on the last tick.
+     *
+     * @param collideToLeftWall True if the collision occurred, false otherwise.
+     */
+    public void setCollideToLeftWall(boolean collideToLeftWall) {
+        this.collideToLeftWall = collideToLeftWall;
+    }
+
+    /**
+     * Checks whether the ball hit the right side of a block on the last tick.
+     *
+     * @return True if the collision occurred, false otherwise.
+     */
+    public boolean isCollideToRightBlock() {
+        return collideToRightBlock;
+    }
+
+    /**
+     * Sets whether the ball hit the right side of a block on the last tick.
+     *
+     * @param collideToRightBlock True if the collision occurred, false otherwise.
+     */
+    public void setCollideToRightBlock(boolean collideToRightBlock) {
+        this.collideToRightBlock = collideToRightBlock;
+    }
+
+    /**
+     * Checks whether the ball hit the bottom of a block on the last tick.
+     *
+     * @return True if the collision occurred, false otherwise.
+     */
+    public boolean isCollideToBottomBlock() {
+        return collideToBottomBlock;
+    }
+
+    /**
+     * Sets whether the ball hit the bottom of a block on the last tick.
+     *
+     * @param collideToBottomBlock True if the collision occurred, false otherwise.
+     */
+    public void setCollideToBottomBlock(boolean collideToBottomBlock) {
+        this.collideToBottomBlock = collideToBottomBlock;
+    }
+
+    /**
+     * Checks whether the ball hit the left side of a block on the last tick.
+     *
+     * @return True if the collision occurred, false otherwise.
+     */
+    public boolean isCollideToLeftBlock() {
+        return collideToLeftBlock;
+    }
+
+    /**
+     * Sets whether the ball hit the left side of a block on the last tick.
+     *
+     * @param collideToLeftBlock True if the collision occurred, false otherwise.
+     */
+    public void setCollideToLeftBlock(boolean collideToLeftBlock) {
+        this.collideToLeftBlock = collideToLeftBlock;
+    }
+
+    /**
+     * Checks whether the ball hit the top of a block on the last tick.
+     *
+     * @return True if the collision occurred, false otherwise.
+     */
+    public boolean isCollideToTopBlock() {
+        return collideToTopBlock;
+    }
+
+    /**
+     * Sets whether the ball hit the top of a block on the last tick.
+     *
+     * @param collideToTopBlock True if the collision occurred, false otherwise.
+     */
+    public void setCollideToTopBlock(boolean collideToTopBlock) {
+        this.collideToTopBlock = collideToTopBlock;
+    }
+
+    /**
+     * Checks whether a bonus effect on the paddle width is active.
+     *
+     * @return True if the paddle width has been changed, false otherwise.
+     */
+    public boolean isPaddleWidthChanged() {
+        return effects.isActive(EffectScheduler.PADDLE_WIDTH);
+    }
+
+    /**
+     * Checks whether a bonus effect on the ball size is active.
+     *
+     * @return True if the ball size has been changed, false otherwise.
+     */
+    public boolean isBallSizeChanged() {
+        return effects.isActive(EffectScheduler.BALL_SIZE);
+    }
+
+    /**
+     * Returns the width of the paddle without the changes of bonus effects.
+     *
+     * @return The original width of the paddle.
+     */
+    public int getOriginalPaddleWidth() {
+        return originalPaddleWidth;
+    }
+
+    /**
+     * Returns the radius of the ball without the changes of bonus effects.
+     *
+     * @return The original radius of the ball.
+     */
+    public double getOriginalBallRadius() {
+        return originalBallRadius;
+    }
+}
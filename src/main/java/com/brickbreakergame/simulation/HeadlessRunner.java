@@ -0,0 +1,106 @@
+package com.brickbreakergame.simulation;
+
+import com.brickbreakergame.managers.LevelPack;
+
+/**
+ * Runs games of Brick Breaker without a display, as fast as the CPU allows.
+ * Every level is played a number of times by a simple autopilot that keeps the paddle under the ball.
+ * The runner prints the outcome of the games for each level and the overall number of games simulated per second,
+ * which makes it useful for balancing levels and for measuring the cost of the simulation itself.
+ * <p>
+ * Usage: {@code HeadlessRunner [gamesPerLevel] [maxTicksPerGame]}
+ */
+public class HeadlessRunner {
+    private static final int TICK_RATE = 120;
+    private static final int DEFAULT_GAMES_PER_LEVEL = 100;
+    private static final long DEFAULT_MAX_TICKS = TICK_RATE * 60L * 5; // Five minutes of game time
+    private static final double AUTOPILOT_DEAD_ZONE = 10.0;
+
+    /**
+     * Plays the configured number of games on every level and prints the results.
+     *
+     * @param args Optional number of games per level and maximum number of ticks per game.
+     */
+    public static void main(String[] args) {
+        int gamesPerLevel = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_GAMES_PER_LEVEL;
+        long maxTicks = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_MAX_TICKS;
+
+        long totalGames = 0;
+        long totalTicks = 0;
+        long start = System.nanoTime();
+
+        for (int level = 1; level <= LevelPack.getInstance().getLevelCount(); level++) {
+            int cleared = 0;
+            int lost = 0;
+            int timedOut = 0;
+            long levelTicks = 0;
+
+            for (int game = 0; game < gamesPerLevel; game++) {
+                GameSimulation simulation = createGame(level, game);
+                long ticks = play(simulation, maxTicks);
+                levelTicks += ticks;
+
+                if (simulation.isLevelCleared()) {
+                    cleared++;
+                } else if (simulation.isGameOver()) {
+                    lost++;
+                } else {
+                    timedOut++;
+                }
+            }
+
+            totalGames += gamesPerLevel;
+            totalTicks += levelTicks;
+            System.out.println("Level " + level + ": " + cleared + " cleared, " + lost + " lost, " + timedOut
+                    + " timed out, " + (gamesPerLevel > 0 ? levelTicks / gamesPerLevel : 0) + " ticks on average.");
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Simulated %d games (%d ticks) in %.2f seconds: %.1f games/s, %.0f ticks/s.%n",
+                totalGames, totalTicks, seconds, totalGames / seconds, totalTicks / seconds);
+    }
+
+    /**
+     * Creates a simulation with the board of a level set up and the ball at its starting position.
+     * Games are seeded by their number, so every run of the runner plays the same games.
+     *
+     * @param level The level to play.
+     * @param seed  The session seed of the game.
+     * @return The new simulation.
+     */
+    private static GameSimulation createGame(int level, long seed) {
+        GameSimulation simulation = new GameSimulation();
+        simulation.setSeed(seed);
+        simulation.startLevel(level);
+        return simulation;
+    }
+
+    /**
+     * Plays a game until the level is cleared, the player runs out of hearts or the tick limit is reached.
+     *
+     * @param simulation The simulation to play.
+     * @param maxTicks   The maximum number of ticks to simulate.
+     * @return The number of ticks simulated.
+     */
+    private static long play(GameSimulation simulation, long maxTicks) {
+        SimulationClock clock = new SimulationClock(TICK_RATE);
+        while (clock.getTick() < maxTicks && !simulation.isGameOver() && !simulation.isLevelCleared()) {
+            steerPaddle(simulation);
+            simulation.step();
+            simulation.setTime(clock.advance());
+        }
+        return clock.getTick();
+    }
+
+    /**
+     * Holds the arrow key towards the ball, as a player would. The simulation moves the paddle on the next tick.
+     *
+     * @param simulation The simulation to steer.
+     */
+    private static void steerPaddle(GameSimulation simulation) {
+        double paddleCenter = simulation.getPaddleMoveX() + simulation.getPaddleWidth() / 2.0;
+        double offset = simulation.getBallPosX() - paddleCenter;
+        simulation.setLeftKeyPressed(offset < -AUTOPILOT_DEAD_ZONE);
+        simulation.setRightKeyPressed(offset > AUTOPILOT_DEAD_ZONE);
+    }
+}
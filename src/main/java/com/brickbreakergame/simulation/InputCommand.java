@@ -0,0 +1,56 @@
+package com.brickbreakergame.simulation;
+
+/**
+ * Represents a single player input, captured on the thread that received it and applied to the simulation
+ * at the next tick boundary. Each command carries the time at which it was captured, so the delay between
+ * the player's action and the tick that sees it can be measured.
+ */
+public final class InputCommand {
+    // Actions
+    public static final int PRESS = 1;
+    public static final int RELEASE = 2;
+
+    private final int action;
+    private final int direction;
+    private final long timestamp;
+
+    /**
+     * Constructs an InputCommand.
+     *
+     * @param action    The action, either PRESS or RELEASE.
+     * @param direction The paddle direction the input controls, either {@code GameSimulation.LEFT} or {@code GameSimulation.RIGHT}.
+     * @param timestamp The time the input was captured, from {@link System#nanoTime()}.
+     */
+    public InputCommand(int action, int direction, long timestamp) {
+        this.action = action;
+        this.direction = direction;
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * Returns the action of the input.
+     *
+     * @return PRESS or RELEASE.
+     */
+    public int getAction() {
+        return action;
+    }
+
+    /**
+     * Returns the paddle direction the input controls.
+     *
+     * @return {@code GameSimulation.LEFT} or {@code GameSimulation.RIGHT}.
+     */
+    public int getDirection() {
+        return direction;
+    }
+
+    /**
+     * Returns the time the input was captured.
+     *
+     * @return The capture time, from {@link System#nanoTime()}.
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+}
@@ -0,0 +1,167 @@
+package com.brickbreakergame.simulation;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Carries player input from the thread that receives it, usually the JavaFX application thread, to the thread
+ * that steps the simulation. Inputs are queued as timestamped {@link InputCommand}s on a lock-free queue and
+ * applied in order at the start of each tick, so the paddle only ever moves inside the simulation tick and the
+ * input latency is bounded by one tick. The delay between capturing a command and applying it is measured.
+ * Applied commands can also be passed to a {@link ReplayRecorder}, so a session can be played again later.
+ */
+public class InputQueue {
+    private final Queue<InputCommand> commands = new ConcurrentLinkedQueue<>();
+    private final ReplayRecorder recorder;
+
+    // Latency statistics, written by the simulation thread only
+    private volatile long appliedCount = 0;
+    private volatile long totalLatencyNanos = 0;
+    private volatile long maxLatencyNanos = 0;
+    private volatile long lastLatencyNanos = 0;
+
+    /**
+     * Constructs an InputQueue whose commands are not recorded.
+     */
+    public InputQueue() {
+        this(null);
+    }
+
+    /**
+     * Constructs an InputQueue that passes every applied command to a recorder.
+     *
+     * @param recorder The recorder of the session, or null to not record.
+     */
+    public InputQueue(ReplayRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    /**
+     * Queues a press of a direction key. This method may be called from any thread.
+     *
+     * @param direction The direction, either {@code GameSimulation.LEFT} or {@code GameSimulation.RIGHT}.
+     */
+    public void press(int direction) {
+        submit(new InputCommand(InputCommand.PRESS, direction, System.nanoTime()));
+    }
+
+    /**
+     * Queues a release of a direction key. This method may be called from any thread.
+     *
+     * @param direction The direction, either {@code GameSimulation.LEFT} or {@code GameSimulation.RIGHT}.
+     */
+    public void release(int direction) {
+        submit(new InputCommand(InputCommand.RELEASE, direction, System.nanoTime()));
+    }
+
+    /**
+     * Queues a command, such as one read back from a {@link Replay}. This method may be called from any thread.
+     *
+     * @param command The command to apply at the next tick.
+     */
+    public void submit(InputCommand command) {
+        commands.add(command);
+    }
+
+    /**
+     * Applies every queued command to the simulation, in the order the commands were captured.
+     * A key that is pressed and released again before the tick still moves the paddle by one step,
+     * so short taps are not lost. This method must be called on the thread that steps the simulation,
+     * at the start of a tick.
+     *
+     * @param simulation The simulation that receives the input.
+     */
+    public void drainTo(GameSimulation simulation) {
+        boolean leftPressedThisTick = false;
+        boolean rightPressedThisTick = false;
+        InputCommand command;
+        while ((command = commands.poll()) != null) {
+            boolean left = command.getDirection() == GameSimulation.LEFT;
+            if (command.getAction() == InputCommand.PRESS) {
+                if (left) {
+                    leftPressedThisTick = true;
+                    simulation.setLeftKeyPressed(true);
+                } else {
+                    rightPressedThisTick = true;
+                    simulation.setRightKeyPressed(true);
+                }
+            } else {
+                if (left) {
+                    if (leftPressedThisTick && simulation.isLeftKeyPressed()) {
+                        simulation.movePaddle(GameSimulation.LEFT);
+                    }
+                    simulation.setLeftKeyPressed(false);
+                } else {
+                    if (rightPressedThisTick && simulation.isRightKeyPressed()) {
+                        simulation.movePaddle(GameSimulation.RIGHT);
+                    }
+                    simulation.setRightKeyPressed(false);
+                }
+            }
+            if (recorder != null) {
+                recorder.record(command);
+            }
+            recordLatency(System.nanoTime() - command.getTimestamp());
+        }
+    }
+
+    /**
+     * Adds the latency of an applied command to the statistics.
+     *
+     * @param latencyNanos The time between capturing and applying the command, in nanoseconds.
+     */
+    private void recordLatency(long latencyNanos) {
+        appliedCount++;
+        totalLatencyNanos += latencyNanos;
+        lastLatencyNanos = latencyNanos;
+        if (latencyNanos > maxLatencyNanos) {
+            maxLatencyNanos = latencyNanos;
+        }
+    }
+
+    /**
+     * Returns the number of commands applied so far.
+     *
+     * @return The number of applied commands.
+     */
+    public long getAppliedCount() {
+        return appliedCount;
+    }
+
+    /**
+     * Returns the average time between capturing a command and applying it to the simulation.
+     *
+     * @return The average input latency in nanoseconds, or 0 if no command has been applied yet.
+     */
+    public long getAverageLatencyNanos() {
+        long count = appliedCount;
+        return count == 0 ? 0 : totalLatencyNanos / count;
+    }
+
+    /**
+     * Returns the sum of the latencies of every command applied so far.
+     *
+     * @return The total input latency in nanoseconds.
+     */
+    public long getTotalLatencyNanos() {
+        return totalLatencyNanos;
+    }
+
+    /**
+     * Returns the longest time between capturing a command and applying it to the simulation.
+     *
+     * @return The maximum input latency in nanoseconds.
+     */
+    public long getMaxLatencyNanos() {
+        return maxLatencyNanos;
+    }
+
+    /**
+     * Returns the latency of the most recently applied command.
+     *
+     * @return The last input latency in nanoseconds.
+     */
+    public long getLastLatencyNanos() {
+        return lastLatencyNanos;
+    }
+}
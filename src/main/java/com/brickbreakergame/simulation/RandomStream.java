@@ -0,0 +1,56 @@
+package com.brickbreakergame.simulation;
+
+import java.util.Random;
+
+/**
+ * A {@link Random} whose internal state can be read and restored, so a game state snapshot can capture exactly
+ * where the random streams of a level are. It uses the same generator as {@code java.util.Random}, so a stream
+ * produces the same numbers as a plain Random created with the same seed.
+ */
+public class RandomStream extends Random {
+    private static final long serialVersionUID = 1L;
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+
+    private long state;
+
+    /**
+     * Constructs a RandomStream from a seed.
+     *
+     * @param seed The initial seed.
+     */
+    public RandomStream(long seed) {
+        super(seed);
+    }
+
+    @Override
+    public synchronized void setSeed(long seed) {
+        super.setSeed(seed);
+        state = (seed ^ MULTIPLIER) & MASK;
+    }
+
+    @Override
+    protected int next(int bits) {
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        return (int) (state >>> (48 - bits));
+    }
+
+    /**
+     * Returns the internal state of the generator.
+     *
+     * @return The state, to be passed to {@link #setState(long)}.
+     */
+    public long getState() {
+        return state;
+    }
+
+    /**
+     * Restores an internal state returned by {@link #getState()}.
+     *
+     * @param state The state to restore.
+     */
+    public void setState(long state) {
+        this.state = state & MASK;
+    }
+}
@@ -0,0 +1,505 @@
+package com.brickbreakergame.simulation;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Holds a recorded session of Brick Breaker: the session seed and, for every level played, the state the level
+ * started from and the input commands applied on each tick. Because a level is fully determined by the seed, its
+ * starting score and hearts and the inputs, this is all that is needed to play the session again tick for tick.
+ * <p>
+ * Replays are stored in a compact binary format: a header with the magic number, format version, tick rate and
+ * seed, then one segment per level. A segment stores its commands as the number of ticks since the previous
+ * command, written as a variable-length integer, followed by a one-byte command code, so a typical level takes
+ * a few kilobytes. A completed segment also stores a hash of the final state, which lets a player detect a replay
+ * that no longer plays out as it was recorded. Segments also hold keyframes: snapshots of the complete game state
+ * taken every few seconds of play, from which a player can seek to any tick of a long level without replaying it
+ * from the start. The file ends with a CRC32 of everything before it.
+ */
+public class Replay {
+    private static final int MAGIC = 0x42425250; // "BBRP"
+    private static final short VERSION = 1;
+
+    private final int tickRate;
+    private final long seed;
+    private final List<Segment> segments = new ArrayList<>();
+
+    /**
+     * The Segment class holds the recording of a single level.
+     */
+    public static final class Segment {
+        private static final int INITIAL_CAPACITY = 64;
+
+        private final int level;
+        private final int score;
+        private final int heart;
+        private int tickCount;
+        private boolean complete;
+        private long endStateHash;
+        private int[] commandTicks = new int[INITIAL_CAPACITY];
+        private byte[] commandCodes = new byte[INITIAL_CAPACITY];
+        private int commandCount;
+        private final List<Keyframe> keyframes = new ArrayList<>();
+
+        /**
+         * Constructs a Segment for a level that starts with the given score and hearts.
+         *
+         * @param level The level played.
+         * @param score The score at the start of the level.
+         * @param heart The number of hearts at the start of the level.
+         */
+        public Segment(int level, int score, int heart) {
+            this.level = level;
+            this.score = score;
+            this.heart = heart;
+        }
+
+        /**
+         * Copies the segment as it is now. Recorded commands are only ever appended and keyframes never change,
+         * so the copy shares the command arrays and keyframes with the original and only the counts and the
+         * keyframe list are its own: commands and keyframes added to the original later do not show in it.
+         *
+         * @return The copy.
+         */
+        private Segment copy() {
+            Segment copy = new Segment(level, score, heart);
+            copy.tickCount = tickCount;
+            copy.complete = complete;
+            copy.endStateHash = endStateHash;
+            copy.commandTicks = commandTicks;
+            copy.commandCodes = commandCodes;
+            copy.commandCount = commandCount;
+            copy.keyframes.addAll(keyframes);
+            return copy;
+        }
+
+        /**
+         * Appends a command applied on a tick. Commands must be added in the order they were applied.
+         *
+         * @param tick    The tick of the level on which the command was applied, counting from 0.
+         * @param command The applied command.
+         */
+        public void addCommand(int tick, InputCommand command) {
+            if (commandCount == commandTicks.length) {
+                commandTicks = Arrays.copyOf(commandTicks, commandCount * 2);
+                commandCodes = Arrays.copyOf(commandCodes, commandCount * 2);
+            }
+            commandTicks[commandCount] = tick;
+            commandCodes[commandCount] = (byte) (command.getAction() << 4 | command.getDirection());
+            commandCount++;
+        }
+
+        /**
+         * Appends a snapshot of the game state. Keyframes must be added in tick order.
+         *
+         * @param tick  The number of ticks of the level played before the snapshot was taken.
+         * @param state The state, as written by {@link GameSimulation#writeState}.
+         */
+        public void addKeyframe(int tick, byte[] state) {
+            keyframes.add(new Keyframe(tick, state));
+        }
+
+        /**
+         * Finds the last keyframe taken at or before a tick.
+         *
+         * @param tick The tick to seek to.
+         * @return The keyframe to start from, or null if the tick comes before the first keyframe.
+         */
+        public Keyframe findKeyframe(int tick) {
+            Keyframe found = null;
+            for (Keyframe keyframe : keyframes) {
+                if (keyframe.getTick() > tick) {
+                    break;
+                }
+                found = keyframe;
+            }
+            return found;
+        }
+
+        /**
+         * Returns the keyframes of the level, in tick order.
+         *
+         * @return The keyframes.
+         */
+        public List<Keyframe> getKeyframes() {
+            return keyframes;
+        }
+
+        /**
+         * Sets the number of ticks the level has been played for so far.
+         *
+         * @param tickCount The number of ticks played.
+         */
+        public void setTickCount(int tickCount) {
+            this.tickCount = tickCount;
+        }
+
+        /**
+         * Marks the level as finished, either cleared or lost, and stores the hash of its final state.
+         *
+         * @param endStateHash The hash of the state after the last tick, from {@link #hashState(GameSimulation)}.
+         */
+        public void complete(long endStateHash) {
+            this.complete = true;
+            this.endStateHash = endStateHash;
+        }
+
+        /**
+         * Returns the level played.
+         *
+         * @return The level.
+         */
+        public int getLevel() {
+            return level;
+        }
+
+        /**
+         * Returns the score at the start of the level.
+         *
+         * @return The score.
+         */
+        public int getScore() {
+            return score;
+        }
+
+        /**
+         * Returns the number of hearts at the start of the level.
+         *
+         * @return The number of hearts.
+         */
+        public int getHeart() {
+            return heart;
+        }
+
+        /**
+         * Returns the number of ticks the level has been played for so far.
+         *
+         * @return The number of ticks played.
+         */
+        public int getTickCount() {
+            return tickCount;
+        }
+
+        /**
+         * Checks whether the level was played to its end.
+         *
+         * @return True if the level was cleared or lost, false if it was still in progress.
+         */
+        public boolean isComplete() {
+            return complete;
+        }
+
+        /**
+         * Returns the hash of the final state of the level.
+         *
+         * @return The hash, only meaningful if the level is complete.
+         */
+        public long getEndStateHash() {
+            return endStateHash;
+        }
+
+        /**
+         * Returns the number of recorded commands.
+         *
+         * @return The number of commands.
+         */
+        public int getCommandCount() {
+            return commandCount;
+        }
+
+        /**
+         * Returns the tick at which a recorded command was applied.
+         *
+         * @param i The index of the command.
+         * @return The number of ticks of the level played before the command was applied.
+         */
+        public int getCommandTick(int i) {
+            return commandTicks[i];
+        }
+
+        /**
+         * Recreates a recorded command, timestamped now.
+         *
+         * @param i The index of the command.
+         * @return The command.
+         */
+        public InputCommand getCommand(int i) {
+            return new InputCommand(commandCodes[i] >> 4, commandCodes[i] & 0x0F, System.nanoTime());
+        }
+    }
+
+    /**
+     * The Keyframe class holds a snapshot of the complete game state at a tick of a level.
+     */
+    public static final class Keyframe {
+        private final int tick;
+        private final byte[] state;
+
+        /**
+         * Constructs a Keyframe.
+         *
+         * @param tick  The number of ticks of the level played before the snapshot was taken.
+         * @param state The state, as written by {@link GameSimulation#writeState}.
+         */
+        public Keyframe(int tick, byte[] state) {
+            this.tick = tick;
+            this.state = state;
+        }
+
+        /**
+         * Returns the tick the snapshot was taken at.
+         *
+         * @return The number of ticks of the level played before the snapshot was taken.
+         */
+        public int getTick() {
+            return tick;
+        }
+
+        /**
+         * Returns the snapshot of the game state.
+         *
+         * @return The state, as written by {@link GameSimulation#writeState}.
+         */
+        public byte[] getState() {
+            return state;
+        }
+    }
+
+    /**
+     * Constructs an empty Replay.
+     *
+     * @param tickRate The number of simulation ticks per second the session was played at.
+     * @param seed     The session seed.
+     */
+    public Replay(int tickRate, long seed) {
+        this.tickRate = tickRate;
+        this.seed = seed;
+    }
+
+    /**
+     * Computes a hash of the parts of the game state that any divergence quickly shows up in.
+     *
+     * @param simulation The simulation to hash.
+     * @return The hash of the state.
+     */
+    public static long hashState(GameSimulation simulation) {
+        long hash = 17;
+        hash = hash * 31 + simulation.getScore();
+        hash = hash * 31 + simulation.getHeart();
+        hash = hash * 31 + simulation.getDestroyedBlockCount();
+        hash = hash * 31 + simulation.getBlocks().getAliveCount();
+        hash = hash * 31 + Double.doubleToLongBits(simulation.getBallPosX());
+        hash = hash * 31 + Double.doubleToLongBits(simulation.getBallPosY());
+        hash = hash * 31 + Double.doubleToLongBits(simulation.getPaddleMoveX());
+        return hash;
+    }
+
+    /**
+     * Starts the recording of a new level.
+     *
+     * @param level The level played.
+     * @param score The score at the start of the level.
+     * @param heart The number of hearts at the start of the level.
+     * @return The new segment.
+     */
+    public Segment addSegment(int level, int score, int heart) {
+        Segment segment = new Segment(level, score, heart);
+        segments.add(segment);
+        return segment;
+    }
+
+    /**
+     * Returns the number of simulation ticks per second the session was played at.
+     *
+     * @return The tick rate.
+     */
+    public int getTickRate() {
+        return tickRate;
+    }
+
+    /**
+     * Returns the session seed.
+     *
+     * @return The seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns the recorded levels, in the order they were played.
+     *
+     * @return The segments.
+     */
+    public List<Segment> getSegments() {
+        return segments;
+    }
+
+    /**
+     * Copies the replay as it is now, so it can be encoded on another thread while recording goes on.
+     * Completed segments no longer change and are shared with the copy; the others are copied without copying
+     * their commands or keyframes, so the copy costs little however long the session is.
+     *
+     * @return The copy.
+     */
+    public Replay copy() {
+        Replay copy = new Replay(tickRate, seed);
+        for (Segment segment : segments) {
+            copy.segments.add(segment.complete ? segment : segment.copy());
+        }
+        return copy;
+    }
+
+    /**
+     * Encodes the replay in its binary format.
+     *
+     * @return The encoded replay.
+     */
+    public byte[] encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeInt(tickRate);
+            out.writeLong(seed);
+            out.writeInt(segments.size());
+            for (Segment segment : segments) {
+                out.writeInt(segment.level);
+                out.writeInt(segment.score);
+                out.writeInt(segment.heart);
+                out.writeInt(segment.tickCount);
+                out.writeBoolean(segment.complete);
+                if (segment.complete) {
+                    out.writeLong(segment.endStateHash);
+                }
+                out.writeInt(segment.commandCount);
+                int previousTick = 0;
+                for (int i = 0; i < segment.commandCount; i++) {
+                    writeVarInt(out, segment.commandTicks[i] - previousTick);
+                    out.writeByte(segment.commandCodes[i]);
+                    previousTick = segment.commandTicks[i];
+                }
+                out.writeInt(segment.keyframes.size());
+                for (Keyframe keyframe : segment.keyframes) {
+                    out.writeInt(keyframe.tick);
+                    out.writeInt(keyframe.state.length);
+                    out.write(keyframe.state);
+                }
+            }
+
+            CRC32 crc = new CRC32();
+            crc.update(bytes.toByteArray());
+            out.writeInt((int) crc.getValue());
+        } catch (IOException e) {
+            // Writing to memory cannot fail
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes a replay from its binary format.
+     *
+     * @param data The encoded replay.
+     * @return The decoded replay.
+     * @throws IOException If the data is not a replay, was written by an unsupported version or is corrupt.
+     */
+    public static Replay decode(byte[] data) throws IOException {
+        if (data.length < Integer.BYTES) {
+            throw new IOException("Replay is truncated");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length - Integer.BYTES);
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        if ((int) crc.getValue() != buffer.getInt(data.length - Integer.BYTES)) {
+            throw new IOException("Replay checksum mismatch");
+        }
+
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a replay file");
+            }
+            short version = buffer.getShort();
+            if (version != VERSION) {
+                throw new IOException("Unsupported replay version " + version);
+            }
+
+            Replay replay = new Replay(buffer.getInt(), buffer.getLong());
+            int segmentCount = buffer.getInt();
+            for (int s = 0; s < segmentCount; s++) {
+                Segment segment = replay.addSegment(buffer.getInt(), buffer.getInt(), buffer.getInt());
+                segment.tickCount = buffer.getInt();
+                if (buffer.get() != 0) {
+                    segment.complete(buffer.getLong());
+                }
+                int commandCount = buffer.getInt();
+                segment.commandTicks = new int[Math.max(commandCount, 1)];
+                segment.commandCodes = new byte[Math.max(commandCount, 1)];
+                int tick = 0;
+                for (int i = 0; i < commandCount; i++) {
+                    tick += readVarInt(buffer);
+                    segment.commandTicks[i] = tick;
+                    segment.commandCodes[i] = buffer.get();
+                }
+                segment.commandCount = commandCount;
+                int keyframeCount = buffer.getInt();
+                for (int i = 0; i < keyframeCount; i++) {
+                    int keyframeTick = buffer.getInt();
+                    byte[] state = new byte[buffer.getInt()];
+                    buffer.get(state);
+                    segment.addKeyframe(keyframeTick, state);
+                }
+            }
+            return replay;
+        } catch (BufferUnderflowException | NegativeArraySizeException e) {
+            throw new IOException("Replay is truncated", e);
+        }
+    }
+
+    /**
+     * Reads and decodes a replay file.
+     *
+     * @param path The replay file.
+     * @return The decoded replay.
+     * @throws IOException If the file cannot be read or is not a valid replay.
+     */
+    public static Replay read(Path path) throws IOException {
+        return decode(Files.readAllBytes(path));
+    }
+
+    /**
+     * Writes a non-negative integer in seven-bit groups, lowest group first, so small values take one byte.
+     */
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    /**
+     * Reads an integer written by {@link #writeVarInt(DataOutputStream, int)}.
+     */
+    private static int readVarInt(ByteBuffer buffer) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed replay command");
+    }
+}
@@ -0,0 +1,197 @@
+package com.brickbreakergame.simulation;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Plays a recorded {@link Replay} without a display. Every level is set up from the session seed and the recorded
+ * score and hearts, and the recorded commands are fed through an {@link InputQueue} on the ticks they were applied,
+ * so the simulation runs exactly as it did in the recorded game. Game time advances with the ticks, as in
+ * {@code GameEngine}, so the playback does not depend on how fast it runs: it can be paced at any multiple of the
+ * recorded speed, or run as fast as the CPU allows, which makes replays useful for reproducing bug reports and
+ * as identical workloads for benchmarks. The final state of each completed level is checked against the recording.
+ * <p>
+ * Usage: {@code ReplayPlayer <replayFile> [speed]}, where a speed of 0, the default, means as fast as possible,
+ * or {@code ReplayPlayer <replayFile> seek <level> <tick>} to print the game state at a tick of a level.
+ */
+public class ReplayPlayer {
+
+    /**
+     * Plays a replay file and reports whether every level played out as recorded.
+     *
+     * @param args The replay file and an optional speed multiplier.
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: ReplayPlayer <replayFile> [speed] | <replayFile> seek <level> <tick>");
+            return;
+        }
+
+        Replay replay;
+        try {
+            replay = Replay.read(Paths.get(args[0]));
+        } catch (IOException e) {
+            System.err.println("Could not read replay " + args[0] + ": " + e.getMessage());
+            return;
+        }
+
+        if (args.length > 3 && args[1].equals("seek")) {
+            printStateAt(replay, Integer.parseInt(args[2]), Integer.parseInt(args[3]));
+            return;
+        }
+        double speed = args.length > 1 ? Double.parseDouble(args[1]) : 0;
+
+        long start = System.nanoTime();
+        long totalTicks = 0;
+        boolean matched = true;
+        for (Replay.Segment segment : replay.getSegments()) {
+            GameSimulation simulation = play(replay, segment, speed);
+            totalTicks += segment.getTickCount();
+
+            String outcome;
+            if (!segment.isComplete()) {
+                outcome = "unfinished";
+            } else if (Replay.hashState(simulation) == segment.getEndStateHash()) {
+                outcome = simulation.isLevelCleared() ? "cleared" : "lost";
+            } else {
+                outcome = "DIVERGED";
+                matched = false;
+            }
+            System.out.println("Level " + segment.getLevel() + ": " + segment.getTickCount() + " ticks, "
+                    + segment.getCommandCount() + " inputs, score " + simulation.getScore() + ", " + outcome + ".");
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Replayed %d ticks in %.2f seconds (%.0f ticks/s): %s.%n", totalTicks, seconds,
+                totalTicks / seconds, matched ? "all levels matched the recording" : "the replay diverged");
+    }
+
+    /**
+     * Seeks to a tick of a recorded level and prints the game state at that point.
+     *
+     * @param replay The replay to seek in.
+     * @param level  The level to seek in.
+     * @param tick   The number of ticks of the level to play.
+     */
+    private static void printStateAt(Replay replay, int level, int tick) {
+        for (Replay.Segment segment : replay.getSegments()) {
+            if (segment.getLevel() != level) {
+                continue;
+            }
+            try {
+                long start = System.nanoTime();
+                GameSimulation simulation = seek(replay, segment, tick);
+                double millis = (System.nanoTime() - start) / 1e6;
+                System.out.printf("Level %d at tick %d of %d (sought in %.1f ms):%n", level,
+                        Math.min(tick, segment.getTickCount()), segment.getTickCount(), millis);
+                System.out.printf("  score %d, hearts %d, %d blocks left, %d bonuses falling%s%n",
+                        simulation.getScore(), simulation.getHeart(), simulation.getBlocks().getAliveCount(),
+                        simulation.getBonuses().size(), simulation.isGoldStatus() ? ", golden ball" : "");
+                System.out.printf("  ball (%.1f, %.1f) radius %.0f, paddle x %.1f width %d%n",
+                        simulation.getBallPosX(), simulation.getBallPosY(), simulation.getBallRadius(),
+                        simulation.getPaddleMoveX(), simulation.getPaddleWidth());
+            } catch (IOException e) {
+                System.err.println("Could not restore keyframe: " + e.getMessage());
+            }
+            return;
+        }
+        System.err.println("Level " + level + " is not in this replay.");
+    }
+
+    /**
+     * Plays one recorded level from its start.
+     *
+     * @param replay  The replay the level belongs to.
+     * @param segment The recorded level.
+     * @param speed   The playback speed as a multiple of the recorded tick rate, or 0 to run as fast as possible.
+     * @return The simulation after the last recorded tick.
+     */
+    public static GameSimulation play(Replay replay, Replay.Segment segment, double speed) {
+        GameSimulation simulation = startLevel(replay, segment);
+        run(simulation, replay, segment, 0, segment.getTickCount(), speed);
+        return simulation;
+    }
+
+    /**
+     * Brings a recorded level to the state it had after a number of ticks. Playback starts from the last keyframe
+     * at or before that tick, so seeking costs at most one keyframe interval of simulation, however long the level.
+     *
+     * @param replay  The replay the level belongs to.
+     * @param segment The recorded level.
+     * @param tick    The number of ticks of the level to play, at most the recorded tick count.
+     * @return The simulation after the given tick.
+     * @throws IOException If the keyframe to start from cannot be restored.
+     */
+    public static GameSimulation seek(Replay replay, Replay.Segment segment, int tick) throws IOException {
+        int target = Math.max(0, Math.min(tick, segment.getTickCount()));
+        GameSimulation simulation = startLevel(replay, segment);
+        int from = 0;
+        Replay.Keyframe keyframe = segment.findKeyframe(target);
+        if (keyframe != null) {
+            simulation.readState(new DataInputStream(new ByteArrayInputStream(keyframe.getState())));
+            from = keyframe.getTick();
+            SimulationClock clock = new SimulationClock(replay.getTickRate());
+            clock.setTick(from);
+            simulation.setTime(clock.getTime());
+        }
+        run(simulation, replay, segment, from, target, 0);
+        return simulation;
+    }
+
+    /**
+     * Sets up a recorded level as it was at its first tick.
+     *
+     * @param replay  The replay the level belongs to.
+     * @param segment The recorded level.
+     * @return The new simulation.
+     */
+    private static GameSimulation startLevel(Replay replay, Replay.Segment segment) {
+        GameSimulation simulation = new GameSimulation();
+        simulation.setSeed(replay.getSeed());
+        simulation.setScore(segment.getScore());
+        simulation.setHeart(segment.getHeart());
+        simulation.startLevel(segment.getLevel());
+        return simulation;
+    }
+
+    /**
+     * Runs the ticks of a recorded level in a range, applying the commands recorded for them, in the same order
+     * as {@code GameEngine} runs a tick: input, physics, game logic, then game time.
+     *
+     * @param simulation The simulation, in the state it had after {@code fromTick} ticks.
+     * @param replay     The replay the level belongs to.
+     * @param segment    The recorded level.
+     * @param fromTick   The first tick to run.
+     * @param toTick     The tick to stop before.
+     * @param speed      The playback speed as a multiple of the recorded tick rate, or 0 to run as fast as possible.
+     */
+    private static void run(GameSimulation simulation, Replay replay, Replay.Segment segment, int fromTick, int toTick,
+                            double speed) {
+        InputQueue inputQueue = new InputQueue();
+        SimulationClock clock = new SimulationClock(replay.getTickRate());
+        clock.setTick(fromTick);
+        long tickNanos = clock.getTickNanos();
+        long start = System.nanoTime();
+        int command = 0;
+        while (command < segment.getCommandCount() && segment.getCommandTick(command) < fromTick) {
+            command++;
+        }
+        for (int tick = fromTick; tick < toTick; tick++) {
+            while (command < segment.getCommandCount() && segment.getCommandTick(command) == tick) {
+                inputQueue.submit(segment.getCommand(command++));
+            }
+            inputQueue.drainTo(simulation);
+            simulation.physicsUpdate();
+            simulation.update();
+            simulation.setTime(clock.advance());
+
+            if (speed > 0) {
+                long due = start + (long) ((tick + 1 - fromTick) * tickNanos / speed);
+                LockSupport.parkNanos(due - System.nanoTime());
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.brickbreakergame.simulation;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Records a session into a {@link Replay} as it is played. The recorder sees every command at the moment the
+ * {@link InputQueue} applies it, so the recording holds exactly what the simulation saw, on the tick it saw it.
+ * A segment is started for every level and closed once the level is cleared or lost; ticks that run after that,
+ * until the game stops, are not part of the level and are not recorded. Every few seconds of play the recorder also
+ * takes a keyframe of the complete game state, so the replay can later be sought without playing it from the start.
+ * All methods except {@link #begin}, {@link #beginLevel} and {@link #stop}, which are called while the game is
+ * not running, must be called on the thread that steps the simulation.
+ */
+public class ReplayRecorder {
+    public static final int DEFAULT_KEYFRAME_INTERVAL_SECONDS = 10;
+
+    private final int customKeyframeInterval;
+    private int keyframeInterval;
+    private Replay replay;
+    private Replay.Segment segment;
+    private int tick;
+
+    /**
+     * Constructs a ReplayRecorder that takes a keyframe every {@value #DEFAULT_KEYFRAME_INTERVAL_SECONDS} seconds
+     * of play, at the tick rate of each recording.
+     */
+    public ReplayRecorder() {
+        this.customKeyframeInterval = 0;
+    }
+
+    /**
+     * Constructs a ReplayRecorder with a custom keyframe interval. Shorter intervals make seeking faster
+     * and replays larger.
+     *
+     * @param keyframeInterval The number of ticks between two keyframes.
+     * @throws IllegalArgumentException If {@code keyframeInterval} is non-positive.
+     */
+    public ReplayRecorder(int keyframeInterval) {
+        if (keyframeInterval <= 0) {
+            throw new IllegalArgumentException("Keyframe interval must be greater than 0");
+        }
+        this.customKeyframeInterval = keyframeInterval;
+        this.keyframeInterval = keyframeInterval;
+    }
+
+    /**
+     * Starts a new recording, discarding the previous one.
+     *
+     * @param seed     The session seed the levels are generated from.
+     * @param tickRate The number of simulation ticks per second.
+     */
+    public void begin(long seed, int tickRate) {
+        replay = new Replay(tickRate, seed);
+        segment = null;
+        keyframeInterval = customKeyframeInterval > 0
+                ? customKeyframeInterval : DEFAULT_KEYFRAME_INTERVAL_SECONDS * tickRate;
+    }
+
+    /**
+     * Stops recording, for example when a saved game is loaded, since its state cannot be rebuilt from a seed.
+     */
+    public void stop() {
+        replay = null;
+        segment = null;
+    }
+
+    /**
+     * Checks whether a session is being recorded.
+     *
+     * @return True if a recording has been started and not stopped, false otherwise.
+     */
+    public boolean isRecording() {
+        return replay != null;
+    }
+
+    /**
+     * Starts the segment of a level that has just been set up with {@link GameSimulation#startLevel(int)}.
+     *
+     * @param simulation The simulation at the start of the level.
+     */
+    public void beginLevel(GameSimulation simulation) {
+        if (replay == null) {
+            return;
+        }
+        segment = replay.addSegment(simulation.getLevel(), simulation.getScore(), simulation.getHeart());
+        tick = 0;
+    }
+
+    /**
+     * Records a command applied during the current tick.
+     *
+     * @param command The applied command.
+     */
+    public void record(InputCommand command) {
+        if (segment != null) {
+            segment.addCommand(tick, command);
+        }
+    }
+
+    /**
+     * Counts a finished tick and closes the segment if the level has been cleared or lost.
+     * Otherwise, a keyframe is taken once every keyframe interval.
+     *
+     * @param simulation The simulation after the tick.
+     * @return True if the segment was closed by this tick, false otherwise.
+     */
+    public boolean endTick(GameSimulation simulation) {
+        if (segment == null) {
+            return false;
+        }
+        segment.setTickCount(++tick);
+        if (simulation.isLevelCleared() || simulation.isGameOver()) {
+            segment.complete(Replay.hashState(simulation));
+            segment = null;
+            return true;
+        }
+        if (tick % keyframeInterval == 0) {
+            segment.addKeyframe(tick, captureState(simulation));
+        }
+        return false;
+    }
+
+    /**
+     * Captures the complete state of the simulation for a keyframe.
+     *
+     * @param simulation The simulation to capture.
+     * @return The encoded state.
+     */
+    private static byte[] captureState(GameSimulation simulation) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            simulation.writeState(out);
+        } catch (IOException e) {
+            // Writing to memory cannot fail
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Returns the name of the recording, unique to its seed.
+     *
+     * @return The name of the recording, or null if nothing is being recorded.
+     */
+    public String getName() {
+        return replay != null ? "replay-" + Long.toHexString(replay.getSeed()) : null;
+    }
+
+    /**
+     * Copies the recording so far, including the level in progress, so it can be encoded on another thread.
+     *
+     * @return The copy of the recording, or null if nothing is being recorded.
+     */
+    public Replay copy() {
+        return replay != null ? replay.copy() : null;
+    }
+
+    /**
+     * Encodes the recording so far, including the level in progress.
+     *
+     * @return The encoded replay, or null if nothing is being recorded.
+     */
+    public byte[] encode() {
+        return replay != null ? replay.encode() : null;
+    }
+}
@@ -0,0 +1,102 @@
+package com.brickbreakergame.simulation;
+
+/**
+ * Counts the game time of a simulation in fixed ticks. Every timed behavior of the game, such as the golden ball,
+ * bonus effects and bonus timestamps, runs on this time rather than on the wall clock, so it stops while the game
+ * is paused and advances by exactly the same amount on every tick however the ticks are paced in real time.
+ * <p>
+ * The game engine, the headless runner and the replay player all advance the simulation with a clock of the
+ * same tick rate, so a level reaches the same game time on the same tick wherever it is played.
+ * A clock is not thread-safe; it belongs to the thread that steps the simulation.
+ */
+public class SimulationClock {
+    private long tickNanos;
+    private long startTime = 0;
+    private long tick = 0;
+    private long time = 0;
+
+    /**
+     * Constructs a SimulationClock at game time zero.
+     *
+     * @param ticksPerSecond The number of ticks per second of game time.
+     * @throws IllegalArgumentException If {@code ticksPerSecond} is non-positive.
+     */
+    public SimulationClock(int ticksPerSecond) {
+        setTickRate(ticksPerSecond);
+    }
+
+    /**
+     * Changes the number of ticks per second of game time. The game time already counted is kept.
+     *
+     * @param ticksPerSecond The number of ticks per second of game time.
+     * @throws IllegalArgumentException If {@code ticksPerSecond} is non-positive.
+     */
+    public void setTickRate(int ticksPerSecond) {
+        if (ticksPerSecond <= 0) {
+            throw new IllegalArgumentException("Tick rate must be greater than 0");
+        }
+        startTime = time;
+        tick = 0;
+        tickNanos = 1_000_000_000L / ticksPerSecond;
+    }
+
+    /**
+     * Sets the game time the clock counts from, such as the time of a loaded game, and starts counting ticks
+     * from zero again.
+     *
+     * @param startTime The game time before the first tick, in milliseconds.
+     */
+    public void reset(long startTime) {
+        this.startTime = startTime;
+        this.tick = 0;
+        this.time = startTime;
+    }
+
+    /**
+     * Moves the clock to the game time after a number of ticks from its start time, for example to continue
+     * a replay from a keyframe.
+     *
+     * @param tick The number of ticks since the start time.
+     */
+    public void setTick(long tick) {
+        this.tick = tick;
+        this.time = startTime + tick * tickNanos / 1_000_000L;
+    }
+
+    /**
+     * Advances the clock by one tick.
+     *
+     * @return The game time after the tick, in milliseconds.
+     */
+    public long advance() {
+        setTick(tick + 1);
+        return time;
+    }
+
+    /**
+     * Returns the number of ticks counted since the start time was last set.
+     *
+     * @return The current tick count.
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Returns the current game time.
+     *
+     * @return The game time in milliseconds.
+     */
+    public long getTime() {
+        return time;
+    }
+
+    /**
+     * Returns the duration of a tick of game time.
+     *
+     * @return The tick duration in nanoseconds.
+     */
+    public long getTickNanos() {
+        return tickNanos;
+    }
+}
@@ -0,0 +1,203 @@
+package com.brickbreakergame.simulation;
+
+import com.brickbreakergame.Block;
+
+/**
+ * Finds the time of impact between the moving ball and an axis-aligned box, such as a block or the paddle.
+ * The ball is treated as a circle swept along a straight line, which is equivalent to casting its centre
+ * against the box grown by the ball's radius with rounded corners. This catches contacts anywhere along
+ * the motion of a tick, so a fast or large ball can no longer pass through a box between two positions.
+ * The result of the last successful {@link #sweep} is kept in this object to avoid allocating per check.
+ */
+public final class SweptCollision {
+    private double time;
+    private int side = Block.NO_HIT;
+
+    /**
+     * Sweeps the ball against a box.
+     * A ball that already overlaps the box and is moving into it is reported as a contact at time 0.
+     *
+     * @param x      The x-coordinate of the ball at the start of the motion.
+     * @param y      The y-coordinate of the ball at the start of the motion.
+     * @param dx     The horizontal distance the ball moves.
+     * @param dy     The vertical distance the ball moves.
+     * @param radius The radius of the ball.
+     * @param left   The left edge of the box.
+     * @param top    The top edge of the box.
+     * @param right  The right edge of the box.
+     * @param bottom The bottom edge of the box.
+     * @return True if the ball touches the box during the motion, false otherwise.
+     */
+    public boolean sweep(double x, double y, double dx, double dy, double radius,
+                         double left, double top, double right, double bottom) {
+        if (checkOverlap(x, y, dx, dy, radius, left, top, right, bottom)) {
+            return true;
+        }
+
+        // Cast the centre against the box grown by the radius on every side
+        double enterX = Double.NEGATIVE_INFINITY;
+        double exitX = Double.POSITIVE_INFINITY;
+        if (dx != 0) {
+            double t1 = (left - radius - x) / dx;
+            double t2 = (right + radius - x) / dx;
+            enterX = Math.min(t1, t2);
+            exitX = Math.max(t1, t2);
+        } else if (x < left - radius || x > right + radius) {
+            return false;
+        }
+
+        double enterY = Double.NEGATIVE_INFINITY;
+        double exitY = Double.POSITIVE_INFINITY;
+        if (dy != 0) {
+            double t1 = (top - radius - y) / dy;
+            double t2 = (bottom + radius - y) / dy;
+            enterY = Math.min(t1, t2);
+            exitY = Math.max(t1, t2);
+        } else if (y < top - radius || y > bottom + radius) {
+            return false;
+        }
+
+        double enter = Math.max(enterX, enterY);
+        double exit = Math.min(exitX, exitY);
+        if (enter > exit || exit <= 0 || enter > 1) {
+            return false;
+        }
+
+        double start = Math.max(enter, 0);
+        double hitX = x + dx * start;
+        double hitY = y + dy * start;
+        boolean withinX = hitX >= left && hitX <= right;
+        boolean withinY = hitY >= top && hitY <= bottom;
+        if (withinX || withinY) {
+            // The centre reaches a flat face of the grown box
+            if (enter < 0) {
+                return false;
+            }
+            time = enter;
+            if (enterX > enterY) {
+                side = dx > 0 ? Block.HIT_LEFT : Block.HIT_RIGHT;
+            } else {
+                side = dy > 0 ? Block.HIT_TOP : Block.HIT_BOTTOM;
+            }
+            return true;
+        }
+
+        // The centre enters a corner square, so the ball can only touch the box at that corner
+        double cornerX = hitX < left ? left : right;
+        double cornerY = hitY < top ? top : bottom;
+        return sweepCorner(x, y, dx, dy, radius, cornerX, cornerY);
+    }
+
+    /**
+     * Sweeps the ball against a single corner of a box.
+     *
+     * @param x       The x-coordinate of the ball at the start of the motion.
+     * @param y       The y-coordinate of the ball at the start of the motion.
+     * @param dx      The horizontal distance the ball moves.
+     * @param dy      The vertical distance the ball moves.
+     * @param radius  The radius of the ball.
+     * @param cornerX The x-coordinate of the corner.
+     * @param cornerY The y-coordinate of the corner.
+     * @return True if the ball touches the corner during the motion, false otherwise.
+     */
+    private boolean sweepCorner(double x, double y, double dx, double dy, double radius,
+                                double cornerX, double cornerY) {
+        double a = dx * dx + dy * dy;
+        if (a == 0) {
+            return false;
+        }
+        double mx = x - cornerX;
+        double my = y - cornerY;
+        double b = 2 * (mx * dx + my * dy);
+        double c = mx * mx + my * my - radius * radius;
+        double discriminant = b * b - 4 * a * c;
+        if (discriminant < 0) {
+            return false;
+        }
+
+        double t = (-b - Math.sqrt(discriminant)) / (2 * a);
+        if (t < 0 || t > 1) {
+            return false;
+        }
+        time = t;
+        side = sideOfNormal(x + dx * t - cornerX, y + dy * t - cornerY);
+        return true;
+    }
+
+    /**
+     * Checks whether the ball already overlaps the box and is moving further into it, which happens when the
+     * paddle slides into the ball or a bonus makes the ball larger.
+     *
+     * @return True if the overlap should be resolved as a contact at time 0, false otherwise.
+     */
+    private boolean checkOverlap(double x, double y, double dx, double dy, double radius,
+                                 double left, double top, double right, double bottom) {
+        double closestX = Math.max(left, Math.min(x, right));
+        double closestY = Math.max(top, Math.min(y, bottom));
+        double normalX = x - closestX;
+        double normalY = y - closestY;
+        if (normalX * normalX + normalY * normalY >= radius * radius) {
+            return false;
+        }
+
+        int overlapSide;
+        if (normalX == 0 && normalY == 0) {
+            // The centre is inside the box: push it out through the nearest face
+            double toLeft = x - left;
+            double toRight = right - x;
+            double toTop = y - top;
+            double toBottom = bottom - y;
+            double nearestX = Math.min(toLeft, toRight);
+            double nearestY = Math.min(toTop, toBottom);
+            if (nearestX < nearestY) {
+                overlapSide = toLeft < toRight ? Block.HIT_LEFT : Block.HIT_RIGHT;
+            } else {
+                overlapSide = toTop < toBottom ? Block.HIT_TOP : Block.HIT_BOTTOM;
+            }
+        } else {
+            overlapSide = sideOfNormal(normalX, normalY);
+        }
+
+        boolean movingInto = (overlapSide == Block.HIT_LEFT && dx > 0) || (overlapSide == Block.HIT_RIGHT && dx < 0)
+                || (overlapSide == Block.HIT_TOP && dy > 0) || (overlapSide == Block.HIT_BOTTOM && dy < 0);
+        if (!movingInto) {
+            return false;
+        }
+        time = 0;
+        side = overlapSide;
+        return true;
+    }
+
+    /**
+     * Converts the direction from a box to the ball into the side of the box that was hit.
+     * Corner contacts are assigned to the side the normal points to the most.
+     *
+     * @param normalX The horizontal component of the direction from the box to the ball.
+     * @param normalY The vertical component of the direction from the box to the ball.
+     * @return The side of the box that was hit.
+     */
+    private static int sideOfNormal(double normalX, double normalY) {
+        if (Math.abs(normalX) > Math.abs(normalY)) {
+            return normalX < 0 ? Block.HIT_LEFT : Block.HIT_RIGHT;
+        }
+        return normalY < 0 ? Block.HIT_TOP : Block.HIT_BOTTOM;
+    }
+
+    /**
+     * Returns the time of impact of the last contact found, as a fraction of the swept motion.
+     *
+     * @return The time of impact, between 0 and 1.
+     */
+    public double getTime() {
+        return time;
+    }
+
+    /**
+     * Returns the side of the box touched by the last contact found.
+     *
+     * @return One of the {@code Block.HIT_*} constants.
+     */
+    public int getSide() {
+        return side;
+    }
+}
@@ -2,6 +2,8 @@ module brickGame {
     requires javafx.fxml;
     requires javafx.controls;
     requires javafx.media;
+    requires java.management;
+    requires jdk.management;
 
     opens com.brickbreakergame to javafx.fxml;
     exports com.brickbreakergame;
@@ -11,4 +13,7 @@ module brickGame {
     opens com.brickbreakergame.menus to javafx.fxml;
     exports com.brickbreakergame.managers;
     opens com.brickbreakergame.managers to javafx.fxml;
+    exports com.brickbreakergame.simulation;
+    exports com.brickbreakergame.metrics;
+    exports com.brickbreakergame.logging;
 }
\ No newline at end of file
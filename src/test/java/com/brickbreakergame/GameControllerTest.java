@@ -0,0 +1,185 @@
+package com.brickbreakergame;
+
+import com.brickbreakergame.simulation.BlockStore;
+import com.brickbreakergame.simulation.GameSimulation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the binary save format: snapshots and their delta records decode to the state they were written from,
+ * and damaged or foreign files are rejected instead of being partially loaded.
+ */
+class GameControllerTest {
+    private static final long SEED = 42;
+    private static final int LEVEL = 3;
+    private static final int CHECKSUM_OFFSET = 10; // Position of the payload CRC32 in the snapshot header
+
+    private GameSimulation simulation;
+
+    @BeforeEach
+    void startLevel() {
+        simulation = new GameSimulation();
+        simulation.setSeed(SEED);
+        simulation.startLevel(LEVEL);
+        simulation.setScore(120);
+        simulation.setHeart(2);
+        simulation.setTime(34_567);
+        simulation.setGoldTime(30_000);
+        simulation.setGoldStatus(true);
+        simulation.setBallPosX(123.5);
+        simulation.setBallPosY(321.25);
+        simulation.setGoRightBall(true);
+        simulation.setCollideToTopBlock(true);
+    }
+
+    /**
+     * Checks that a snapshot decodes to the game state and remaining blocks it was encoded from.
+     */
+    @Test
+    void snapshotRoundTrip() {
+        BlockStore blocks = simulation.getBlocks();
+        blocks.destroy(blocks.nextAlive(0));
+        simulation.setDestroyedBlockCount(1);
+
+        GameController controller = new GameController();
+        assertTrue(controller.decode(GameController.encode(simulation), null));
+
+        assertState(controller);
+        assertEquals(blocks.getAliveCount(), controller.blocks.size());
+        int j = 0;
+        for (int i = blocks.nextAlive(0); i >= 0; i = blocks.nextAlive(i + 1), j++) {
+            BlockSerializable block = controller.blocks.get(j);
+            assertEquals(blocks.getRow(i), block.row);
+            assertEquals(blocks.getColumn(i), block.column);
+            assertEquals(blocks.getType(i), block.type);
+            assertEquals(blocks.getColorIndex(i), block.colorIndex);
+        }
+    }
+
+    /**
+     * Checks that delta records replace the state of their snapshot and remove the blocks destroyed since,
+     * that a record written for another snapshot is skipped, and that a record cut short is ignored.
+     */
+    @Test
+    void deltaRecordsApplyOnTopOfTheirSnapshot() {
+        BlockStore blocks = simulation.getBlocks();
+        byte[] snapshot = GameController.encode(simulation);
+        long checksum = GameController.getChecksum(snapshot);
+        int aliveAtSnapshot = blocks.getAliveCount();
+
+        BitSet destroyed = new BitSet();
+        int first = blocks.nextAlive(0);
+        int second = blocks.nextAlive(first + 1);
+        destroyed.set(first);
+        destroyed.set(second);
+        blocks.destroy(first);
+        blocks.destroy(second);
+        simulation.setDestroyedBlockCount(2);
+        simulation.setScore(122);
+        simulation.setTime(40_000);
+        byte[] delta = GameController.encodeDelta(simulation, checksum, destroyed);
+
+        GameSimulation other = new GameSimulation();
+        other.setScore(999);
+        byte[] foreign = GameController.encodeDelta(other, checksum + 1, new BitSet());
+        byte[] torn = Arrays.copyOf(GameController.encodeDelta(other, checksum, new BitSet()), 20);
+
+        GameController controller = new GameController();
+        assertTrue(controller.decode(snapshot, concat(delta, foreign, torn)));
+
+        assertState(controller);
+        assertEquals(aliveAtSnapshot - 2, controller.blocks.size());
+        for (BlockSerializable block : controller.blocks) {
+            assertFalse(block.row == blocks.getRow(first) && block.column == blocks.getColumn(first));
+            assertFalse(block.row == blocks.getRow(second) && block.column == blocks.getColumn(second));
+        }
+    }
+
+    /**
+     * Checks that a snapshot whose stored checksum does not match its payload is rejected.
+     */
+    @Test
+    void rejectsFlippedChecksumByte() {
+        byte[] snapshot = GameController.encode(simulation);
+        snapshot[CHECKSUM_OFFSET] ^= 0x01;
+        assertFalse(new GameController().decode(snapshot, null));
+    }
+
+    /**
+     * Checks that a snapshot cut short, in its payload or in its header, is rejected.
+     */
+    @Test
+    void rejectsTruncatedFile() {
+        byte[] snapshot = GameController.encode(simulation);
+        assertFalse(new GameController().decode(Arrays.copyOf(snapshot, snapshot.length - 1), null));
+        assertFalse(new GameController().decode(Arrays.copyOf(snapshot, 6), null));
+        assertFalse(new GameController().decode(new byte[0], null));
+    }
+
+    /**
+     * Checks that a file that does not start with the save magic number is rejected.
+     */
+    @Test
+    void rejectsBadMagicNumber() {
+        byte[] snapshot = GameController.encode(simulation);
+        snapshot[0] ^= 0x01;
+        assertFalse(new GameController().decode(snapshot, null));
+    }
+
+    /**
+     * Checks that a file written by another version of the format is rejected.
+     */
+    @Test
+    void rejectsUnknownVersion() {
+        byte[] snapshot = GameController.encode(simulation);
+        snapshot[5]++;
+        assertFalse(new GameController().decode(snapshot, null));
+    }
+
+    /**
+     * Checks that the decoded fields hold the current state of the simulation.
+     */
+    private void assertState(GameController controller) {
+        assertEquals(simulation.getLevel(), controller.level);
+        assertEquals(simulation.getScore(), controller.score);
+        assertEquals(simulation.getHeart(), controller.heart);
+        assertEquals(simulation.getDestroyedBlockCount(), controller.destroyedBlockCount);
+        assertEquals(simulation.getTime(), controller.time);
+        assertEquals(simulation.getGoldTime(), controller.goldTime);
+        assertEquals(simulation.getBallPosX(), controller.xBall);
+        assertEquals(simulation.getBallPosY(), controller.yBall);
+        assertEquals(simulation.getPaddleMoveX(), controller.xBreak);
+        assertEquals(simulation.getPaddleMoveY(), controller.yBreak);
+        assertEquals(simulation.getCenterBreakX(), controller.centerBreakX);
+        assertEquals(simulation.getBallVelocityX(), controller.vX);
+        assertEquals(simulation.isExistHeartBlock(), controller.isExistHeartBlock);
+        assertEquals(simulation.isGoldStatus(), controller.isGoldStatus);
+        assertEquals(simulation.isGoDownBall(), controller.goDownBall);
+        assertEquals(simulation.isGoRightBall(), controller.goRightBall);
+        assertEquals(simulation.isCollideToTopBlock(), controller.collideToTopBlock);
+    }
+
+    /**
+     * Joins delta records into the contents of a delta file.
+     */
+    private static byte[] concat(byte[]... records) {
+        int length = 0;
+        for (byte[] record : records) {
+            length += record.length;
+        }
+        byte[] file = new byte[length];
+        int position = 0;
+        for (byte[] record : records) {
+            System.arraycopy(record, 0, file, position, record.length);
+            position += record.length;
+        }
+        return file;
+    }
+}
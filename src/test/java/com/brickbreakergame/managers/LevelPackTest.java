@@ -0,0 +1,114 @@
+package com.brickbreakergame.managers;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the parsing of level packs: settings and grids are read as documented in the bundled pack,
+ * and malformed levels are rejected rather than played with a partial grid.
+ */
+class LevelPackTest {
+
+    /**
+     * Checks that the bundled pack holds the ten levels of the game and that every one of them parses.
+     */
+    @Test
+    void bundledPackLoadsAllLevels() {
+        LevelPack pack = LevelPack.getInstance();
+        assertEquals(10, pack.getLevelCount());
+        for (int level = 1; level <= pack.getLevelCount(); level++) {
+            assertNotNull(pack.getLevel(level), "level " + level);
+        }
+        assertNull(pack.getLevel(0));
+        assertNull(pack.getLevel(pack.getLevelCount() + 1));
+    }
+
+    /**
+     * Checks that the name, seed, palette and grid of a level are read, with comments and blank lines skipped.
+     */
+    @Test
+    void parsesSettingsAndGrid() {
+        LevelPack pack = new LevelPack("test", List.of(
+                "; A comment",
+                "level First Level",
+                "seed 1234",
+                "palette 3 7",
+                "",
+                "#N?",
+                "RGH"));
+        LevelPack.Level level = pack.getLevel(1);
+
+        assertNotNull(level);
+        assertEquals("First Level", level.getName());
+        assertTrue(level.hasSeed());
+        assertEquals(1234, level.getSeed());
+        assertEquals(2, level.getRows());
+        assertEquals(3, level.getColumns());
+        assertEquals(LevelPack.CHANCE, level.getCell(0, 2));
+        assertEquals(LevelPack.HEART, level.getCell(1, 2));
+        assertEquals(3, level.getColorIndex(0));
+        assertEquals(7, level.getColorIndex(1));
+        assertEquals(3, level.getColorIndex(2));
+    }
+
+    /**
+     * Checks that rows shorter than the widest one are padded with empty cells.
+     */
+    @Test
+    void padsShortRows() {
+        LevelPack pack = new LevelPack("test", List.of("level Ragged", "#", "###", ".#"));
+        LevelPack.Level level = pack.getLevel(1);
+
+        assertNotNull(level);
+        assertFalse(level.hasSeed());
+        assertEquals(3, level.getRows());
+        assertEquals(3, level.getColumns());
+        assertEquals(LevelPack.BLOCK, level.getCell(0, 0));
+        assertEquals(LevelPack.EMPTY, level.getCell(0, 1));
+        assertEquals(LevelPack.EMPTY, level.getCell(0, 2));
+        assertEquals(LevelPack.BLOCK, level.getCell(1, 2));
+        assertEquals(LevelPack.EMPTY, level.getCell(2, 2));
+    }
+
+    /**
+     * Checks that a level with a cell character the format does not define is rejected.
+     */
+    @Test
+    void rejectsUnknownCell() {
+        LevelPack pack = new LevelPack("test", List.of("level Bad Cell", "#.X#", "level Good", "##"));
+        assertNull(pack.getLevel(1));
+        assertNotNull(pack.getLevel(2));
+    }
+
+    /**
+     * Checks that a pack with content before its first level line is rejected as a whole.
+     */
+    @Test
+    void rejectsContentBeforeFirstLevel() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new LevelPack("test", List.of("; Comments are fine", "###", "level Late", "##")));
+        assertThrows(IllegalArgumentException.class, () -> new LevelPack("test", List.of("; No levels")));
+    }
+
+    /**
+     * Checks that a palette naming a color outside the block colors is rejected.
+     */
+    @Test
+    void rejectsOutOfRangePalette() {
+        LevelPack pack = new LevelPack("test", List.of(
+                "level Too High", "palette 1 10", "##",
+                "level Negative", "palette -1", "##",
+                "level Not A Number", "palette red", "##"));
+        assertNull(pack.getLevel(1));
+        assertNull(pack.getLevel(2));
+        assertNull(pack.getLevel(3));
+    }
+}
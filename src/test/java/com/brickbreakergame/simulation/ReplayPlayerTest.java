@@ -0,0 +1,182 @@
+package com.brickbreakergame.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.ObjIntConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that a recorded session plays back tick for tick. A session is recorded headlessly from a fixed seed,
+ * with scripted input fed through an {@link InputQueue} the way the game feeds key presses, and each tick runs
+ * in the same order as in {@code GameEngine}: input, physics, game logic, recording, then game time.
+ */
+class ReplayPlayerTest {
+    private static final int TICK_RATE = 120;
+    private static final long SEED = 0x5EEDL;
+    private static final int LEVELS = 9;
+    private static final int MAX_TICKS_PER_LEVEL = 200_000;
+    private static final double AUTOPILOT_DEAD_ZONE = 10.0;
+    private static final int KEYFRAME_INTERVAL = 250;
+    private static final int SEEKS_PER_LEVEL = 20;
+
+    /**
+     * Plays every level of a recorded session after an encode and decode round trip, and checks that each ends
+     * in the state the live game ended in.
+     */
+    @Test
+    void playbackMatchesTheRecordedSession() throws IOException {
+        ReplayRecorder recorder = new ReplayRecorder();
+        List<Long> liveHashes = record(recorder, (simulation, tick) -> { });
+        Replay replay = Replay.decode(recorder.encode());
+
+        assertEquals(liveHashes.size(), replay.getSegments().size());
+        for (int i = 0; i < liveHashes.size(); i++) {
+            Replay.Segment segment = replay.getSegments().get(i);
+            assertTrue(segment.isComplete(), "level " + segment.getLevel() + " was not played to its end");
+            assertTrue(segment.getCommandCount() > 0, "level " + segment.getLevel() + " recorded no input");
+
+            GameSimulation played = ReplayPlayer.play(replay, segment, 0);
+            assertEquals(liveHashes.get(i), segment.getEndStateHash(), "level " + segment.getLevel());
+            assertEquals(segment.getEndStateHash(), Replay.hashState(played), "level " + segment.getLevel());
+        }
+    }
+
+    /**
+     * Checks that a session played twice from the same seed and input is recorded identically.
+     */
+    @Test
+    void recordingIsReproducible() {
+        ReplayRecorder first = new ReplayRecorder();
+        ReplayRecorder second = new ReplayRecorder();
+        assertEquals(record(first, (simulation, tick) -> { }), record(second, (simulation, tick) -> { }));
+        assertFalse(first.copy().getSegments().isEmpty());
+        assertArrayEquals(first.encode(), second.encode());
+    }
+
+    /**
+     * Seeks through keyframes to ticks where a bonus effect is active and bonuses are falling, and checks that
+     * the complete game state is the same as when the level is replayed from its first tick.
+     */
+    @Test
+    void seekingThroughAKeyframeMatchesPlayingFromTheStart() throws IOException {
+        ReplayRecorder recorder = new ReplayRecorder(KEYFRAME_INTERVAL);
+        Map<Integer, List<Integer>> busyTicks = new HashMap<>();
+        record(recorder, (simulation, tick) -> {
+            boolean effectActive = simulation.isPaddleWidthChanged() || simulation.isBallSizeChanged();
+            if (effectActive && !simulation.getBonuses().isEmpty() && tick > KEYFRAME_INTERVAL
+                    && tick % KEYFRAME_INTERVAL != 0) {
+                busyTicks.computeIfAbsent(simulation.getLevel(), level -> new ArrayList<>()).add(tick);
+            }
+        });
+        Replay replay = Replay.decode(recorder.encode());
+
+        int sought = 0;
+        for (Replay.Segment segment : replay.getSegments()) {
+            List<Integer> ticks = busyTicks.getOrDefault(segment.getLevel(), List.of());
+            Replay fromStart = withoutKeyframes(replay, segment);
+            Replay.Segment bareSegment = fromStart.getSegments().get(0);
+            for (int i = 0; i < ticks.size() && i < SEEKS_PER_LEVEL; i++) {
+                int tick = ticks.get(i * Math.max(1, ticks.size() / SEEKS_PER_LEVEL));
+                Replay.Keyframe keyframe = segment.findKeyframe(tick);
+                assertTrue(keyframe != null && keyframe.getTick() > 0 && keyframe.getTick() < tick);
+
+                GameSimulation viaKeyframe = ReplayPlayer.seek(replay, segment, tick);
+                GameSimulation viaStart = ReplayPlayer.seek(fromStart, bareSegment, tick);
+                assertArrayEquals(captureState(viaStart), captureState(viaKeyframe),
+                        "level " + segment.getLevel() + " tick " + tick);
+                assertEquals(viaStart.getTime(), viaKeyframe.getTime());
+                sought++;
+            }
+        }
+        assertTrue(sought > 0, "no tick with an active effect and falling bonuses was recorded");
+    }
+
+    /**
+     * Records a session of the first levels of the pack, played by an autopilot that keeps the paddle under the ball with some
+     * scripted noise, until each level is cleared or lost.
+     *
+     * @param recorder  The recorder to record into.
+     * @param afterTick Called with the simulation and the number of ticks of the level played after every tick.
+     * @return The hash of the final state of each level, in the order the levels were played.
+     */
+    private static List<Long> record(ReplayRecorder recorder, ObjIntConsumer<GameSimulation> afterTick) {
+        Random script = new Random(SEED);
+        InputQueue inputQueue = new InputQueue(recorder);
+        GameSimulation simulation = new GameSimulation();
+        simulation.setSeed(SEED);
+        recorder.begin(SEED, TICK_RATE);
+
+        List<Long> hashes = new ArrayList<>();
+        for (int level = 1; level <= LEVELS && !simulation.isGameOver(); level++) {
+            simulation.startLevel(level);
+            recorder.beginLevel(simulation);
+            SimulationClock clock = new SimulationClock(TICK_RATE);
+            for (int tick = 0; tick < MAX_TICKS_PER_LEVEL; tick++) {
+                steer(simulation, inputQueue, script);
+                inputQueue.drainTo(simulation);
+                simulation.physicsUpdate();
+                simulation.update();
+                boolean ended = recorder.endTick(simulation);
+                simulation.setTime(clock.advance());
+                afterTick.accept(simulation, tick + 1);
+                if (ended) {
+                    break;
+                }
+            }
+            hashes.add(Replay.hashState(simulation));
+        }
+        return hashes;
+    }
+
+    /**
+     * Copies a recorded level without its keyframes, so seeking in the copy always plays from the first tick.
+     */
+    private static Replay withoutKeyframes(Replay replay, Replay.Segment segment) {
+        Replay copy = new Replay(replay.getTickRate(), replay.getSeed());
+        Replay.Segment bare = copy.addSegment(segment.getLevel(), segment.getScore(), segment.getHeart());
+        for (int i = 0; i < segment.getCommandCount(); i++) {
+            bare.addCommand(segment.getCommandTick(i), segment.getCommand(i));
+        }
+        bare.setTickCount(segment.getTickCount());
+        return copy;
+    }
+
+    /**
+     * Captures the complete state of a simulation, as a keyframe holds it.
+     */
+    private static byte[] captureState(GameSimulation simulation) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        simulation.writeState(new DataOutputStream(bytes));
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Presses the arrow key towards the ball, and now and then a random one.
+     */
+    private static void steer(GameSimulation simulation, InputQueue inputQueue, Random script) {
+        if (script.nextInt(8) == 0) {
+            inputQueue.press(script.nextBoolean() ? GameSimulation.LEFT : GameSimulation.RIGHT);
+            return;
+        }
+        double offset = simulation.getBallPosX() - (simulation.getPaddleMoveX() + simulation.getPaddleWidth() / 2.0);
+        if (offset < -AUTOPILOT_DEAD_ZONE) {
+            inputQueue.release(GameSimulation.RIGHT);
+            inputQueue.press(GameSimulation.LEFT);
+        } else if (offset > AUTOPILOT_DEAD_ZONE) {
+            inputQueue.release(GameSimulation.LEFT);
+            inputQueue.press(GameSimulation.RIGHT);
+        }
+    }
+}